@@ -0,0 +1,77 @@
+package benchmarks;
+
+import model.analytics.ChampionsAnalytics;
+import model.analytics.Drought;
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import model.data.Phase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.SyntheticDataGenerator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de agregación del motor de analítica sobre equipos y
+ * eliminaciones sintéticos (el mismo número de cada uno), además de la
+ * construcción de las tablas de columnas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChampionsAnalyticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<ChampionsTeam> teams;
+    private List<Elimination> eliminations;
+    private ChampionsAnalytics analytics;
+
+    @Setup
+    public void setUp() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(42);
+        teams = generator.teamsList(size);
+        eliminations = generator.eliminationsList(size);
+        analytics = ChampionsAnalytics.from(teams, eliminations);
+    }
+
+    @Benchmark
+    public ChampionsAnalytics buildTables() {
+        return ChampionsAnalytics.from(teams, eliminations);
+    }
+
+    @Benchmark
+    public Map<String, Map<Integer, Integer>> titlesPerTeamPerDecade() {
+        return analytics.titlesPerTeamPerDecade();
+    }
+
+    @Benchmark
+    public Map<Integer, Double> averageGoalsPerEra() {
+        return analytics.averageGoalsPerEra(10);
+    }
+
+    @Benchmark
+    public Map<String, Map<Phase, Integer>> eliminationsPerOpponentAndPhase() {
+        return analytics.eliminationsPerOpponentAndPhase();
+    }
+
+    @Benchmark
+    public List<Drought> longestDroughts() {
+        return analytics.longestDroughts(10);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import model.ChampionsTitlesModel;
+import model.data.ChampionsTeam;
+import model.data.Title;
+import model.structures.CircularDoublyLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.SyntheticDataGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por nombre y cálculo de estadísticas del modelo de equipos, con
+ * los equipos sintéticos instalados directamente (sin leer archivos).
+ *
+ * Las estadísticas se guardan hasta el siguiente cambio, así que su
+ * benchmark agrega un título en cada invocación: mide la actualización
+ * incremental y la construcción del texto, no la lectura del texto guardado.
+ * Los equipos se reinstalan en cada iteración para que ni los títulos
+ * agregados ni los cambios pendientes del diario se acumulen entre iteraciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChampionsTitlesModelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    // Término frecuente, poco frecuente y sin resultados
+    @Param({"real", "madrid 3", "zzz"})
+    public String searchTerm;
+
+    private ChampionsTitlesModel model;
+    private List<ChampionsTeam> teams;
+    private int nextTeam;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        CircularDoublyLinkedList<ChampionsTeam> loaded = new CircularDoublyLinkedList<>();
+        for (ChampionsTeam team : new SyntheticDataGenerator(42).teams(size)) {
+            loaded.add(team);
+        }
+
+        model = new ChampionsTitlesModel();
+        model.installTeams(loaded, "benchmark.json");
+        teams = model.getAllTeams();
+        nextTeam = 0;
+    }
+
+    @Benchmark
+    public List<ChampionsTeam> searchTeams() {
+        return model.searchTeams(searchTerm);
+    }
+
+    @Benchmark
+    public String getStatistics() {
+        ChampionsTeam team = teams.get(nextTeam);
+        nextTeam = (nextTeam + 1) % teams.size();
+        model.addTitleToTeam(team.getName(), new Title(2000 + nextTeam % 25, 5));
+        return model.getStatistics();
+    }
+}
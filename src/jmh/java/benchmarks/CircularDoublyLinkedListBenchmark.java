@@ -0,0 +1,137 @@
+package benchmarks;
+
+import model.data.ChampionsTeam;
+import model.structures.CircularDoublyLinkedList;
+import model.structures.CircularDoublyLinkedList.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.SyntheticDataGenerator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones básicas de la lista circular doblemente enlazada sobre equipos
+ * sintéticos: agregar, acceder por posición, eliminar, ordenar y recorrer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CircularDoublyLinkedListBenchmark {
+
+    private static final int RANDOM_ACCESSES = 1024;
+
+    private static final Comparator<ChampionsTeam> BY_TITLES =
+            (team1, team2) -> Integer.compare(team2.getTitles().size(), team1.getTitles().size());
+    private static final Comparator<ChampionsTeam> BY_NAME =
+            (team1, team2) -> team1.getName().compareToIgnoreCase(team2.getName());
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<ChampionsTeam> teams;
+    private CircularDoublyLinkedList<ChampionsTeam> list;
+    private Node<ChampionsTeam>[] nodes;
+    private int[] positions;
+    private int cursor;
+    private boolean sortByName;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        teams = new SyntheticDataGenerator(42).teamsList(size);
+
+        list = new CircularDoublyLinkedList<>();
+        nodes = new Node[size];
+        for (int i = 0; i < size; i++) {
+            nodes[i] = list.add(teams.get(i));
+        }
+
+        SplittableRandom random = new SplittableRandom(7);
+        positions = new int[RANDOM_ACCESSES];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Construir una lista completa agregando al final
+     */
+    @Benchmark
+    public CircularDoublyLinkedList<ChampionsTeam> add() {
+        CircularDoublyLinkedList<ChampionsTeam> result = new CircularDoublyLinkedList<>();
+        for (ChampionsTeam team : teams) {
+            result.add(team);
+        }
+        return result;
+    }
+
+    /**
+     * Accesos por posición aleatoria (con el índice de nodos ya construido)
+     */
+    @Benchmark
+    @OperationsPerInvocation(RANDOM_ACCESSES)
+    public void get(Blackhole blackhole) {
+        for (int position : positions) {
+            blackhole.consume(list.get(position));
+        }
+    }
+
+    /**
+     * Eliminar un nodo conocido y volver a agregar su equipo; el tamaño no
+     * cambia y el índice de nodos se invalida en cada llamada
+     */
+    @Benchmark
+    public void removeNode() {
+        int i = cursor++ % size;
+        ChampionsTeam team = nodes[i].getData();
+        list.remove(nodes[i]);
+        nodes[i] = list.add(team);
+    }
+
+    /**
+     * Eliminar por valor (búsqueda lineal) y volver a agregar. Cada
+     * benchmark tiene su propio estado, así que los nodos guardados para
+     * removeNode no se ven afectados
+     */
+    @Benchmark
+    public boolean removeByValue() {
+        ChampionsTeam team = teams.get(positions[cursor++ % RANDOM_ACCESSES]);
+        boolean removed = list.remove(team);
+        list.add(team);
+        return removed;
+    }
+
+    /**
+     * Ordenar la lista; se alterna el criterio para que nunca esté ya ordenada
+     */
+    @Benchmark
+    public void sort() {
+        sortByName = !sortByName;
+        list.sort(sortByName ? BY_NAME : BY_TITLES);
+    }
+
+    /**
+     * Recorrer la lista completa hacia delante
+     */
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        list.traverseForward(blackhole::consume);
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import model.EliminationsRMModel;
+import model.data.Elimination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.SyntheticDataGenerator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de eliminaciones con el índice invertido del modelo, con las
+ * eliminaciones sintéticas instaladas directamente (sin leer archivos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EliminationsRMModelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    // Una palabra frecuente, un campo concreto, varias palabras y sin resultados
+    @Param({"semifinal", "rival:inter", "octavos milan 1999", "zzz"})
+    public String searchTerm;
+
+    private EliminationsRMModel model;
+
+    @Setup
+    public void setUp() {
+        model = new EliminationsRMModel();
+        model.installEliminations(new SyntheticDataGenerator(42).eliminationsList(size));
+    }
+
+    @Benchmark
+    public List<Elimination> searchEliminations() {
+        return model.searchEliminations(searchTerm);
+    }
+}
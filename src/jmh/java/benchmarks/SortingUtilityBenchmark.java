@@ -0,0 +1,65 @@
+package benchmarks;
+
+import model.data.Elimination;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.SortingUtility;
+import utils.SyntheticDataGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenación de eliminaciones sintéticas con cada criterio de SortingUtility
+ * (0: más recientes, 1: más antiguas, 2: por fase, 3: por fase y temporada).
+ * Cada llamada ordena una copia de la lista desordenada original; el coste
+ * de la copia está incluido en la medida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SortingUtilityBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"0", "1", "2", "3"})
+    public int criterion;
+
+    private List<Elimination> eliminations;
+
+    @Setup
+    public void setUp() {
+        eliminations = new SyntheticDataGenerator(42).eliminationsList(size);
+    }
+
+    @Benchmark
+    public List<Elimination> sortByCriterion() {
+        List<Elimination> copy = new ArrayList<>(eliminations);
+        SortingUtility.sortByMultipleCriteria(copy, criterion);
+        return copy;
+    }
+
+    /**
+     * Solo el comparador por fase, que es el más usado en los perfiles
+     */
+    @Benchmark
+    public List<Elimination> sortByPhaseImportance() {
+        List<Elimination> copy = new ArrayList<>(eliminations);
+        copy.sort(SortingUtility.byPhaseImportance);
+        return copy;
+    }
+}
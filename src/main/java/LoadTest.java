@@ -0,0 +1,240 @@
+import model.ChampionsTitlesModel;
+import model.EliminationsRMModel;
+import model.analytics.ChampionsAnalytics;
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import model.data.Title;
+import model.structures.CircularDoublyLinkedList;
+import utils.BinarySnapshotCodec;
+import utils.SyntheticDataGenerator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Prueba de carga sin interfaz gráfica: genera datos sintéticos del tamaño
+ * indicado y recorre con ellos el ciclo completo de la aplicación (carga,
+ * búsqueda, ordenación, modificaciones y guardado), midiendo cada fase.
+ *
+ * Uso:
+ * <pre>
+ *   java LoadTest [--teams N] [--eliminations N] [--seed S] [--format json|cbin]
+ *                 [--dir directorio] [--queries N] [--mutations N]
+ * </pre>
+ */
+public class LoadTest {
+
+    private final Map<String, String> options;
+    private final List<String[]> report;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.report = new ArrayList<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("teams", "10000");
+        options.put("eliminations", "10000");
+        options.put("seed", "42");
+        options.put("format", "json");
+        options.put("dir", new File(System.getProperty("java.io.tmpdir"), "champions-loadtest").getPath());
+        options.put("queries", "200");
+        options.put("mutations", "1000");
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--") || !options.containsKey(args[i].substring(2))) {
+                System.err.println("Opción desconocida: " + args[i]);
+                System.exit(1);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        int teamCount = intOption("teams");
+        int eliminationCount = intOption("eliminations");
+        int queries = intOption("queries");
+        int mutations = intOption("mutations");
+        long seed = Long.parseLong(options.get("seed"));
+        String extension = "cbin".equalsIgnoreCase(options.get("format")) ? BinarySnapshotCodec.EXTENSION : ".json";
+
+        File directory = new File(options.get("dir"));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("No se pudo crear el directorio: " + directory);
+        }
+        String teamsPath = new File(directory, "champions" + extension).getPath();
+        String eliminationsPath = new File(directory, "eliminaciones" + extension).getPath();
+        deleteJournals(teamsPath, eliminationsPath);
+
+        System.out.println("Prueba de carga: " + options);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Generación de los archivos
+        long start = System.nanoTime();
+        generator.writeTeams(teamsPath, teamCount);
+        record("generar equipos", start, teamCount);
+
+        start = System.nanoTime();
+        generator.writeEliminations(eliminationsPath, eliminationCount);
+        record("generar eliminaciones", start, eliminationCount);
+
+        // Carga
+        ChampionsTitlesModel teamsModel = new ChampionsTitlesModel();
+        start = System.nanoTime();
+        CircularDoublyLinkedList<ChampionsTeam> loadedTeams = teamsModel.readTeamsFile(teamsPath, null);
+        teamsModel.installTeams(loadedTeams, teamsPath);
+        record("cargar equipos", start, teamsModel.getTeamsView().size());
+
+        EliminationsRMModel eliminationsModel = new EliminationsRMModel();
+        eliminationsModel.setDataFilePath(eliminationsPath);
+        start = System.nanoTime();
+        eliminationsModel.installEliminations(eliminationsModel.readEliminationsFile(null));
+        record("cargar eliminaciones", start, eliminationsModel.getEliminationsCount());
+
+        // Búsqueda
+        start = System.nanoTime();
+        long teamResults = 0;
+        for (int i = 0; i < queries; i++) {
+            String name = SyntheticDataGenerator.teamName(random.nextInt(Math.max(1, teamCount)));
+            String[] words = name.split(" ");
+            teamResults += teamsModel.searchTeams(words[random.nextInt(words.length)]).size();
+        }
+        record("buscar equipos (" + teamResults + " resultados)", start, queries);
+
+        String[] eliminationQueries = {"semifinal", "final", "cuartos", "rival:real", "rival:inter milan", "1999", "zzz"};
+        start = System.nanoTime();
+        long eliminationResults = 0;
+        for (int i = 0; i < queries; i++) {
+            eliminationResults += eliminationsModel.searchEliminations(
+                    eliminationQueries[i % eliminationQueries.length]).size();
+        }
+        record("buscar eliminaciones (" + eliminationResults + " resultados)", start, queries);
+
+        // Ordenación con cada criterio
+        for (int option = 0; option < 4; option++) {
+            start = System.nanoTime();
+            teamsModel.sortTeams(option);
+            record("ordenar equipos, criterio " + option, start, teamCount);
+        }
+        for (int option = 0; option < 4; option++) {
+            start = System.nanoTime();
+            eliminationsModel.getSortedEliminations(option);
+            record("ordenar eliminaciones, criterio " + option, start, eliminationCount);
+        }
+
+        start = System.nanoTime();
+        teamsModel.getStatistics();
+        record("estadísticas de equipos", start, teamCount);
+
+        start = System.nanoTime();
+        ChampionsAnalytics analytics = ChampionsAnalytics.from(teamsModel.getTeamsView(),
+                eliminationsModel.getAllEliminations());
+        record("analítica: construir columnas", start, teamCount + eliminationCount);
+
+        start = System.nanoTime();
+        analytics.titlesPerTeamPerDecade();
+        analytics.averageGoalsPerEra(10);
+        analytics.eliminationsPerOpponentAndPhase();
+        analytics.longestDroughts(10);
+        record("analítica: consultas", start, teamCount + eliminationCount);
+
+        // Modificaciones: agregar, añadir título, renombrar y eliminar equipos
+        start = System.nanoTime();
+        for (int i = 0; i < mutations; i++) {
+            String name = "Equipo de prueba " + i;
+            teamsModel.addTeam(new ChampionsTeam(name));
+            teamsModel.addTitleToTeam(name, new Title(1956 + random.nextInt(70), 5 + random.nextInt(13)));
+            ChampionsTeam team = teamsModel.getTeamByName(name);
+            teamsModel.renameTeam(team, name + " (renombrado)");
+            if (i % 2 == 0) {
+                teamsModel.removeTeam(team);
+            }
+        }
+        record("modificar equipos", start, mutations);
+
+        // Modificaciones: apilar, actualizar y eliminar eliminaciones
+        start = System.nanoTime();
+        for (int i = 0; i < mutations; i++) {
+            Elimination elimination = new Elimination("2030-2031", "Semifinal", "Rival de prueba " + i,
+                    "1-0", "0-2", "Eliminación de prueba", "");
+            eliminationsModel.pushElimination(elimination);
+            Elimination updated = new Elimination("2030-2031", "Final", "Rival de prueba " + i,
+                    "1-0", "0-2", "Eliminación de prueba actualizada", "");
+            eliminationsModel.updateElimination(elimination, updated);
+            if (i % 2 == 0) {
+                eliminationsModel.removeElimination(updated);
+            }
+        }
+        record("modificar eliminaciones", start, mutations);
+
+        // Guardado: diario de cambios y compactación en el archivo completo
+        start = System.nanoTime();
+        teamsModel.prepareSave(false).run(null);
+        eliminationsModel.prepareSave(false).run(null);
+        record("guardar en el diario", start, mutations * 2);
+
+        int expectedTeams = teamsModel.getTeamsView().size();
+        int expectedEliminations = eliminationsModel.getEliminationsCount();
+
+        start = System.nanoTime();
+        teamsModel.prepareSave(true).run(null);
+        record("compactar equipos", start, expectedTeams);
+
+        start = System.nanoTime();
+        eliminationsModel.prepareSave(true).run(null);
+        record("compactar eliminaciones", start, expectedEliminations);
+
+        // Volver a cargar para comprobar que los cambios se guardaron
+        start = System.nanoTime();
+        int reloadedTeams = new ChampionsTitlesModel().readTeamsFile(teamsPath, null).size();
+        EliminationsRMModel reloadModel = new EliminationsRMModel();
+        reloadModel.setDataFilePath(eliminationsPath);
+        int reloadedEliminations = reloadModel.readEliminationsFile(null).size();
+        record("volver a cargar", start, reloadedTeams + reloadedEliminations);
+
+        printReport();
+
+        if (reloadedTeams != expectedTeams || reloadedEliminations != expectedEliminations) {
+            System.err.printf("Los datos guardados no coinciden: %d/%d equipos, %d/%d eliminaciones%n",
+                    reloadedTeams, expectedTeams, reloadedEliminations, expectedEliminations);
+            System.exit(2);
+        }
+    }
+
+    private void record(String phase, long startNanos, long items) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        String rate = millis > 0 ? String.format("%,.0f", items / (millis / 1000.0)) : "-";
+        report.add(new String[]{phase, String.format("%,.1f", millis), String.format("%,d", items), rate});
+    }
+
+    private void printReport() {
+        System.out.printf("%n%-45s %12s %12s %14s%n", "Fase", "ms", "elementos", "elementos/s");
+        for (String[] row : report) {
+            System.out.printf("%-45s %12s %12s %14s%n", row[0], row[1], row[2], row[3]);
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%nMemoria usada: %,d MB%n", (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+    }
+
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private static void deleteJournals(String... dataPaths) {
+        for (String dataPath : dataPaths) {
+            File journal = new File(dataPath + ".journal");
+            if (journal.exists() && !journal.delete()) {
+                throw new IllegalStateException("No se pudo borrar el diario: " + journal);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package controller;
+
+import javax.swing.SwingWorker;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Tarea de lectura o escritura de archivos que se ejecuta fuera del hilo de
+ * eventos de Swing. Todas las tareas comparten un único hilo de E/S, de modo
+ * que se ejecutan una tras otra en el orden en que se inician y un guardado
+ * nunca se solapa con otro. Las respuestas (éxito, error o cancelación) se
+ * entregan siempre en el hilo de eventos.
+ *
+ * @param <T> El tipo del resultado de la tarea
+ */
+public class BackgroundTask<T> extends SwingWorker<T, Void> {
+
+    /**
+     * Trabajo a realizar en segundo plano
+     * @param <T> El tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        /**
+         * @param progress Receptor del porcentaje completado (0-100), o -1 si se desconoce
+         * @return Resultado de la tarea
+         * @throws Exception Si ocurre un error durante la tarea
+         */
+        T run(IntConsumer progress) throws Exception;
+    }
+
+    private static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "champions-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Work<T> work;
+    private Consumer<T> onSuccess = result -> { };
+    private Consumer<Exception> onError = error -> { };
+    private Runnable onCancel = () -> { };
+
+    /**
+     * Constructor de la tarea
+     * @param work Trabajo a realizar en segundo plano
+     */
+    public BackgroundTask(Work<T> work) {
+        this.work = work;
+    }
+
+    /**
+     * Establece la acción a ejecutar con el resultado si la tarea termina bien
+     */
+    public BackgroundTask<T> onSuccess(Consumer<T> onSuccess) {
+        this.onSuccess = onSuccess;
+        return this;
+    }
+
+    /**
+     * Establece la acción a ejecutar si la tarea falla
+     */
+    public BackgroundTask<T> onError(Consumer<Exception> onError) {
+        this.onError = onError;
+        return this;
+    }
+
+    /**
+     * Establece la acción a ejecutar si la tarea se cancela
+     */
+    public BackgroundTask<T> onCancel(Runnable onCancel) {
+        this.onCancel = onCancel;
+        return this;
+    }
+
+    /**
+     * Encola la tarea en el hilo de E/S
+     */
+    public BackgroundTask<T> start() {
+        IO_EXECUTOR.execute(this);
+        return this;
+    }
+
+    /**
+     * Solicita la cancelación de la tarea interrumpiendo su hilo
+     */
+    public void cancel() {
+        cancel(true);
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.run(this::reportProgress);
+    }
+
+    private void reportProgress(int percent) {
+        // Un porcentaje desconocido deja la barra en modo indeterminado
+        if (percent >= 0) {
+            setProgress(Math.min(percent, 100));
+        }
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            onCancel.run();
+            return;
+        }
+
+        try {
+            onSuccess.accept(get());
+        } catch (CancellationException e) {
+            onCancel.run();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            onError.accept(cause instanceof Exception ? (Exception) cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onError.accept(e);
+        }
+    }
+}
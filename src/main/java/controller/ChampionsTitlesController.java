@@ -3,27 +3,45 @@ package controller;
 import model.ChampionsTitlesModel;
 import model.data.ChampionsTeam;
 import model.data.Title;
+import model.structures.CircularDoublyLinkedList;
+import utils.ChangeJournal;
+import utils.Log;
 import view.ChampionsTitlesView;
 import view.MainView;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.List;
 import javax.swing.DefaultListModel;
 public class ChampionsTitlesController {
     private ChampionsTitlesView view;
     private ChampionsTitlesModel model;
     private MainView mainView;
+    private final WriteBehindSaver saver;
+    // Si el próximo guardado debe escribir el archivo completo en lugar de ampliar el diario
+    private boolean compactOnNextSave;
+
+    // Milisegundos sin modificaciones antes de escribir en el diario (un fsync por lote)
+    private static final int SAVE_QUIET_PERIOD_MS = 1500;
 
     public ChampionsTitlesController(ChampionsTitlesView view, ChampionsTitlesModel model) {
         this.view = view;
         this.model = model;
 
+        this.saver = new WriteBehindSaver(SAVE_QUIET_PERIOD_MS, this::createSaveWork);
+        saver.setTaskListener(task -> view.getProgressPanel().track(task, "Guardando equipos..."));
+        saver.setStateListener(state -> view.setSaveStatus(state.getDescription()));
+        saver.setErrorListener(e -> JOptionPane.showMessageDialog(view,
+                "Error al guardar los datos: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
+
         loadTeamsData();
 
         setupEventListeners();
@@ -35,12 +53,22 @@ public class ChampionsTitlesController {
 
     private void setupEventListeners() {
         view.addBackButtonListener(e -> {
+            // Escribir los cambios pendientes sin esperar al periodo de espera
+            flushCompacting();
             view.closeView();
             if (mainView != null) {
                 mainView.showView();
             }
         });
 
+        // Al cerrar la ventana, salir cuando se hayan escrito los cambios pendientes
+        view.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                exitWhenSaved();
+            }
+        });
+
         view.addTableSelectionListener(new ListSelectionListener() {
             @Override
             public void valueChanged(ListSelectionEvent e) {
@@ -85,12 +113,38 @@ public class ChampionsTitlesController {
 
         // Listener para cargar archivo
         view.addLoadFileButtonListener(e -> loadCustomJsonFile());
+
+        // Listener para exportar a JSON o al formato binario
+        view.addExportFileButtonListener(e -> exportTeamsFile());
+    }
+
+    /**
+     * Cierra la aplicación cuando se hayan escrito los cambios pendientes, sin
+     * bloquear la interfaz mientras tanto. Si no se pudieron guardar, se
+     * pregunta si salir de todos modos.
+     */
+    private void exitWhenSaved() {
+        view.setEditingEnabled(false);
+
+        compactOnNextSave = true;
+        saver.flushThen(() -> System.exit(0), () -> {
+            int option = JOptionPane.showConfirmDialog(view,
+                    "No se pudieron guardar los cambios pendientes.\n¿Desea salir de todos modos? Los cambios se perderán.",
+                    "Cambios sin guardar", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+
+            if (option == JOptionPane.YES_OPTION) {
+                System.exit(0);
+            }
+            view.setEditingEnabled(true);
+        });
+        compactOnNextSave = false; // flushThen ya tomó la copia, si había cambios
     }
 
     private void loadCustomJsonFile() {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Seleccionar Archivo JSON");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Archivos JSON (*.json)", "json"));
+        fileChooser.setDialogTitle("Seleccionar Archivo de Datos");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "Archivos de datos (*.json, *.cbin)", "json", "cbin"));
 
         String userHome = System.getProperty("user.home");
         File downloadsDir = new File(userHome + "/Downloads");
@@ -101,91 +155,171 @@ public class ChampionsTitlesController {
         int result = fileChooser.showOpenDialog(view);
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = fileChooser.getSelectedFile();
-            try {
-                System.out.println("Archivo seleccionado: " + selectedFile.getAbsolutePath());
-                System.out.println("¿El archivo existe? " + selectedFile.exists());
-                System.out.println("Tamaño del archivo: " + selectedFile.length() + " bytes");
+            String filePath = selectedFile.getAbsolutePath();
 
-                // Si el archivo no existe, lanzar una excepción
-                if (!selectedFile.exists()) {
-                    throw new FileNotFoundException("El archivo seleccionado no existe: " + selectedFile.getAbsolutePath());
-                }
+            Log.debug("ChampionsTitlesController", "Archivo seleccionado: " + filePath
+                    + " (existe: " + selectedFile.exists() + ", " + selectedFile.length() + " bytes)");
 
-                // Cargar equipos desde el archivo seleccionado
-                model.loadTeamsFromFile(selectedFile.getAbsolutePath());
+            // Si el archivo no existe, avisar sin lanzar la carga
+            if (!selectedFile.exists()) {
+                Log.warn("ChampionsTitlesController", "Error de archivo no encontrado: " + filePath);
+                JOptionPane.showMessageDialog(view,
+                        "Error: Archivo no encontrado: El archivo seleccionado no existe: " + filePath,
+                        "Error de Carga", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-                // Verificar si se cargaron equipos
-                List<ChampionsTeam> teams = model.getAllTeams();
-                System.out.println("Equipos cargados: " + teams.size());
+            // Leer el archivo en segundo plano; el modelo solo cambia al terminar
+            BackgroundTask<CircularDoublyLinkedList<ChampionsTeam>> task =
+                    new BackgroundTask<>(progress -> model.readTeamsFile(filePath, progress));
 
-                for (ChampionsTeam team : teams) {
-                    System.out.println("Equipo: " + team.getName() + ", Títulos: " + team.getTitles().size());
-                }
+            task.onSuccess(loadedTeams -> {
+                model.installTeams(loadedTeams, filePath);
+
+                // Verificar si se cargaron equipos
+                int teamCount = model.getTeamsView().size();
+                Log.info("ChampionsTitlesController", "Equipos cargados: " + teamCount);
 
                 updateTeamsTable();
-                view.updateFilePathLabel(selectedFile.getAbsolutePath());
+                view.updateFilePathLabel(filePath);
 
                 JOptionPane.showMessageDialog(view,
-                        "Archivo cargado exitosamente. " + teams.size() + " equipos encontrados.",
+                        "Archivo cargado exitosamente. " + teamCount + " equipos encontrados.",
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (FileNotFoundException e) {
-                System.err.println("Error de archivo no encontrado: " + e.getMessage());
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(view,
-                        "Error: Archivo no encontrado: " + e.getMessage(),
-                        "Error de Carga", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception e) {
-                System.err.println("Error al cargar el archivo: " + e.getMessage());
-                e.printStackTrace();
+            }).onError(e -> {
+                Log.error("ChampionsTitlesController", "Error al cargar el archivo: " + e.getMessage(), e);
                 JOptionPane.showMessageDialog(view,
                         "Error al cargar el archivo: " + e.getMessage(),
                         "Error de Carga", JOptionPane.ERROR_MESSAGE);
-            }
+            });
+
+            runLoadTask(task, "Cargando " + selectedFile.getName() + "...");
         }
     }
 
+    private void exportTeamsFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Exportar Equipos");
+        FileNameExtensionFilter jsonFilter = new FileNameExtensionFilter("JSON (*.json)", "json");
+        FileNameExtensionFilter binaryFilter = new FileNameExtensionFilter("Binario compacto (*.cbin)", "cbin");
+        fileChooser.addChoosableFileFilter(jsonFilter);
+        fileChooser.addChoosableFileFilter(binaryFilter);
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        fileChooser.setFileFilter(binaryFilter);
+
+        if (fileChooser.showSaveDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        // Completar la extensión según el formato elegido
+        String filePath = fileChooser.getSelectedFile().getAbsolutePath();
+        String extension = fileChooser.getFileFilter() == jsonFilter ? ".json" : ".cbin";
+        if (!filePath.toLowerCase().endsWith(".json") && !filePath.toLowerCase().endsWith(".cbin")) {
+            filePath += extension;
+        }
+
+        String exportPath = filePath;
+        List<ChampionsTeam> snapshot = model.snapshotTeams();
+        BackgroundTask<Void> task = new BackgroundTask<>(progress -> {
+            model.saveTeamsSnapshot(snapshot, exportPath, progress);
+            return null;
+        });
+
+        task.onSuccess(result -> JOptionPane.showMessageDialog(view,
+                snapshot.size() + " equipos exportados a " + exportPath,
+                "Éxito", JOptionPane.INFORMATION_MESSAGE)
+        ).onError(e -> JOptionPane.showMessageDialog(view,
+                "Error al exportar los datos: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
+
+        view.getProgressPanel().track(task, "Exportando equipos...");
+        task.start();
+    }
+
     private void loadTeamsData() {
-        // Cargar datos del modelo y mostrarlos en la vista
-        try {
-            model.loadTeamsFromFile();
+        // Cargar datos del modelo en segundo plano y mostrarlos en la vista al terminar
+        String filePath = model.getCurrentFilePath();
+        BackgroundTask<CircularDoublyLinkedList<ChampionsTeam>> task =
+                new BackgroundTask<>(progress -> model.readTeamsFile(filePath, progress));
+
+        task.onSuccess(loadedTeams -> {
+            model.installTeams(loadedTeams, filePath);
             updateTeamsTable();
 
             // Actualizar la etiqueta con la ruta del archivo predeterminado
-            view.updateFilePathLabel(model.getCurrentFilePath());
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(view,
-                    "Error al cargar los datos: " + e.getMessage(),
-                    "Error de Carga", JOptionPane.ERROR_MESSAGE);
-        }
+            view.updateFilePathLabel(filePath);
+        }).onError(e -> JOptionPane.showMessageDialog(view,
+                "Error al cargar los datos: " + e.getMessage(),
+                "Error de Carga", JOptionPane.ERROR_MESSAGE));
+
+        runLoadTask(task, "Cargando equipos...");
     }
 
-    private void updateTeamsTable() {
-        List<ChampionsTeam> teams = model.getAllTeams();
+    /**
+     * Ejecuta una carga mostrando su progreso y bloqueando la edición hasta que termine
+     */
+    private void runLoadTask(BackgroundTask<?> task, String message) {
+        // Los cambios pendientes se escriben en su archivo antes de la carga
+        flushCompacting();
+
+        view.setEditingEnabled(false);
+        task.addPropertyChangeListener(event -> {
+            if ("state".equals(event.getPropertyName()) && event.getNewValue() == SwingWorker.StateValue.DONE) {
+                view.setEditingEnabled(true);
+            }
+        });
 
-        // Convertir la lista de equipos a un formato para la tabla
-        Object[][] tableData = new Object[teams.size()][4];
-        for (int i = 0; i < teams.size(); i++) {
-            ChampionsTeam team = teams.get(i);
-            List<Title> titles = team.getTitles();
+        view.getProgressPanel().track(task, message);
+        task.start();
+    }
 
-            // Obtener el último título
-            Title lastTitle = titles.isEmpty() ? null : titles.get(titles.size() - 1);
+    /**
+     * Escribe ya los cambios pendientes compactándolos en el archivo completo.
+     * Si no hay cambios no se escribe nada, y el siguiente guardado vuelve a
+     * ser un añadido al diario.
+     */
+    private void flushCompacting() {
+        compactOnNextSave = true;
+        saver.flush();
+        // flush() toma la copia en el acto, si había cambios
+        compactOnNextSave = false;
+    }
 
-            tableData[i][0] = team.getName();
-            tableData[i][1] = titles.size(); // Número de títulos
-            tableData[i][2] = lastTitle != null ? lastTitle.getYear() : "N/A";
-            tableData[i][3] = lastTitle != null ? lastTitle.getTopScorerGoals() + " goles" : "N/A";
-        }
+    /**
+     * Crea el trabajo de guardado: los cambios pendientes se toman en este
+     * momento y se añaden al diario, o se compactan en el archivo completo
+     */
+    private BackgroundTask.Work<Void> createSaveWork() {
+        ChangeJournal.Flush flush = model.prepareSave(compactOnNextSave);
+        compactOnNextSave = false;
+
+        return progress -> {
+            flush.run(progress);
+            return null;
+        };
+    }
+
+    /**
+     * Registra una modificación: el guardado se agrupa con las siguientes y se
+     * realiza cuando pasa el periodo de espera sin más cambios
+     * @param successMessage Mensaje a mostrar al usuario
+     */
+    private void saveTeams(String successMessage) {
+        saver.markDirty();
+        JOptionPane.showMessageDialog(view,
+                successMessage,
+                "Éxito", JOptionPane.INFORMATION_MESSAGE);
+    }
 
-        view.setTeamsData(tableData);
+    private void updateTeamsTable() {
+        // La tabla lee los equipos directamente de la lista del modelo
+        view.setTeams(model.getTeamsView());
     }
 
     private void displaySelectedTeamDetails() {
         int selectedRow = view.getSelectedTeamRow();
         if (selectedRow >= 0) {
-            int modelRow = view.getTeamsTable().convertRowIndexToModel(selectedRow);
-
-            ChampionsTeam team = model.getAllTeams().get(modelRow);
+            ChampionsTeam team = view.getTeamAtRow(selectedRow);
             StringBuilder details = new StringBuilder();
 
             details.append("Equipo: ").append(team.getName()).append("\n\n");
@@ -214,19 +348,7 @@ public class ChampionsTitlesController {
                         "Sin Resultados", JOptionPane.INFORMATION_MESSAGE);
             } else {
                 // Actualizar la tabla con los resultados filtrados
-                Object[][] tableData = new Object[filteredTeams.size()][4];
-                for (int i = 0; i < filteredTeams.size(); i++) {
-                    ChampionsTeam team = filteredTeams.get(i);
-                    List<Title> titles = team.getTitles();
-                    Title lastTitle = titles.isEmpty() ? null : titles.get(titles.size() - 1);
-
-                    tableData[i][0] = team.getName();
-                    tableData[i][1] = titles.size();
-                    tableData[i][2] = lastTitle != null ? lastTitle.getYear() : "N/A";
-                    tableData[i][3] = lastTitle != null ? lastTitle.getTopScorerGoals() + " goles" : "N/A";
-                }
-
-                view.setTeamsData(tableData);
+                view.setTeams(filteredTeams);
             }
         } else {
             // Si la búsqueda está vacía, mostrar todos los equipos
@@ -262,18 +384,9 @@ public class ChampionsTitlesController {
             // Añadir equipo al modelo
             model.addTeam(newTeam);
 
-            // Guardar cambios y actualizar vista
-            try {
-                model.saveTeamsToFile();
-                updateTeamsTable();
-                JOptionPane.showMessageDialog(view,
-                        "Equipo agregado exitosamente.",
-                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(view,
-                        "Error al guardar los datos: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            // Actualizar vista y guardar cambios
+            updateTeamsTable();
+            saveTeams("Equipo agregado exitosamente.");
         }
     }
 
@@ -321,9 +434,10 @@ public class ChampionsTitlesController {
     }
 
     private void showEditTeamDialog(int selectedRow) {
-        // Convertir el índice de la fila visual al índice del modelo
-        int modelRow = view.getTeamsTable().convertRowIndexToModel(selectedRow);
-        ChampionsTeam team = model.getAllTeams().get(modelRow);
+        // Equipo mostrado en la fila (puede ser un resultado de búsqueda)
+        ChampionsTeam team = view.getTeamAtRow(selectedRow);
+        // El diálogo edita una copia: los cambios llegan al modelo al guardar y se descartan al cancelar
+        ChampionsTeam edited = new ChampionsTeam(team);
 
         // Crear un panel con pestañas para organizar la edición
         JTabbedPane tabbedPane = new JTabbedPane();
@@ -341,7 +455,7 @@ public class ChampionsTitlesController {
         DefaultListModel<String> titlesListModel = new DefaultListModel<>();
 
         // Llenar la lista de títulos
-        List<Title> titles = team.getTitles();
+        List<Title> titles = edited.getTitles();
         for (int i = 0; i < titles.size(); i++) {
             Title title = titles.get(i);
             titlesListModel.addElement("Año: " + title.getYear() + ", Goles: " + title.getTopScorerGoals());
@@ -378,18 +492,18 @@ public class ChampionsTitlesController {
         dialog.add(buttonPanel, BorderLayout.SOUTH);
 
         addTitleButton.addActionListener(e -> {
-            addTitleToTeam(team);
+            addTitleToTeam(edited);
             // Actualizar la lista de títulos
-            updateTitlesList(titlesListModel, team.getTitles());
+            updateTitlesList(titlesListModel, edited.getTitles());
         });
 
         // Evento para editar un título seleccionado
         editTitleButton.addActionListener(e -> {
             int selectedIndex = titlesList.getSelectedIndex();
             if (selectedIndex >= 0) {
-                editTitle(team, selectedIndex);
+                editTitle(edited, selectedIndex);
                 // Actualizar la lista después de editar
-                updateTitlesList(titlesListModel, team.getTitles());
+                updateTitlesList(titlesListModel, edited.getTitles());
             } else {
                 JOptionPane.showMessageDialog(dialog,
                         "Por favor, seleccione un título para editar.",
@@ -408,9 +522,9 @@ public class ChampionsTitlesController {
 
                 if (confirm == JOptionPane.YES_OPTION) {
                     // Eliminar el título
-                    team.getTitles().remove(selectedIndex);
+                    edited.removeTitle(selectedIndex);
                     // Actualizar la lista
-                    updateTitlesList(titlesListModel, team.getTitles());
+                    updateTitlesList(titlesListModel, edited.getTitles());
                 }
             } else {
                 JOptionPane.showMessageDialog(dialog,
@@ -423,21 +537,13 @@ public class ChampionsTitlesController {
         saveButton.addActionListener(e -> {
             String newName = nameField.getText().trim();
             if (!newName.isEmpty()) {
-                team.setName(newName);
-
-                // Guardar cambios y actualizar vista
-                try {
-                    model.saveTeamsToFile();
-                    updateTeamsTable();
-                    dialog.dispose();
-                    JOptionPane.showMessageDialog(view,
-                            "Equipo actualizado exitosamente.",
-                            "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(view,
-                            "Error al guardar los datos: " + ex.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                edited.setName(newName);
+                model.updateTeam(team, edited);
+
+                // Actualizar vista y guardar cambios
+                updateTeamsTable();
+                dialog.dispose();
+                saveTeams("Equipo actualizado exitosamente.");
             } else {
                 JOptionPane.showMessageDialog(dialog,
                         "El nombre del equipo no puede estar vacío.",
@@ -490,9 +596,8 @@ public class ChampionsTitlesController {
                     throw new IllegalArgumentException("La cantidad de goles no puede ser negativa.");
                 }
 
-                // Actualizar título
-                title.setYear(year);
-                title.setTopScorerGoals(goals);
+                // Actualizar título (se recoloca según el nuevo año)
+                team.setTitle(titleIndex, new Title(year, goals));
 
             } catch (NumberFormatException e) {
                 JOptionPane.showMessageDialog(view,
@@ -511,9 +616,8 @@ public class ChampionsTitlesController {
     }
 
     private void confirmAndDeleteTeam(int selectedRow) {
-        // Convertir el índice de la fila visual al índice del modelo
-        int modelRow = view.getTeamsTable().convertRowIndexToModel(selectedRow);
-        ChampionsTeam team = model.getAllTeams().get(modelRow);
+        // Equipo mostrado en la fila (puede ser un resultado de búsqueda)
+        ChampionsTeam team = view.getTeamAtRow(selectedRow);
 
         int confirm = JOptionPane.showConfirmDialog(view,
                 "¿Está seguro de que desea eliminar el equipo '" + team.getName() + "'?",
@@ -524,18 +628,9 @@ public class ChampionsTitlesController {
         if (confirm == JOptionPane.YES_OPTION) {
             model.removeTeam(team);
 
-            // Guardar cambios y actualizar vista
-            try {
-                model.saveTeamsToFile();
-                updateTeamsTable();
-                JOptionPane.showMessageDialog(view,
-                        "Equipo eliminado exitosamente.",
-                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(view,
-                        "Error al guardar los datos: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            // Actualizar vista y guardar cambios
+            updateTeamsTable();
+            saveTeams("Equipo eliminado exitosamente.");
         }
     }
 }
\ No newline at end of file
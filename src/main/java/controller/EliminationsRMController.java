@@ -2,14 +2,16 @@ package controller;
 
 import model.EliminationsRMModel;
 import model.data.Elimination;
+import utils.ChangeJournal;
 import view.EliminationsRMView;
 import view.MainView;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * Controlador para la gestión de eliminaciones del Real Madrid.
@@ -19,18 +21,28 @@ public class EliminationsRMController {
     private EliminationsRMModel model;
     private MainView mainView;
 
-    // Pila de navegación para recorrer las eliminaciones
-    private Stack<Elimination> navigationStack;
+    // Resultados mostrados (todas, una búsqueda o un orden) y posición de navegación
     private int currentIndex = -1;
     private List<Elimination> currentEliminations;
 
+    // Guardado diferido: agrupa las modificaciones seguidas en una sola escritura
+    private final WriteBehindSaver saver;
+    private boolean compactOnNextSave;
+    private static final int SAVE_QUIET_PERIOD_MS = 1500;
+
     /**
      * Constructor del controlador.
      */
     public EliminationsRMController(EliminationsRMView view, EliminationsRMModel model) {
         this.view = view;
         this.model = model;
-        this.navigationStack = new Stack<>();
+
+        this.saver = new WriteBehindSaver(SAVE_QUIET_PERIOD_MS, this::createSaveWork);
+        saver.setTaskListener(task -> view.getProgressPanel().track(task, "Guardando eliminaciones..."));
+        saver.setStateListener(state -> view.setSaveStatus(state.getDescription()));
+        saver.setErrorListener(e -> JOptionPane.showMessageDialog(view,
+                "Error al guardar los datos: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
 
         // Inicializar datos
         loadEliminationsData();
@@ -52,12 +64,22 @@ public class EliminationsRMController {
     private void setupEventListeners() {
         // Listener para el botón de volver al menú principal
         view.addBackButtonListener(e -> {
+            // Escribir los cambios pendientes sin esperar al periodo de espera
+            flushCompacting();
             view.closeView();
             if (mainView != null) {
                 mainView.showView();
             }
         });
 
+        // Al cerrar la ventana, salir cuando se hayan escrito los cambios pendientes
+        view.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                exitWhenSaved();
+            }
+        });
+
         // Listener para selección en la tabla
         view.addTableSelectionListener(new ListSelectionListener() {
             @Override
@@ -108,35 +130,113 @@ public class EliminationsRMController {
         view.addPreviousEliminationButtonListener(e -> navigateToPreviousElimination());
     }
 
+    /**
+     * Cierra la aplicación cuando se hayan escrito los cambios pendientes, sin
+     * bloquear la interfaz mientras tanto. Si no se pudieron guardar, se
+     * pregunta si salir de todos modos.
+     */
+    private void exitWhenSaved() {
+        view.setEditingEnabled(false);
+
+        compactOnNextSave = true;
+        saver.flushThen(() -> System.exit(0), () -> {
+            int option = JOptionPane.showConfirmDialog(view,
+                    "No se pudieron guardar los cambios pendientes.\n¿Desea salir de todos modos? Los cambios se perderán.",
+                    "Cambios sin guardar", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+
+            if (option == JOptionPane.YES_OPTION) {
+                System.exit(0);
+            }
+            view.setEditingEnabled(true);
+        });
+        compactOnNextSave = false; // flushThen ya tomó la copia, si había cambios
+    }
+
     /**
      * Carga los datos de eliminaciones.
      */
     private void loadEliminationsData() {
-        try {
-            model.loadEliminationsFromFile();
+        // La lectura se hace en segundo plano; el modelo solo cambia al terminar
+        BackgroundTask<List<Elimination>> task = new BackgroundTask<>(model::readEliminationsFile);
+
+        task.onSuccess(eliminations -> {
+            model.installEliminations(eliminations);
             updateEliminationsTable();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(view,
-                    "Error al cargar los datos: " + e.getMessage(),
-                    "Error de Carga", JOptionPane.ERROR_MESSAGE);
-        }
+        }).onError(e -> JOptionPane.showMessageDialog(view,
+                "Error al cargar los datos: " + e.getMessage(),
+                "Error de Carga", JOptionPane.ERROR_MESSAGE));
+
+        // Bloquear la edición hasta que termine la carga
+        view.setEditingEnabled(false);
+        task.addPropertyChangeListener(event -> {
+            if ("state".equals(event.getPropertyName()) && event.getNewValue() == SwingWorker.StateValue.DONE) {
+                view.setEditingEnabled(true);
+            }
+        });
+
+        view.getProgressPanel().track(task, "Cargando eliminaciones...");
+        task.start();
+    }
+
+    /**
+     * Escribe ya los cambios pendientes compactándolos en el archivo completo.
+     * Si no hay cambios no se escribe nada, y el siguiente guardado vuelve a
+     * ser un añadido al diario.
+     */
+    private void flushCompacting() {
+        compactOnNextSave = true;
+        saver.flush();
+        // flush() toma la copia en el acto, si había cambios
+        compactOnNextSave = false;
+    }
+
+    /**
+     * Crea el trabajo de guardado: los cambios pendientes se añaden al diario
+     * o se compactan en el archivo completo.
+     */
+    private BackgroundTask.Work<Void> createSaveWork() {
+        ChangeJournal.Flush flush = model.prepareSave(compactOnNextSave);
+        compactOnNextSave = false;
+
+        return progress -> {
+            flush.run(progress);
+            return null;
+        };
+    }
+
+    /**
+     * Registra una modificación; el guardado se agrupa con las siguientes.
+     * @param successMessage Mensaje a mostrar al usuario
+     */
+    private void saveEliminations(String successMessage) {
+        saver.markDirty();
+        JOptionPane.showMessageDialog(view,
+                successMessage,
+                "Éxito", JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
      * Actualiza la tabla con los datos de eliminaciones.
      */
     private void updateEliminationsTable() {
-        currentEliminations = model.getAllEliminations();
+        showEliminations(model.getAllEliminations());
+    }
+
+    /**
+     * Muestra una lista de resultados en la tabla. La tabla solo repinta las
+     * filas que cambiaron y puede conservar la selección, así que la posición
+     * de navegación y los detalles se toman de la fila que quede seleccionada.
+     */
+    private void showEliminations(List<Elimination> eliminations) {
+        currentEliminations = eliminations;
         view.updateEliminationsTable(currentEliminations);
 
-        // Inicializar la pila de navegación
-        navigationStack = new Stack<>();
-        for (Elimination e : currentEliminations) {
-            navigationStack.push(e);
+        currentIndex = view.convertRowIndexToModel(view.getSelectedEliminationIndex());
+        if (currentIndex >= 0) {
+            displaySelectedEliminationDetails();
+        } else {
+            view.showEliminationDetails(null);
         }
-
-        // Inicializar el índice actual
-        currentIndex = navigationStack.isEmpty() ? -1 : 0;
     }
 
     /**
@@ -163,23 +263,15 @@ public class EliminationsRMController {
      */
     private void searchEliminations() {
         String searchTerm = view.getSearchText().trim();
-        currentEliminations = model.searchEliminations(searchTerm);
+        List<Elimination> results = model.searchEliminations(searchTerm);
 
-        if (currentEliminations.isEmpty() && !searchTerm.isEmpty()) {
+        if (results.isEmpty() && !searchTerm.isEmpty()) {
             JOptionPane.showMessageDialog(view,
                     "No se encontraron eliminaciones que coincidan con '" + searchTerm + "'",
                     "Sin Resultados", JOptionPane.INFORMATION_MESSAGE);
         }
 
-        view.updateEliminationsTable(currentEliminations);
-
-        // Actualizar la pila de navegación con los resultados
-        navigationStack = new Stack<>();
-        for (Elimination e : currentEliminations) {
-            navigationStack.push(e);
-        }
-
-        currentIndex = navigationStack.isEmpty() ? -1 : 0;
+        showEliminations(results);
     }
 
     /**
@@ -187,16 +279,7 @@ public class EliminationsRMController {
      */
     private void sortEliminations() {
         int sortOption = view.getSelectedSortOption();
-        currentEliminations = model.getSortedEliminations(sortOption);
-        view.updateEliminationsTable(currentEliminations);
-
-        // Actualizar la pila de navegación con los resultados ordenados
-        navigationStack = new Stack<>();
-        for (Elimination e : currentEliminations) {
-            navigationStack.push(e);
-        }
-
-        currentIndex = navigationStack.isEmpty() ? -1 : 0;
+        showEliminations(model.getSortedEliminations(sortOption));
     }
 
     /**
@@ -208,17 +291,8 @@ public class EliminationsRMController {
         if (newElimination != null) {
             model.pushElimination(newElimination);
 
-            try {
-                model.saveEliminationsToFile();
-                updateEliminationsTable();
-                JOptionPane.showMessageDialog(view,
-                        "Eliminación agregada exitosamente.",
-                        "Éxito", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(view,
-                        "Error al guardar los datos: " + e.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            updateEliminationsTable();
+            saveEliminations("Eliminación agregada exitosamente.");
         }
     }
 
@@ -235,17 +309,10 @@ public class EliminationsRMController {
             if (updatedElimination != null) {
                 model.updateElimination(elimination, updatedElimination);
 
-                try {
-                    model.saveEliminationsToFile();
-                    updateEliminationsTable();
-                    JOptionPane.showMessageDialog(view,
-                            "Eliminación actualizada exitosamente.",
-                            "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(view,
-                            "Error al guardar los datos: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // El diálogo modifica la misma instancia: repintar su fila
+                view.refreshElimination(updatedElimination);
+                updateEliminationsTable();
+                saveEliminations("Eliminación actualizada exitosamente.");
             }
         }
     }
@@ -271,17 +338,8 @@ public class EliminationsRMController {
             if (confirm == JOptionPane.YES_OPTION) {
                 model.removeElimination(elimination);
 
-                try {
-                    model.saveEliminationsToFile();
-                    updateEliminationsTable();
-                    JOptionPane.showMessageDialog(view,
-                            "Eliminación eliminada exitosamente.",
-                            "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(view,
-                            "Error al guardar los datos: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                updateEliminationsTable();
+                saveEliminations("Eliminación eliminada exitosamente.");
             }
         }
     }
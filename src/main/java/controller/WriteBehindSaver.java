@@ -0,0 +1,205 @@
+package controller;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Guardado diferido (write-behind) de un modelo. Cada modificación marca el
+ * modelo como pendiente y reinicia un periodo de espera; cuando pasa ese
+ * periodo sin nuevas modificaciones se guarda una sola vez, de modo que una
+ * ráfaga de ediciones produce una única escritura del archivo.
+ *
+ * Todos los métodos deben llamarse desde el hilo de eventos de Swing. Los
+ * guardados se ejecutan como BackgroundTask, por lo que se escriben en el
+ * mismo orden en que se tomaron las copias.
+ */
+public class WriteBehindSaver {
+
+    /**
+     * Estado del guardado
+     */
+    public enum State {
+        /** No hay cambios sin guardar */
+        SAVED("Todos los cambios guardados"),
+        /** Hay cambios esperando al final del periodo de espera */
+        PENDING("Cambios pendientes de guardar"),
+        /** Hay un guardado en curso */
+        SAVING("Guardando cambios..."),
+        /** El último guardado falló; los cambios siguen pendientes */
+        FAILED("Error al guardar: los cambios siguen pendientes");
+
+        private final String description;
+
+        State(String description) {
+            this.description = description;
+        }
+
+        /**
+         * Obtiene el texto del estado para mostrarlo en la interfaz
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final Timer quietTimer;
+    private final Supplier<BackgroundTask.Work<Void>> saveFactory;
+    private Consumer<State> stateListener = state -> { };
+    private Consumer<Exception> errorListener = error -> { };
+    private Consumer<BackgroundTask<Void>> taskListener = task -> { };
+
+    private boolean dirty;
+    private boolean failed;
+    private int savesInFlight;
+    // Acciones a ejecutar cuando terminen los guardados en curso: {si se guardó todo, si no}
+    private final List<Runnable[]> afterSaves = new ArrayList<>();
+
+    /**
+     * Constructor del guardado diferido
+     * @param quietPeriodMillis Milisegundos sin modificaciones antes de guardar
+     * @param saveFactory Crea el trabajo de guardado; se invoca en el hilo de
+     *                    eventos y debe tomar en ese momento la copia de los datos
+     */
+    public WriteBehindSaver(int quietPeriodMillis, Supplier<BackgroundTask.Work<Void>> saveFactory) {
+        this.saveFactory = saveFactory;
+        this.quietTimer = new Timer(quietPeriodMillis, e -> flush());
+        this.quietTimer.setRepeats(false);
+    }
+
+    /**
+     * Establece el receptor de los cambios de estado
+     */
+    public void setStateListener(Consumer<State> stateListener) {
+        this.stateListener = stateListener;
+        stateListener.accept(getState());
+    }
+
+    /**
+     * Establece el receptor de los errores de guardado
+     */
+    public void setErrorListener(Consumer<Exception> errorListener) {
+        this.errorListener = errorListener;
+    }
+
+    /**
+     * Establece el receptor de cada tarea de guardado iniciada (por ejemplo,
+     * para mostrar su progreso)
+     */
+    public void setTaskListener(Consumer<BackgroundTask<Void>> taskListener) {
+        this.taskListener = taskListener;
+    }
+
+    /**
+     * Marca el modelo como modificado y reinicia el periodo de espera
+     */
+    public void markDirty() {
+        dirty = true;
+        quietTimer.restart();
+        notifyState();
+    }
+
+    /**
+     * Indica si hay cambios que aún no se han escrito en disco
+     */
+    public boolean hasPendingChanges() {
+        return dirty || savesInFlight > 0;
+    }
+
+    /**
+     * Obtiene el estado actual del guardado
+     */
+    public State getState() {
+        if (savesInFlight > 0) {
+            return State.SAVING;
+        }
+        if (dirty) {
+            return failed ? State.FAILED : State.PENDING;
+        }
+        return State.SAVED;
+    }
+
+    /**
+     * Inicia el guardado de los cambios pendientes sin esperar al final del
+     * periodo de espera. No hace nada si no hay cambios.
+     */
+    public void flush() {
+        quietTimer.stop();
+
+        if (!dirty) {
+            return;
+        }
+
+        BackgroundTask<Void> task = new BackgroundTask<>(saveFactory.get());
+        dirty = false;
+        failed = false;
+        savesInFlight++;
+
+        task.onSuccess(result -> {
+                    saveFinished();
+                    runAfterSaves();
+                })
+                .onError(e -> {
+                    // Los datos siguen en memoria: volver a marcarlos como pendientes
+                    dirty = true;
+                    failed = true;
+                    saveFinished();
+                    errorListener.accept(e);
+                    runAfterSaves();
+                })
+                .onCancel(() -> {
+                    dirty = true;
+                    saveFinished();
+                    runAfterSaves();
+                });
+
+        taskListener.accept(task);
+        task.start();
+        notifyState();
+    }
+
+    /**
+     * Guarda los cambios pendientes y, cuando terminen todos los guardados en
+     * curso, ejecuta una de las dos acciones. Pensado para el cierre de la
+     * aplicación: no bloquea el hilo de eventos, y mientras tanto el estado
+     * se muestra como SAVING.
+     * @param whenSaved Acción si todos los cambios quedaron escritos
+     * @param whenNotSaved Acción si un guardado falló o se canceló y quedan
+     *                     cambios sin escribir
+     */
+    public void flushThen(Runnable whenSaved, Runnable whenNotSaved) {
+        flush();
+
+        if (savesInFlight == 0) {
+            // Nada que esperar (no había cambios)
+            (dirty ? whenNotSaved : whenSaved).run();
+            return;
+        }
+
+        afterSaves.add(new Runnable[] {whenSaved, whenNotSaved});
+    }
+
+    private void saveFinished() {
+        savesInFlight--;
+        notifyState();
+    }
+
+    /**
+     * Ejecuta las acciones de flushThen si ya no queda ningún guardado en curso
+     */
+    private void runAfterSaves() {
+        if (savesInFlight == 0 && !afterSaves.isEmpty()) {
+            List<Runnable[]> actions = new ArrayList<>(afterSaves);
+            afterSaves.clear();
+            for (Runnable[] action : actions) {
+                (dirty ? action[1] : action[0]).run();
+            }
+        }
+    }
+
+    private void notifyState() {
+        stateListener.accept(getState());
+    }
+}
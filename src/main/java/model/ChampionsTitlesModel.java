@@ -3,10 +3,22 @@ package model;
 import model.data.ChampionsTeam;
 import model.data.Title;
 import model.structures.CircularDoublyLinkedList;
+import model.structures.CircularDoublyLinkedList.Node;
+import model.structures.NGramIndex;
+import utils.ChangeJournal;
 import utils.FileManager;
+import utils.Log;
 
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Comparator;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
 
 /**
  * Modelo para gestionar los equipos campeones de la Champions League.
@@ -20,10 +32,33 @@ public class ChampionsTitlesModel {
     private static final String DEFAULT_FILE_PATH = "data/champions.json";
     private String currentFilePath;
 
+    // Criterio de ordenamiento vigente, usado para mantener el orden tras cada cambio
+    private Comparator<ChampionsTeam> activeComparator;
+
+    // Índice hash por nombre (en minúsculas) hacia el nodo del equipo que llegó antes con ese nombre
+    private final Map<String, Node<ChampionsTeam>> nameIndex;
+    // Equipos cuyo nombre ya estaba en el índice cuando se agregaron
+    private int duplicateNames;
+    // Orden de llegada del siguiente equipo (ver ChampionsTeam.getArrivalOrder)
+    private long nextArrival;
+    // Índice de subcadenas sobre los nombres para las búsquedas
+    private final NGramIndex<ChampionsTeam> searchIndex;
+    // Diario de cambios del archivo actual
+    private ChangeJournal journal;
+    // Estadísticas mantenidas con cada cambio
+    private final TeamStatistics statistics;
+
     public ChampionsTitlesModel() {
         this.teamsList = new CircularDoublyLinkedList<>();
         this.fileManager = new FileManager();
-        this.currentFilePath = DEFAULT_FILE_PATH;
+        this.currentFilePath = fileManager.preferBinary(DEFAULT_FILE_PATH);
+        this.activeComparator = comparatorFor(0);
+        this.nameIndex = new HashMap<>();
+        this.duplicateNames = 0;
+        this.nextArrival = 0;
+        this.searchIndex = new NGramIndex<>(ChampionsTeam::getName);
+        this.journal = new ChangeJournal(currentFilePath);
+        this.statistics = new TeamStatistics();
     }
 
     /**
@@ -31,16 +66,7 @@ public class ChampionsTitlesModel {
      * @throws Exception Si ocurre un error durante la carga
      */
     public void loadTeamsFromFile() throws Exception {
-        List<ChampionsTeam> teams = fileManager.loadTeamsFromJSON(currentFilePath);
-        teamsList.clear();
-
-        // Agregar equipos a la lista circular doblemente enlazada
-        for (ChampionsTeam team : teams) {
-            teamsList.add(team);
-        }
-
-        // Ordenar por número de títulos (mayor a menor) por defecto
-        sortTeams(0);
+        installTeams(readTeamsFile(currentFilePath, null), currentFilePath);
     }
 
     /**
@@ -49,39 +75,253 @@ public class ChampionsTitlesModel {
      * @throws Exception Si ocurre un error durante la carga
      */
     public void loadTeamsFromFile(String filePath) throws Exception {
-        List<ChampionsTeam> teams = fileManager.loadTeamsFromJSON(filePath);
-        teamsList.clear();
+        installTeams(readTeamsFile(filePath, null), filePath);
+    }
 
-        // Agregar equipos a la lista circular doblemente enlazada
-        for (ChampionsTeam team : teams) {
-            teamsList.add(team);
+    /**
+     * Lee los equipos de un archivo directamente en una lista circular nueva,
+     * aplica encima los cambios de su diario y la deja ordenada por número de
+     * títulos, sin modificar los datos del modelo. Puede ejecutarse fuera del
+     * hilo de la interfaz. Los equipos llegan en el orden del archivo.
+     * @param filePath Ruta del archivo JSON
+     * @param progress Receptor del porcentaje leído, o null
+     * @return Lista con los equipos leídos
+     * @throws Exception Si ocurre un error durante la carga
+     */
+    public CircularDoublyLinkedList<ChampionsTeam> readTeamsFile(String filePath, IntConsumer progress) throws Exception {
+        JournalReplay replay = new JournalReplay();
+        long snapshotSequence = fileManager.loadTeams(filePath, replay::load, progress);
+
+        // Aplicar los cambios registrados después del último guardado completo
+        CircularDoublyLinkedList<ChampionsTeam> loadedTeams = replay.teams;
+        int replayed = new ChangeJournal(filePath).replay(snapshotSequence, replay::apply);
+        if (replayed > 0) {
+            Log.info("ChampionsTitlesModel", "Cambios aplicados desde el diario: " + replayed);
         }
 
+        // Ordenar por número de títulos (mayor a menor) por defecto
+        loadedTeams.sort(comparatorFor(0));
+        return loadedTeams;
+    }
+
+    /**
+     * Reemplaza los equipos del modelo por los de una lista leída con
+     * readTeamsFile y reconstruye los índices
+     * @param loadedTeams Lista con los equipos leídos
+     * @param filePath Ruta del archivo del que se leyeron
+     */
+    public void installTeams(CircularDoublyLinkedList<ChampionsTeam> loadedTeams, String filePath) {
+        clearTeams();
+        teamsList = loadedTeams;
+        teamsList.forEachNode(this::indexTeam);
+        activeComparator = comparatorFor(0);
+
         // Actualizar la ruta del archivo actual
         this.currentFilePath = filePath;
+        this.journal = new ChangeJournal(filePath);
+    }
 
-        // Ordenar por número de títulos (mayor a menor) por defecto
-        sortTeams(0);
+    /**
+     * Carga de un archivo con los cambios de su diario. Los equipos se
+     * identifican en el diario por su nombre y por cuántos equipos con el
+     * mismo nombre llegaron antes ("occurrence"), que es el mismo criterio del
+     * índice por nombre del modelo. El archivo completo se guarda con los
+     * equipos de cada nombre en orden de llegada (ver teamsInSaveOrder), de
+     * modo que ese número designa el mismo equipo al aplicar el diario.
+     */
+    private static final class JournalReplay {
+        final CircularDoublyLinkedList<ChampionsTeam> teams = new CircularDoublyLinkedList<>();
+        // Equipos de cada nombre en orden de llegada; se construye con el primer cambio
+        private Map<String, List<Node<ChampionsTeam>>> byName;
+        private long nextArrival;
+
+        void load(ChampionsTeam team) {
+            team.setArrivalOrder(nextArrival++);
+            teams.add(team);
+        }
+
+        /**
+         * Aplica un cambio del diario. El diario solo entrega los cambios que
+         * no incluye el archivo, así que cada operación se aplica tal cual,
+         * aunque repita un nombre o un título.
+         */
+        void apply(ChangeJournal.Entry entry) throws IOException {
+            if (byName == null) {
+                byName = new HashMap<>();
+                teams.forEachNode(this::arrive);
+            }
+
+            switch (entry.getOperation()) {
+                case "addTeam": {
+                    ChampionsTeam team = entry.getTeam("team");
+                    team.setArrivalOrder(nextArrival++);
+                    arrive(teams.add(team));
+                    break;
+                }
+                case "updateTeam": {
+                    ChampionsTeam team = entry.getTeam("team");
+                    Node<ChampionsTeam> node = find(team.getName(), entry.getInt("occurrence"), false);
+                    if (node != null) {
+                        node.getData().setTitles(team.getTitles());
+                    }
+                    break;
+                }
+                case "renameTeam": {
+                    Node<ChampionsTeam> node = find(entry.getString("from"), entry.getInt("occurrence"), true);
+                    if (node != null) {
+                        // Con el nombre nuevo llega después de los que ya lo tenían
+                        node.getData().setName(entry.getString("to"));
+                        node.getData().setArrivalOrder(nextArrival++);
+                        arrive(node);
+                    }
+                    break;
+                }
+                case "removeTeam": {
+                    Node<ChampionsTeam> node = find(entry.getString("name"), entry.getInt("occurrence"), true);
+                    if (node != null) {
+                        teams.remove(node);
+                    }
+                    break;
+                }
+                case "addTitle": {
+                    Node<ChampionsTeam> node = find(entry.getString("name"), entry.getInt("occurrence"), false);
+                    if (node != null) {
+                        node.getData().addTitle(entry.getTitle("title"));
+                    }
+                    break;
+                }
+                default:
+                    Log.warn("ChampionsTitlesModel", "Operación desconocida en el diario: " + entry.getOperation());
+            }
+        }
+
+        private void arrive(Node<ChampionsTeam> node) {
+            byName.computeIfAbsent(nameKey(node.getData().getName()), key -> new ArrayList<>(1)).add(node);
+        }
+
+        /**
+         * Busca el equipo de un nombre que llegó en la posición indicada
+         * @param remove true para quitarlo además de la lista de ese nombre
+         */
+        private Node<ChampionsTeam> find(String name, int occurrence, boolean remove) {
+            List<Node<ChampionsTeam>> sameName = byName.get(nameKey(name));
+            if (sameName == null || occurrence < 0 || occurrence >= sameName.size()) {
+                Log.warn("ChampionsTitlesModel", "Equipo del diario no encontrado: " + name + " (" + occurrence + ")");
+                return null;
+            }
+            return remove ? sameName.remove(occurrence) : sameName.get(occurrence);
+        }
+    }
+
+    /**
+     * Prepara en el hilo de la interfaz la escritura de los cambios pendientes:
+     * normalmente se añaden al diario; si el diario ha crecido demasiado o se
+     * solicita, se compacta escribiendo el archivo completo.
+     * @param forceCompaction true para escribir el archivo completo en cualquier caso
+     * @return Escritura a ejecutar fuera del hilo de la interfaz
+     */
+    public ChangeJournal.Flush prepareSave(boolean forceCompaction) {
+        if (forceCompaction || journal.needsCompaction()) {
+            List<ChampionsTeam> snapshot = snapshotTeams();
+            String filePath = currentFilePath;
+            return journal.prepareCompaction((journalSequence, progress) ->
+                    fileManager.saveTeams(snapshot, filePath, journalSequence, progress));
+        }
+
+        return journal.prepareAppend();
     }
 
     /**
-     * Guarda los equipos en el archivo JSON actual
+     * Guarda los equipos en el archivo JSON actual. Es una compactación del
+     * diario, ejecutada en el hilo que llama.
      * @throws Exception Si ocurre un error durante el guardado
      */
     public void saveTeamsToFile() throws Exception {
-        List<ChampionsTeam> teams = getAllTeams();
-        fileManager.saveTeamsToJSON(teams, currentFilePath);  // Usar currentFilePath en lugar de FILE_PATH
+        String filePath = currentFilePath;  // El formato lo decide la extensión
+        List<ChampionsTeam> teams = teamsInSaveOrder();
+        journal.prepareCompaction((journalSequence, progress) ->
+                fileManager.saveTeams(teams, filePath, journalSequence, progress)).run(null);
     }
 
     /**
-     * Guarda los equipos en un archivo JSON específico
+     * Guarda los equipos en un archivo JSON específico, que pasa a ser el
+     * archivo actual junto con su diario. El guardado compacta ese diario, de
+     * modo que los cambios que tuviera de antes quedan descartados.
      * @param filePath Ruta del archivo JSON
      * @throws Exception Si ocurre un error durante el guardado
      */
     public void saveTeamsToFile(String filePath) throws Exception {
-        List<ChampionsTeam> teams = getAllTeams();
-        fileManager.saveTeamsToJSON(teams, filePath);
-        this.currentFilePath = filePath; // Actualizar la ruta actual
+        List<ChampionsTeam> teams = teamsInSaveOrder();
+        ChangeJournal fileJournal = new ChangeJournal(filePath);
+        fileJournal.prepareCompaction((journalSequence, progress) ->
+                fileManager.saveTeams(teams, filePath, journalSequence, progress)).run(null);
+
+        // Actualizar la ruta actual y su diario
+        this.currentFilePath = filePath;
+        this.journal = fileJournal;
+    }
+
+    /**
+     * Toma una copia de los equipos y sus títulos para guardarla fuera del
+     * hilo de la interfaz sin que los cambios posteriores le afecten
+     * @return Copia de los equipos en el orden de guardado (ver teamsInSaveOrder)
+     */
+    public List<ChampionsTeam> snapshotTeams() {
+        List<ChampionsTeam> snapshot = teamsInSaveOrder();
+        snapshot.replaceAll(ChampionsTeam::new);
+        return snapshot;
+    }
+
+    /**
+     * Obtiene los equipos en el orden en que se guardan: el orden actual de la
+     * lista, salvo que los equipos con el mismo nombre se colocan, entre sus
+     * propias posiciones, en orden de llegada. Así el diario puede seguir
+     * identificándolos al cargar el archivo (ver JournalReplay).
+     */
+    private List<ChampionsTeam> teamsInSaveOrder() {
+        List<ChampionsTeam> teams = teamsList.toList();
+        if (duplicateNames == 0) {
+            return teams;
+        }
+
+        Map<String, List<ChampionsTeam>> byName = new HashMap<>();
+        for (ChampionsTeam team : teams) {
+            byName.computeIfAbsent(nameKey(team.getName()), key -> new ArrayList<>(1)).add(team);
+        }
+
+        Map<String, Integer> placed = new HashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            String key = nameKey(teams.get(i).getName());
+            List<ChampionsTeam> sameName = byName.get(key);
+            if (sameName.size() > 1) {
+                int next = placed.merge(key, 1, Integer::sum) - 1;
+                if (next == 0) {
+                    sameName.sort(Comparator.comparingLong(ChampionsTeam::getArrivalOrder));
+                }
+                teams.set(i, sameName.get(next));
+            }
+        }
+        return teams;
+    }
+
+    /**
+     * Guarda una copia tomada con snapshotTeams. Puede ejecutarse fuera del
+     * hilo de la interfaz.
+     * @param snapshot Copia de los equipos
+     * @param filePath Ruta del archivo JSON
+     * @param progress Receptor del porcentaje escrito, o null
+     * @throws Exception Si ocurre un error durante el guardado
+     */
+    public void saveTeamsSnapshot(List<ChampionsTeam> snapshot, String filePath, IntConsumer progress) throws Exception {
+        fileManager.saveTeams(snapshot, filePath, progress);
+    }
+
+    /**
+     * Establece si los equipos se guardan en JSON compacto (sin sangría)
+     * @param compactOutput true para salida compacta, false para salida legible
+     */
+    public void setCompactOutput(boolean compactOutput) {
+        fileManager.setCompactOutput(compactOutput);
     }
 
     /**
@@ -100,13 +340,44 @@ public class ChampionsTitlesModel {
         return teamsList.toList();
     }
 
+    /**
+     * Obtiene una vista de solo lectura de los equipos, sin copiarlos. Refleja
+     * los cambios posteriores de la lista y el acceso por posición es O(1)
+     * mientras la lista no cambie.
+     * @return Lista de equipos en el orden actual
+     */
+    public List<ChampionsTeam> getTeamsView() {
+        return new AbstractList<ChampionsTeam>() {
+            @Override
+            public ChampionsTeam get(int index) {
+                return teamsList.get(index);
+            }
+
+            @Override
+            public int size() {
+                return teamsList.size();
+            }
+        };
+    }
+
+    /**
+     * Obtiene el equipo en una posición de la lista sin copiarla
+     * @param index Posición del equipo (0-based)
+     * @return El equipo en la posición indicada
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    public ChampionsTeam getTeamAt(int index) {
+        return teamsList.get(index);
+    }
+
     /**
      * Agrega un nuevo equipo a la lista
      * @param team Equipo a agregar
      */
     public void addTeam(ChampionsTeam team) {
-        teamsList.add(team);
-        sortTeams(0); // Reordenar por número de títulos
+        team.setArrivalOrder(nextArrival++);
+        indexTeam(teamsList.insertSorted(team, activeComparator)); // Insertar en su posición ordenada
+        journal.record("addTeam", "team", team);
     }
 
     /**
@@ -114,8 +385,69 @@ public class ChampionsTitlesModel {
      * @param team Equipo con los datos actualizados
      */
     public void updateTeam(ChampionsTeam team) {
-        teamsList.update(team);
-        sortTeams(0); // Reordenar por número de títulos
+        Node<ChampionsTeam> node = findTeamNode(team);
+
+        if (node != null) {
+            replaceTeam(node, team);
+        }
+    }
+
+    /**
+     * Reemplaza un equipo por una copia editada aparte (por ejemplo, en el
+     * diálogo de edición): aplica el cambio de nombre, si lo hay, y después
+     * sustituye el equipo por la copia
+     * @param original Equipo del modelo
+     * @param edited Copia con los datos actualizados
+     */
+    public void updateTeam(ChampionsTeam original, ChampionsTeam edited) {
+        Node<ChampionsTeam> node = findTeamNode(original);
+
+        if (node != null) {
+            renameTeam(original, edited.getName());
+            replaceTeam(node, edited);
+        }
+    }
+
+    private void replaceTeam(Node<ChampionsTeam> node, ChampionsTeam team) {
+        team.setArrivalOrder(node.getData().getArrivalOrder());
+        statistics.update(node.getData(), team); // Los títulos pueden haberse editado en el sitio
+        if (team != node.getData()) {
+            // El índice de búsqueda guarda las instancias: sustituir la anterior
+            searchIndex.replace(node.getData(), team);
+        }
+        teamsList.set(node, team);
+        teamsList.reposition(node, activeComparator); // Recolocar solo este equipo
+        journal.record("updateTeam", "occurrence", occurrenceOf(node), "team", team);
+    }
+
+    /**
+     * Cambia el nombre de un equipo manteniendo actualizado el índice por nombre
+     * y su posición en el orden vigente
+     * @param team Equipo a renombrar
+     * @param newName Nuevo nombre del equipo
+     */
+    public void renameTeam(ChampionsTeam team, String newName) {
+        if (Objects.equals(team.getName(), newName)) {
+            return; // Sin cambios: nada que reindexar ni registrar
+        }
+
+        Node<ChampionsTeam> node = findTeamNode(team);
+
+        if (node == null) {
+            team.setName(newName);
+            return;
+        }
+
+        String oldName = team.getName();
+        int occurrence = occurrenceOf(node);
+        unindexTeam(node);
+        team.setName(newName);
+        // Con el nombre nuevo llega después de los que ya lo tenían
+        team.setArrivalOrder(nextArrival++);
+        indexTeam(node);
+
+        teamsList.reposition(node, activeComparator);
+        journal.record("renameTeam", "from", oldName, "occurrence", occurrence, "to", newName);
     }
 
     /**
@@ -123,7 +455,15 @@ public class ChampionsTitlesModel {
      * @param team Equipo a eliminar
      */
     public void removeTeam(ChampionsTeam team) {
-        teamsList.remove(team);
+        Node<ChampionsTeam> node = findTeamNode(team);
+
+        if (node != null) {
+            int occurrence = occurrenceOf(node);
+            unindexTeam(node);
+            statistics.remove(node.getData());
+            teamsList.remove(node);
+            journal.record("removeTeam", "name", node.getData().getName(), "occurrence", occurrence);
+        }
     }
 
     /**
@@ -132,15 +472,10 @@ public class ChampionsTitlesModel {
      * @return Lista de equipos que coinciden con la búsqueda
      */
     public List<ChampionsTeam> searchTeams(String searchTerm) {
-        List<ChampionsTeam> result = new ArrayList<>();
-        List<ChampionsTeam> allTeams = getAllTeams();
-
-        for (ChampionsTeam team : allTeams) {
-            if (team.getName().toLowerCase().contains(searchTerm.toLowerCase())) {
-                result.add(team);
-            }
-        }
+        List<ChampionsTeam> result = searchIndex.search(searchTerm);
 
+        // Presentar los resultados en el mismo orden que la lista
+        result.sort(activeComparator);
         return result;
     }
 
@@ -153,23 +488,35 @@ public class ChampionsTitlesModel {
      *                  3 - Alfabético (Z-A)
      */
     public void sortTeams(int sortOption) {
+        Comparator<ChampionsTeam> comparator = comparatorFor(sortOption);
+
+        if (comparator != null) {
+            activeComparator = comparator;
+            teamsList.sort(activeComparator);
+        }
+    }
+
+    /**
+     * Obtiene el comparador asociado a una opción de ordenamiento
+     * @param sortOption Opción de ordenamiento (ver sortTeams)
+     * @return El comparador, o null si la opción no es válida
+     */
+    private static Comparator<ChampionsTeam> comparatorFor(int sortOption) {
         switch (sortOption) {
             case 0: // Títulos (mayor a menor)
-                teamsList.sort((team1, team2) ->
-                        Integer.compare(team2.getTitles().size(), team1.getTitles().size()));
-                break;
+                return (team1, team2) ->
+                        Integer.compare(team2.getTitles().size(), team1.getTitles().size());
             case 1: // Títulos (menor a mayor)
-                teamsList.sort((team1, team2) ->
-                        Integer.compare(team1.getTitles().size(), team2.getTitles().size()));
-                break;
+                return (team1, team2) ->
+                        Integer.compare(team1.getTitles().size(), team2.getTitles().size());
             case 2: // Alfabético (A-Z)
-                teamsList.sort((team1, team2) ->
-                        team1.getName().compareToIgnoreCase(team2.getName()));
-                break;
+                return (team1, team2) ->
+                        team1.getName().compareToIgnoreCase(team2.getName());
             case 3: // Alfabético (Z-A)
-                teamsList.sort((team1, team2) ->
-                        team2.getName().compareToIgnoreCase(team1.getName()));
-                break;
+                return (team1, team2) ->
+                        team2.getName().compareToIgnoreCase(team1.getName());
+            default:
+                return null;
         }
     }
 
@@ -179,72 +526,170 @@ public class ChampionsTitlesModel {
      * @return El equipo si existe, null en caso contrario
      */
     public ChampionsTeam getTeamByName(String teamName) {
-        List<ChampionsTeam> allTeams = getAllTeams();
+        Node<ChampionsTeam> node = nameIndex.get(nameKey(teamName));
+        return node != null ? node.getData() : null;
+    }
+
+    /**
+     * Localiza el nodo de un equipo a través del índice por nombre.
+     * Si el índice apunta a otro equipo con el mismo nombre (duplicados), se
+     * busca en la lista la misma instancia y, si no está, un equipo igual.
+     * @param team Equipo a localizar
+     * @return El nodo del equipo, o null si no está en la lista
+     */
+    private Node<ChampionsTeam> findTeamNode(ChampionsTeam team) {
+        Node<ChampionsTeam> node = nameIndex.get(nameKey(team.getName()));
+
+        if (node != null && node.getData() == team) {
+            return node;
+        }
 
-        for (ChampionsTeam team : allTeams) {
-            if (team.getName().equalsIgnoreCase(teamName)) {
-                return team;
+        if (node == null || duplicateNames > 0) {
+            Node<ChampionsTeam> same = teamsList.findNode(candidate -> candidate == team);
+            if (same != null) {
+                return same;
             }
         }
 
-        return null;
+        if (node != null && node.getData().equals(team)) {
+            return node;
+        }
+
+        return teamsList.findNode(candidate -> candidate.equals(team));
     }
 
     /**
-     * Agrega un título a un equipo existente
-     * @param teamName Nombre del equipo
-     * @param title Título a agregar
-     * @return true si se agregó correctamente, false si no se encontró el equipo
+     * Cuenta cuántos equipos con el mismo nombre llegaron antes que el del
+     * nodo; junto con el nombre, identifica al equipo en el diario
      */
-    public boolean addTitleToTeam(String teamName, Title title) {
-        ChampionsTeam team = getTeamByName(teamName);
-
-        if (team != null) {
-            team.addTitle(title);
-            sortTeams(0); // Reordenar por número de títulos
-            return true;
+    private int occurrenceOf(Node<ChampionsTeam> node) {
+        String key = nameKey(node.getData().getName());
+        if (duplicateNames == 0 || nameIndex.get(key) == node) {
+            return 0;
         }
 
-        return false;
+        long arrival = node.getData().getArrivalOrder();
+        int earlier = 0;
+        for (ChampionsTeam candidate : teamsList) {
+            if (candidate.getArrivalOrder() < arrival && nameKey(candidate.getName()).equals(key)) {
+                earlier++;
+            }
+        }
+        return earlier;
     }
 
     /**
-     * Obtiene estadísticas sobre los equipos campeones
-     * @return Un mapa con estadísticas como "equipoMasTitulos", "añoMasReciente", etc.
+     * Registra un nodo en los índices por nombre. Si ya existe un equipo con
+     * el mismo nombre, el índice apunta al que llegó antes y se contabiliza
+     * el duplicado.
      */
-    public String getStatistics() {
-        List<ChampionsTeam> teams = getAllTeams();
-        if (teams.isEmpty()) {
-            return "No hay datos disponibles.";
+    private void indexTeam(Node<ChampionsTeam> node) {
+        ChampionsTeam team = node.getData();
+        searchIndex.add(team);
+        statistics.add(team);
+        nextArrival = Math.max(nextArrival, team.getArrivalOrder() + 1);
+
+        Node<ChampionsTeam> indexed = nameIndex.putIfAbsent(nameKey(team.getName()), node);
+        if (indexed != null) {
+            duplicateNames++;
+            if (team.getArrivalOrder() < indexed.getData().getArrivalOrder()) {
+                nameIndex.put(nameKey(team.getName()), node);
+            }
         }
+    }
 
-        // El equipo con más títulos será el primero si están ordenados por títulos (mayor a menor)
-        ChampionsTeam mostTitlesTeam = teams.get(0);
-        int totalTeams = teams.size();
+    /**
+     * Quita un nodo de los índices por nombre. Si era la entrada indexada y hay
+     * duplicados, se promueve el equipo con el mismo nombre que llegó antes.
+     */
+    private void unindexTeam(Node<ChampionsTeam> node) {
+        searchIndex.remove(node.getData());
 
-        // Encontrar el año más reciente en todos los títulos
-        int mostRecentYear = 0;
-        String mostRecentTeam = "";
+        String key = nameKey(node.getData().getName());
 
-        for (ChampionsTeam team : teams) {
-            List<Title> titles = team.getTitles();
-            for (Title title : titles) {
-                if (title.getYear() > mostRecentYear) {
-                    mostRecentYear = title.getYear();
-                    mostRecentTeam = team.getName();
+        if (nameIndex.get(key) != node) {
+            duplicateNames--;
+            return;
+        }
+
+        nameIndex.remove(key);
+
+        if (duplicateNames > 0) {
+            Node<ChampionsTeam> replacement = null;
+            for (Node<ChampionsTeam> candidate : sameNameNodes(key)) {
+                if (candidate != node && (replacement == null
+                        || candidate.getData().getArrivalOrder() < replacement.getData().getArrivalOrder())) {
+                    replacement = candidate;
                 }
             }
+
+            if (replacement != null) {
+                nameIndex.put(key, replacement);
+                duplicateNames--;
+            }
         }
+    }
 
-        // Construir el string de estadísticas
-        StringBuilder stats = new StringBuilder();
-        stats.append("Estadísticas de Champions League:\n\n");
-        stats.append("• Equipo con más títulos: ").append(mostTitlesTeam.getName())
-                .append(" (").append(mostTitlesTeam.getTitles().size()).append(" títulos)\n");
-        stats.append("• Campeón más reciente: ").append(mostRecentTeam)
-                .append(" (").append(mostRecentYear).append(")\n");
-        stats.append("• Total de equipos campeones: ").append(totalTeams).append("\n");
+    /**
+     * Obtiene los nodos de la lista cuyo equipo tiene el nombre indicado
+     */
+    private List<Node<ChampionsTeam>> sameNameNodes(String key) {
+        List<Node<ChampionsTeam>> nodes = new ArrayList<>();
+        teamsList.forEachNode(node -> {
+            if (nameKey(node.getData().getName()).equals(key)) {
+                nodes.add(node);
+            }
+        });
+        return nodes;
+    }
 
-        return stats.toString();
+    /**
+     * Vacía la lista de equipos y los índices asociados
+     */
+    private void clearTeams() {
+        teamsList.clear();
+        nameIndex.clear();
+        duplicateNames = 0;
+        nextArrival = 0;
+        searchIndex.clear();
+        statistics.clear();
+    }
+
+    /**
+     * Normaliza un nombre de equipo para usarlo como clave del índice
+     */
+    private static String nameKey(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Agrega un título a un equipo existente
+     * @param teamName Nombre del equipo
+     * @param title Título a agregar
+     * @return true si se agregó correctamente, false si no se encontró el equipo
+     */
+    public boolean addTitleToTeam(String teamName, Title title) {
+        Node<ChampionsTeam> node = nameIndex.get(nameKey(teamName));
+
+        if (node != null) {
+            node.getData().addTitle(title);
+            statistics.update(node.getData(), node.getData());
+            teamsList.reposition(node, activeComparator); // Recolocar solo este equipo
+            journal.record("addTitle", "name", node.getData().getName(), "occurrence", occurrenceOf(node),
+                    "title", title);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Obtiene estadísticas sobre los equipos campeones. Se mantienen al día con
+     * cada cambio del modelo, de modo que obtenerlas no recorre los equipos.
+     * @return Texto con el equipo con más títulos, el campeón más reciente,
+     *         los totales y los títulos por década
+     */
+    public String getStatistics() {
+        return statistics.describe();
     }
-}
\ No newline at end of file
+}
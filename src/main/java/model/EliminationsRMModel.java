@@ -1,31 +1,95 @@
 package model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 import model.data.Elimination;
+import model.structures.IndexedStack;
+import model.structures.InvertedIndex;
+import utils.ChangeJournal;
+import utils.FileManager;
+import utils.Log;
 import utils.SortingUtility;
 
 import java.io.*;
-import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 /**
  * Modelo para gestionar las eliminaciones del Real Madrid.
  * Implementa una estructura de pila (Stack) para mantener las eliminaciones.
  */
 public class EliminationsRMModel {
-    private Stack<Elimination> eliminationsStack;
+    private final IndexedStack<EliminationKey, Elimination> eliminationsStack;
     private String dataFilePath;
-    private final Gson gson;
+    private final FileManager fileManager;
+    private final InvertedIndex<Elimination> searchIndex;
+    private ChangeJournal journal;
 
     /**
      * Constructor del modelo.
      */
     public EliminationsRMModel() {
-        this.eliminationsStack = new Stack<>();
-        this.dataFilePath = "src/main/resources/data/eliminaciones.json";
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.eliminationsStack = new IndexedStack<>(EliminationsRMModel::eliminationKey);
+        this.fileManager = new FileManager();
+        this.dataFilePath = fileManager.preferBinary("src/main/resources/data/eliminaciones.json");
+        this.searchIndex = createSearchIndex();
+        this.journal = new ChangeJournal(dataFilePath);
+    }
+
+    /**
+     * Clave de una eliminación: los códigos de temporada, fase y rival, los
+     * mismos campos que usa Elimination.equals.
+     */
+    private static EliminationKey eliminationKey(Elimination elimination) {
+        return new EliminationKey(elimination.getSeasonCode(), elimination.getPhaseCode(),
+                elimination.getOpponentCode());
+    }
+
+    /**
+     * Clave inmutable de una eliminación en la pila. Guarda los códigos y no
+     * la eliminación, que puede modificarse en el sitio desde la vista.
+     */
+    private static final class EliminationKey {
+        final int season;
+        final int phase;
+        final int opponent;
+
+        EliminationKey(int season, int phase, int opponent) {
+            this.season = season;
+            this.phase = phase;
+            this.opponent = opponent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EliminationKey)) return false;
+            EliminationKey that = (EliminationKey) o;
+            return season == that.season && phase == that.phase && opponent == that.opponent;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * season + phase) + opponent;
+        }
+    }
+
+    /**
+     * Crea el índice de búsqueda sobre temporada, fase, rival y descripción.
+     * Los campos admiten también su nombre en español como prefijo de consulta.
+     */
+    private static InvertedIndex<Elimination> createSearchIndex() {
+        LinkedHashMap<String, Function<Elimination, String>> fields = new LinkedHashMap<>();
+        fields.put("season", Elimination::getSeason);
+        fields.put("phase", Elimination::getPhase);
+        fields.put("opponent", Elimination::getOpponent);
+        fields.put("description", Elimination::getDescription);
+
+        InvertedIndex<Elimination> index = new InvertedIndex<>(fields);
+        index.addFieldAlias("temporada", "season");
+        index.addFieldAlias("fase", "phase");
+        index.addFieldAlias("rival", "opponent");
+        index.addFieldAlias("descripcion", "description");
+        return index;
     }
 
     /**
@@ -33,30 +97,109 @@ public class EliminationsRMModel {
      */
     public void setDataFilePath(String dataFilePath) {
         this.dataFilePath = dataFilePath;
+        this.journal = new ChangeJournal(dataFilePath);
+    }
+
+    /**
+     * Obtiene la ruta del archivo de datos.
+     */
+    public String getDataFilePath() {
+        return dataFilePath;
     }
 
     /**
      * Carga las eliminaciones desde el archivo JSON.
      */
     public void loadEliminationsFromFile() throws IOException {
-        try (Reader reader = new FileReader(dataFilePath)) {
-            Type listType = new TypeToken<ArrayList<Elimination>>(){}.getType();
-            List<Elimination> eliminationsList = gson.fromJson(reader, listType);
-
-            // Si el archivo está vacío o no existe, inicializar con lista vacía
-            if (eliminationsList == null) {
-                eliminationsList = new ArrayList<>();
-            }
-
-            // Convertir lista a pila
-            eliminationsStack = new Stack<>();
-            for (Elimination e : eliminationsList) {
-                eliminationsStack.push(e);
-            }
+        installEliminations(readEliminationsFile(null));
+    }
+
+    /**
+     * Lee las eliminaciones del archivo sin modificar los datos del modelo.
+     * Si el archivo no existe, lo crea con datos de ejemplo. Puede ejecutarse
+     * fuera del hilo de la interfaz.
+     * @param progress Receptor del porcentaje leído, o null
+     */
+    public List<Elimination> readEliminationsFile(IntConsumer progress) throws IOException {
+        List<Elimination> eliminationsList = new ArrayList<>();
+        long snapshotSequence;
+
+        try {
+            snapshotSequence = fileManager.loadEliminations(dataFilePath, eliminationsList::add, progress);
         } catch (FileNotFoundException e) {
             // Si el archivo no existe, crear uno nuevo con datos de ejemplo
             createDefaultEliminationsFile();
-            loadEliminationsFromFile(); // Intentar cargar nuevamente
+            return readEliminationsFile(progress); // Intentar cargar nuevamente
+        }
+
+        // Aplicar los cambios registrados después del último guardado completo
+        IndexedStack<EliminationKey, Elimination> staged = new IndexedStack<>(EliminationsRMModel::eliminationKey);
+        eliminationsList.forEach(staged::push);
+        int replayed = journal.replay(snapshotSequence, entry -> applyJournalEntry(staged, entry));
+        if (replayed > 0) {
+            Log.info("EliminationsRMModel", "Cambios aplicados desde el diario: " + replayed);
+            return staged.toList();
+        }
+
+        return eliminationsList;
+    }
+
+    /**
+     * Aplica un cambio del diario sobre la pila en carga. El diario solo
+     * entrega los cambios que no incluye el archivo, así que cada inserción se
+     * aplica aunque repita la clave de otra eliminación; las modificaciones y
+     * borrados se localizan por clave.
+     */
+    private static void applyJournalEntry(IndexedStack<EliminationKey, Elimination> staged, ChangeJournal.Entry entry) {
+        switch (entry.getOperation()) {
+            case "pushElimination":
+                staged.push(entry.getElimination("elimination"));
+                break;
+            case "updateElimination":
+                staged.update(keyProbe(entry), entry.getElimination("elimination"));
+                break;
+            case "removeElimination":
+                staged.remove(keyProbe(entry));
+                break;
+            default:
+                Log.warn("EliminationsRMModel", "Operación desconocida en el diario: " + entry.getOperation());
+        }
+    }
+
+    /**
+     * Eliminación con solo los campos de la clave registrada en el diario,
+     * usada para localizar la original
+     */
+    private static Elimination keyProbe(ChangeJournal.Entry entry) {
+        return new Elimination(entry.getString("season"), entry.getString("phase"), entry.getString("opponent"),
+                null, null, null, null);
+    }
+
+    /**
+     * Registra en el diario una operación sobre la eliminación con la clave dada
+     */
+    private void recordByKey(String operation, EliminationKey key, Object... extraFields) {
+        Object[] fields = new Object[6 + extraFields.length];
+        fields[0] = "season";
+        fields[1] = Elimination.seasonForCode(key.season);
+        fields[2] = "phase";
+        fields[3] = Elimination.phaseForCode(key.phase);
+        fields[4] = "opponent";
+        fields[5] = Elimination.opponentForCode(key.opponent);
+        System.arraycopy(extraFields, 0, fields, 6, extraFields.length);
+        journal.record(operation, fields);
+    }
+
+    /**
+     * Reemplaza las eliminaciones del modelo por las leídas con readEliminationsFile.
+     */
+    public void installEliminations(List<Elimination> eliminationsList) {
+        // Convertir lista a pila e indexar para las búsquedas
+        eliminationsStack.clear();
+        searchIndex.clear();
+        for (Elimination e : eliminationsList) {
+            eliminationsStack.push(e);
+            searchIndex.add(e);
         }
     }
 
@@ -64,21 +207,69 @@ public class EliminationsRMModel {
      * Guarda las eliminaciones en el archivo JSON.
      */
     public void saveEliminationsToFile() throws IOException {
-        // Convertir la pila a una lista para facilitar la serialización
-        List<Elimination> eliminationsList = new ArrayList<>(eliminationsStack);
+        // Compactación del diario en el hilo que llama; se recorre la pila directamente, sin copiarla
+        String filePath = dataFilePath;
+        try {
+            journal.prepareCompaction((journalSequence, progress) ->
+                    fileManager.saveEliminations(eliminationsStack, filePath, journalSequence, progress)).run(null);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
 
-        try (Writer writer = new FileWriter(dataFilePath)) {
-            gson.toJson(eliminationsList, writer);
+    /**
+     * Toma una copia de las eliminaciones para guardarla fuera del hilo de la
+     * interfaz sin que los cambios posteriores le afecten.
+     */
+    public List<Elimination> snapshotEliminations() {
+        List<Elimination> snapshot = new ArrayList<>(eliminationsStack.size());
+
+        for (Elimination e : eliminationsStack) {
+            snapshot.add(new Elimination(e.getSeason(), e.getPhase(), e.getOpponent(), e.getResultHome(),
+                    e.getResultAway(), e.getDescription(), e.getImagePath()));
         }
+
+        return snapshot;
+    }
+
+    /**
+     * Guarda una copia tomada con snapshotEliminations. Puede ejecutarse fuera
+     * del hilo de la interfaz.
+     */
+    public void saveEliminationsSnapshot(List<Elimination> snapshot, String filePath, IntConsumer progress) throws IOException {
+        fileManager.saveEliminations(snapshot, filePath, progress);
+    }
+
+    /**
+     * Prepara la escritura de los cambios pendientes: se añaden al diario o,
+     * si el diario ha crecido demasiado o se solicita, se escribe el archivo
+     * completo y se vacía el diario.
+     * @param forceCompaction true para escribir el archivo completo en cualquier caso
+     */
+    public ChangeJournal.Flush prepareSave(boolean forceCompaction) {
+        if (forceCompaction || journal.needsCompaction()) {
+            List<Elimination> snapshot = snapshotEliminations();
+            String filePath = dataFilePath;
+            return journal.prepareCompaction((journalSequence, progress) ->
+                    fileManager.saveEliminations(snapshot, filePath, journalSequence, progress));
+        }
+
+        return journal.prepareAppend();
+    }
+
+    /**
+     * Establece si las eliminaciones se guardan en JSON compacto (sin sangría).
+     */
+    public void setCompactOutput(boolean compactOutput) {
+        fileManager.setCompactOutput(compactOutput);
     }
 
     /**
      * Crea un archivo JSON con datos de ejemplo si no existe.
      */
     private void createDefaultEliminationsFile() throws IOException {
-        File file = new File(dataFilePath);
-        file.getParentFile().mkdirs(); // Crear directorios si no existen
-
         List<Elimination> defaultEliminations = Arrays.asList(
                 new Elimination(
                         "2022-2023",
@@ -109,16 +300,14 @@ public class EliminationsRMModel {
                 )
         );
 
-        try (Writer writer = new FileWriter(file)) {
-            gson.toJson(defaultEliminations, writer);
-        }
+        fileManager.saveEliminations(defaultEliminations, dataFilePath, null);
     }
 
     /**
      * Obtiene todas las eliminaciones como una lista.
      */
     public List<Elimination> getAllEliminations() {
-        return new ArrayList<>(eliminationsStack);
+        return eliminationsStack.toList();
     }
 
     /**
@@ -126,6 +315,8 @@ public class EliminationsRMModel {
      */
     public void pushElimination(Elimination elimination) {
         eliminationsStack.push(elimination);
+        searchIndex.add(elimination);
+        journal.record("pushElimination", "elimination", elimination);
     }
 
     /**
@@ -133,7 +324,11 @@ public class EliminationsRMModel {
      */
     public Elimination popElimination() {
         if (!eliminationsStack.isEmpty()) {
-            return eliminationsStack.pop();
+            EliminationKey key = eliminationsStack.keyOf(eliminationsStack.peek());
+            Elimination elimination = eliminationsStack.pop();
+            searchIndex.remove(elimination);
+            recordByKey("removeElimination", key);
+            return elimination;
         }
         return null;
     }
@@ -156,33 +351,24 @@ public class EliminationsRMModel {
     }
 
     /**
-     * Busca eliminaciones por temporada, fase o rival.
+     * Busca eliminaciones por temporada, fase, rival o descripción.
+     * Todas las palabras deben coincidir (como parte de una palabra, sin
+     * distinguir tildes ni mayúsculas) y se puede limitar a un campo con
+     * "rival:ajax", "fase:final", etc.
      */
     public List<Elimination> searchEliminations(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            return new ArrayList<>(eliminationsStack);
+            return eliminationsStack.toList();
         }
 
-        searchTerm = searchTerm.toLowerCase().trim();
-        List<Elimination> results = new ArrayList<>();
-
-        for (Elimination e : eliminationsStack) {
-            if (e.getSeason().toLowerCase().contains(searchTerm) ||
-                    e.getPhase().toLowerCase().contains(searchTerm) ||
-                    e.getOpponent().toLowerCase().contains(searchTerm) ||
-                    e.getDescription().toLowerCase().contains(searchTerm)) {
-                results.add(e);
-            }
-        }
-
-        return results;
+        return searchIndex.search(searchTerm);
     }
 
     /**
      * Ordena las eliminaciones según el criterio especificado.
      */
     public List<Elimination> getSortedEliminations(int sortCriteria) {
-        List<Elimination> sortedList = new ArrayList<>(eliminationsStack);
+        List<Elimination> sortedList = eliminationsStack.toList();
         SortingUtility.sortByMultipleCriteria(sortedList, sortCriteria);
         return sortedList;
     }
@@ -191,27 +377,37 @@ public class EliminationsRMModel {
      * Elimina una eliminación específica.
      */
     public boolean removeElimination(Elimination elimination) {
-        return eliminationsStack.remove(elimination);
+        EliminationKey key = eliminationsStack.keyOf(elimination);
+        Elimination removed = eliminationsStack.remove(elimination);
+        if (removed == null) {
+            return false;
+        }
+
+        searchIndex.remove(removed);
+        recordByKey("removeElimination", key);
+        return true;
     }
 
     /**
      * Actualiza una eliminación existente.
      */
     public boolean updateElimination(Elimination oldElimination, Elimination newElimination) {
-        // Creamos una lista temporal para poder modificar la pila
-        List<Elimination> tempList = new ArrayList<>(eliminationsStack);
+        // La clave original, aunque la eliminación se haya modificado en el sitio
+        EliminationKey oldKey = eliminationsStack.keyOf(oldElimination);
 
-        int index = tempList.indexOf(oldElimination);
-        if (index >= 0) {
-            tempList.set(index, newElimination);
-            // Reconstruir la pila con la lista actualizada
-            eliminationsStack.clear();
-            for (Elimination e : tempList) {
-                eliminationsStack.push(e);
-            }
-            return true;
+        // Sustituir en su posición de la pila sin reconstruirla
+        Elimination stored = eliminationsStack.update(oldElimination, newElimination);
+        if (stored == null) {
+            return false;
         }
 
-        return false;
+        // Reindexar conservando la posición en los resultados
+        if (stored == newElimination) {
+            searchIndex.update(newElimination);
+        } else {
+            searchIndex.replace(stored, newElimination);
+        }
+        recordByKey("updateElimination", oldKey, "elimination", newElimination);
+        return true;
     }
 }
@@ -0,0 +1,207 @@
+package model;
+
+import model.data.ChampionsTeam;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Estadísticas de los equipos campeones mantenidas de forma incremental.
+ *
+ * Por cada equipo se guarda su aportación (número de títulos, año más
+ * reciente y años de sus títulos) para poder restarla cuando el equipo cambia
+ * o se elimina, sin recorrer los demás. Los títulos se modifican en el sitio
+ * (addTitle, setTitle, removeTitle), así que tras cada cambio hay que llamar
+ * a {@link #update} con el equipo para que se recalcule su aportación. El
+ * texto resultante se guarda hasta el siguiente cambio.
+ */
+final class TeamStatistics {
+
+    /**
+     * Aportación de un equipo a las estadísticas
+     */
+    private static final class Contribution {
+        final ChampionsTeam team;
+        // Orden de llegada, para desempatar igual que el orden de carga
+        final long order;
+        int titleCount;
+        int latestYear;
+        int[] years;
+
+        Contribution(ChampionsTeam team, long order) {
+            this.team = team;
+            this.order = order;
+        }
+    }
+
+    private static final Comparator<Contribution> BY_TITLES = (a, b) -> a.titleCount != b.titleCount
+            ? Integer.compare(b.titleCount, a.titleCount)
+            : Long.compare(a.order, b.order);
+
+    private static final Comparator<Contribution> BY_LATEST_YEAR = (a, b) -> a.latestYear != b.latestYear
+            ? Integer.compare(b.latestYear, a.latestYear)
+            : Long.compare(a.order, b.order);
+
+    private final Map<ChampionsTeam, Contribution> contributions;
+    private final TreeSet<Contribution> byTitles;
+    // Solo equipos con algún título de año positivo
+    private final TreeSet<Contribution> byLatestYear;
+    // Década (ej: 1990) -> títulos ganados en ella
+    private final TreeMap<Integer, Integer> titlesPerDecade;
+    private int totalTitles;
+    private long nextOrder;
+    private String cachedText;
+
+    TeamStatistics() {
+        this.contributions = new IdentityHashMap<>();
+        this.byTitles = new TreeSet<>(BY_TITLES);
+        this.byLatestYear = new TreeSet<>(BY_LATEST_YEAR);
+        this.titlesPerDecade = new TreeMap<>();
+        this.totalTitles = 0;
+        this.nextOrder = 0;
+    }
+
+    /**
+     * Suma la aportación de un equipo nuevo; si ya estaba, la recalcula
+     */
+    void add(ChampionsTeam team) {
+        if (contributions.containsKey(team)) {
+            update(team, team);
+            return;
+        }
+
+        Contribution contribution = new Contribution(team, nextOrder++);
+        contributions.put(team, contribution);
+        apply(contribution);
+    }
+
+    /**
+     * Resta la aportación de un equipo eliminado
+     */
+    void remove(ChampionsTeam team) {
+        Contribution contribution = contributions.remove(team);
+        if (contribution != null) {
+            retract(contribution);
+        }
+    }
+
+    /**
+     * Recalcula la aportación de un equipo tras modificarse. Si el equipo se
+     * reemplazó por otra instancia, la nueva conserva la posición de la anterior
+     * en los desempates.
+     * @param previous Instancia que estaba en el modelo
+     * @param current Instancia que queda en el modelo
+     */
+    void update(ChampionsTeam previous, ChampionsTeam current) {
+        Contribution old = contributions.remove(previous);
+        if (old == null) {
+            add(current);
+            return;
+        }
+
+        retract(old);
+        Contribution contribution = new Contribution(current, old.order);
+        contributions.put(current, contribution);
+        apply(contribution);
+    }
+
+    /**
+     * Elimina todas las aportaciones
+     */
+    void clear() {
+        contributions.clear();
+        byTitles.clear();
+        byLatestYear.clear();
+        titlesPerDecade.clear();
+        totalTitles = 0;
+        nextOrder = 0;
+        cachedText = null;
+    }
+
+    /**
+     * Construye el texto de las estadísticas; se reutiliza mientras no haya cambios
+     */
+    String describe() {
+        if (cachedText != null) {
+            return cachedText;
+        }
+
+        if (contributions.isEmpty()) {
+            cachedText = "No hay datos disponibles.";
+            return cachedText;
+        }
+
+        Contribution mostTitles = byTitles.first();
+        Contribution mostRecent = byLatestYear.isEmpty() ? null : byLatestYear.first();
+
+        StringBuilder stats = new StringBuilder();
+        stats.append("Estadísticas de Champions League:\n\n");
+        stats.append("• Equipo con más títulos: ").append(mostTitles.team.getName())
+                .append(" (").append(mostTitles.titleCount).append(" títulos)\n");
+        stats.append("• Campeón más reciente: ").append(mostRecent != null ? mostRecent.team.getName() : "")
+                .append(" (").append(mostRecent != null ? mostRecent.latestYear : 0).append(")\n");
+        stats.append("• Total de equipos campeones: ").append(contributions.size()).append("\n");
+        stats.append("• Total de títulos: ").append(totalTitles).append("\n");
+
+        if (!titlesPerDecade.isEmpty()) {
+            stats.append("• Títulos por década:\n");
+            for (Map.Entry<Integer, Integer> entry : titlesPerDecade.entrySet()) {
+                stats.append("   Década de ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+        }
+
+        cachedText = stats.toString();
+        return cachedText;
+    }
+
+    /**
+     * Calcula la aportación actual del equipo y la suma a los agregados
+     */
+    private void apply(Contribution contribution) {
+        // Los títulos del equipo ya están ordenados por año
+        int[] years = new int[contribution.team.getTitleCount()];
+        for (int i = 0; i < years.length; i++) {
+            years[i] = contribution.team.getTitleYear(i);
+        }
+
+        contribution.years = years;
+        contribution.titleCount = years.length;
+        contribution.latestYear = years.length > 0 ? years[years.length - 1] : 0;
+
+        byTitles.add(contribution);
+        if (contribution.latestYear > 0) {
+            byLatestYear.add(contribution);
+        }
+        for (int year : years) {
+            titlesPerDecade.merge(decadeOf(year), 1, Integer::sum);
+        }
+        totalTitles += years.length;
+        cachedText = null;
+    }
+
+    /**
+     * Resta la aportación guardada de un equipo de los agregados
+     */
+    private void retract(Contribution contribution) {
+        byTitles.remove(contribution);
+        byLatestYear.remove(contribution);
+        for (int year : contribution.years) {
+            Integer decade = decadeOf(year);
+            int remaining = titlesPerDecade.get(decade) - 1;
+            if (remaining == 0) {
+                titlesPerDecade.remove(decade);
+            } else {
+                titlesPerDecade.put(decade, remaining);
+            }
+        }
+        totalTitles -= contribution.years.length;
+        cachedText = null;
+    }
+
+    private static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+}
@@ -0,0 +1,346 @@
+package model.analytics;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import model.data.Phase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Consultas de agregación sobre títulos y eliminaciones.
+ *
+ * Los datos se copian una vez a tablas de columnas de enteros
+ * ({@link TitlesTable} y {@link EliminationsTable}) y cada consulta las
+ * recorre agrupando por posición en arreglos, sin crear objetos por fila.
+ * Con tablas grandes el recorrido se reparte en tramos que se procesan en
+ * paralelo (en el ForkJoinPool común) y cuyos resultados parciales se suman
+ * al final. Las tablas no cambian, así que las consultas se pueden lanzar
+ * desde varios hilos a la vez.
+ */
+public class ChampionsAnalytics {
+
+    // Por debajo de este número de filas el recorrido es secuencial
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final TitlesTable titles;
+    private final EliminationsTable eliminations;
+
+    /**
+     * Constructor a partir de tablas ya construidas
+     * @param titles Tabla de títulos
+     * @param eliminations Tabla de eliminaciones
+     */
+    public ChampionsAnalytics(TitlesTable titles, EliminationsTable eliminations) {
+        this.titles = Objects.requireNonNull(titles);
+        this.eliminations = Objects.requireNonNull(eliminations);
+    }
+
+    /**
+     * Construye las tablas a partir de los datos de los modelos
+     * @param teams Equipos campeones (por ejemplo, ChampionsTitlesModel.getTeamsView())
+     * @param eliminations Eliminaciones (por ejemplo, EliminationsRMModel.getAllEliminations())
+     * @return El motor de consultas sobre una copia de los datos
+     */
+    public static ChampionsAnalytics from(Iterable<ChampionsTeam> teams, Iterable<Elimination> eliminations) {
+        return new ChampionsAnalytics(
+                TitlesTable.from(teams != null ? teams : Collections.<ChampionsTeam>emptyList()),
+                EliminationsTable.from(eliminations != null ? eliminations : Collections.<Elimination>emptyList()));
+    }
+
+    public TitlesTable getTitles() {
+        return titles;
+    }
+
+    public EliminationsTable getEliminations() {
+        return eliminations;
+    }
+
+    /**
+     * Títulos de cada equipo en cada década. Los equipos con el mismo nombre
+     * se suman juntos y los equipos sin títulos no aparecen.
+     * @return Nombre del equipo -> (década, ej: 1990 -> títulos), en el orden de los equipos
+     */
+    public Map<String, Map<Integer, Integer>> titlesPerTeamPerDecade() {
+        // Las filas de cada equipo están ordenadas por año: cada década es un tramo seguido
+        int[][] runs = range(titles.getTeamCount()).mapToObj(team -> {
+            int start = titles.teamStart(team);
+            int end = titles.teamStart(team + 1);
+            int[] decadeCounts = new int[2 * (end - start)];
+            int length = 0;
+            for (int row = start; row < end; row++) {
+                int decade = decadeOf(titles.year(row));
+                if (length > 0 && decadeCounts[length - 2] == decade) {
+                    decadeCounts[length - 1]++;
+                } else {
+                    decadeCounts[length++] = decade;
+                    decadeCounts[length++] = 1;
+                }
+            }
+            return length == decadeCounts.length ? decadeCounts : Arrays.copyOf(decadeCounts, length);
+        }).toArray(int[][]::new);
+
+        Map<String, Map<Integer, Integer>> result = new LinkedHashMap<>();
+        for (int team = 0; team < runs.length; team++) {
+            if (runs[team].length == 0) {
+                continue;
+            }
+            Map<Integer, Integer> decades = result.computeIfAbsent(titles.getTeamName(team), name -> new TreeMap<>());
+            for (int i = 0; i < runs[team].length; i += 2) {
+                decades.merge(runs[team][i], runs[team][i + 1], Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Promedio de goles del máximo goleador de los títulos de cada época
+     * @param eraYears Duración de cada época en años (ej: 10 para décadas)
+     * @return Año de inicio de la época -> promedio de goles, ordenado por época;
+     *         solo aparecen las épocas con algún título
+     */
+    public Map<Integer, Double> averageGoalsPerEra(int eraYears) {
+        if (eraYears <= 0) {
+            throw new IllegalArgumentException("Duración de época no válida: " + eraYears);
+        }
+
+        Map<Integer, Double> result = new LinkedHashMap<>();
+        int rows = titles.getRowCount();
+        if (rows == 0) {
+            return result;
+        }
+
+        IntSummaryStatistics yearRange = range(rows).map(titles::year).summaryStatistics();
+        int firstEra = Math.floorDiv(yearRange.getMin(), eraYears);
+        int eras = Math.floorDiv(yearRange.getMax(), eraYears) - firstEra + 1;
+
+        Accumulator totals = scan(rows, eras,
+                row -> Math.floorDiv(titles.year(row), eraYears) - firstEra,
+                titles::goals);
+
+        for (int era = 0; era < eras; era++) {
+            if (totals.counts[era] > 0) {
+                result.put((firstEra + era) * eraYears, (double) totals.sums[era] / totals.counts[era]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Número de eliminaciones ante cada rival
+     * @return Rival -> eliminaciones, de más a menos eliminaciones (con empate, por nombre)
+     */
+    public Map<String, Integer> eliminationsPerOpponent() {
+        int opponents = eliminations.getOpponents().size();
+        Accumulator totals = scan(eliminations.getRowCount(), opponents, eliminations::opponentCode, null);
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code : opponentsByCount(totals.counts)) {
+            result.put(eliminations.getOpponents().decode(code), (int) totals.counts[code]);
+        }
+        return result;
+    }
+
+    /**
+     * Número de eliminaciones en cada fase
+     * @return Fase -> eliminaciones, de la fase más avanzada a la menos avanzada;
+     *         solo aparecen las fases con alguna eliminación
+     */
+    public Map<Phase, Integer> eliminationsPerPhase() {
+        Accumulator totals = scan(eliminations.getRowCount(), PHASES.length, eliminations::phaseOrdinal, null);
+
+        Map<Phase, Integer> result = new EnumMap<>(Phase.class);
+        for (Phase phase : PHASES) {
+            if (totals.counts[phase.ordinal()] > 0) {
+                result.put(phase, (int) totals.counts[phase.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Número de eliminaciones ante cada rival en cada fase
+     * @return Rival -> (fase -> eliminaciones), con los rivales de más a menos eliminaciones
+     */
+    public Map<String, Map<Phase, Integer>> eliminationsPerOpponentAndPhase() {
+        int opponents = eliminations.getOpponents().size();
+        Accumulator totals = scan(eliminations.getRowCount(), opponents * PHASES.length,
+                row -> eliminations.opponentCode(row) * PHASES.length + eliminations.phaseOrdinal(row), null);
+
+        long[] perOpponent = new long[opponents];
+        for (int code = 0; code < opponents; code++) {
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                perOpponent[code] += totals.counts[code * PHASES.length + phase];
+            }
+        }
+
+        Map<String, Map<Phase, Integer>> result = new LinkedHashMap<>();
+        for (int code : opponentsByCount(perOpponent)) {
+            Map<Phase, Integer> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : PHASES) {
+                long count = totals.counts[code * PHASES.length + phase.ordinal()];
+                if (count > 0) {
+                    phases.put(phase, (int) count);
+                }
+            }
+            result.put(eliminations.getOpponents().decode(code), phases);
+        }
+        return result;
+    }
+
+    /**
+     * Sequías más largas: para cada equipo con al menos dos títulos, el mayor
+     * intervalo entre dos títulos consecutivos
+     * @param limit Número máximo de sequías a devolver
+     * @return Las sequías, de la más larga a la más corta (con empate, la más antigua primero)
+     */
+    public List<Drought> longestDroughts(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Equipo y sequía más larga de cada uno, empaquetados en un long: equipo << 32 | fila de inicio
+        long[] candidates = range(titles.getTeamCount()).mapToLong(team -> {
+            int start = titles.teamStart(team);
+            int end = titles.teamStart(team + 1);
+            int bestRow = -1;
+            int bestGap = 0;
+            for (int row = start + 1; row < end; row++) {
+                int gap = titles.year(row) - titles.year(row - 1);
+                if (gap > bestGap) {
+                    bestGap = gap;
+                    bestRow = row - 1;
+                }
+            }
+            return bestRow < 0 ? -1L : ((long) team << 32) | bestRow;
+        }).filter(candidate -> candidate >= 0).toArray();
+
+        Comparator<Drought> order = Comparator.comparingInt(Drought::getYears).reversed()
+                .thenComparingInt(Drought::getFromYear)
+                .thenComparing(Drought::getTeamName);
+
+        List<Drought> droughts = new ArrayList<>(candidates.length);
+        for (long candidate : candidates) {
+            int row = (int) candidate;
+            droughts.add(new Drought(titles.getTeamName((int) (candidate >>> 32)),
+                    titles.year(row), titles.year(row + 1)));
+        }
+        droughts.sort(order);
+        return droughts.size() > limit ? new ArrayList<>(droughts.subList(0, limit)) : droughts;
+    }
+
+    /**
+     * Recorre las filas sumando cuántas hay por clave y, opcionalmente, un
+     * valor por clave. Con muchas filas se reparten en tramos que se procesan
+     * en paralelo, cada uno con sus propios acumuladores.
+     * @param rows Número de filas
+     * @param keys Número de claves distintas (las claves van de 0 a keys - 1)
+     * @param keyOf Clave de una fila; las claves negativas se ignoran
+     * @param valueOf Valor a sumar de una fila, o null para solo contar
+     */
+    private static Accumulator scan(int rows, int keys, IntUnaryOperator keyOf, IntUnaryOperator valueOf) {
+        return scan(rows, keys, keyOf, valueOf,
+                Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), rows / PARALLEL_THRESHOLD)));
+    }
+
+    /**
+     * Recorre las filas en un número dado de tramos; el número de tramos
+     * depende de los procesadores disponibles, así que las pruebas lo fijan
+     * con este método para comprobar el reparto y la suma de los parciales
+     * @param chunkCount Número de tramos (al menos 1)
+     */
+    static Accumulator scan(int rows, int keys, IntUnaryOperator keyOf, IntUnaryOperator valueOf, int chunkCount) {
+        IntStream parts = IntStream.range(0, chunkCount);
+        if (chunkCount > 1) {
+            parts = parts.parallel();
+        }
+
+        return parts.mapToObj(chunk -> {
+            int from = (int) ((long) rows * chunk / chunkCount);
+            int to = (int) ((long) rows * (chunk + 1) / chunkCount);
+            Accumulator partial = new Accumulator(keys, valueOf != null);
+            for (int row = from; row < to; row++) {
+                int key = keyOf.applyAsInt(row);
+                if (key >= 0) {
+                    partial.counts[key]++;
+                    if (valueOf != null) {
+                        partial.sums[key] += valueOf.applyAsInt(row);
+                    }
+                }
+            }
+            return partial;
+        }).reduce(Accumulator::merge).orElseGet(() -> new Accumulator(keys, valueOf != null));
+    }
+
+    /**
+     * Secuencia de posiciones, paralela si hay suficientes
+     */
+    private static IntStream range(int count) {
+        IntStream positions = IntStream.range(0, count);
+        return count >= PARALLEL_THRESHOLD ? positions.parallel() : positions;
+    }
+
+    /**
+     * Códigos de los rivales con alguna eliminación, de más a menos (con empate, por nombre)
+     */
+    private List<Integer> opponentsByCount(long[] counts) {
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort((a, b) -> counts[a] != counts[b]
+                ? Long.compare(counts[b], counts[a])
+                : compareNames(eliminations.getOpponents().decode(a), eliminations.getOpponents().decode(b)));
+        return codes;
+    }
+
+    private static int compareNames(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return a.compareToIgnoreCase(b);
+    }
+
+    private static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    /**
+     * Cuentas y sumas por clave de un tramo de filas
+     */
+    static final class Accumulator {
+        final long[] counts;
+        final long[] sums;
+
+        Accumulator(int keys, boolean withSums) {
+            this.counts = new long[keys];
+            this.sums = withSums ? new long[keys] : null;
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int key = 0; key < counts.length; key++) {
+                counts[key] += other.counts[key];
+                if (sums != null) {
+                    sums[key] += other.sums[key];
+                }
+            }
+            return this;
+        }
+    }
+}
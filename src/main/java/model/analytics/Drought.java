@@ -0,0 +1,50 @@
+package model.analytics;
+
+/**
+ * Sequía de un equipo: el intervalo entre dos títulos consecutivos
+ */
+public class Drought {
+    private final String teamName;
+    private final int fromYear;
+    private final int toYear;
+
+    /**
+     * Constructor de una sequía
+     * @param teamName Nombre del equipo
+     * @param fromYear Año del título que la inicia
+     * @param toYear Año del título que la termina
+     */
+    public Drought(String teamName, int fromYear, int toYear) {
+        this.teamName = teamName;
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public int getFromYear() {
+        return fromYear;
+    }
+
+    public int getToYear() {
+        return toYear;
+    }
+
+    /**
+     * Obtiene la duración de la sequía en años
+     */
+    public int getYears() {
+        return toYear - fromYear;
+    }
+
+    @Override
+    public String toString() {
+        return "Drought{" +
+                "teamName='" + teamName + '\'' +
+                ", fromYear=" + fromYear +
+                ", toYear=" + toYear +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package model.analytics;
+
+import model.data.Elimination;
+import model.data.Phase;
+import model.structures.StringDictionary;
+
+import java.util.Arrays;
+
+/**
+ * Eliminaciones en columnas de enteros: una fila por eliminación, con el año
+ * de inicio de la temporada, la fase resuelta (su ordinal en {@link Phase})
+ * y el código del rival en un diccionario. La tabla es una copia: no cambia
+ * si cambian las eliminaciones de las que se construyó.
+ */
+public class EliminationsTable {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final StringDictionary opponents;
+    // Año de inicio de la temporada, o Integer.MIN_VALUE si no se reconoce
+    private final int[] seasonStarts;
+    private final byte[] phases;
+    private final int[] opponentCodes;
+
+    private EliminationsTable(StringDictionary opponents, int[] seasonStarts, byte[] phases, int[] opponentCodes) {
+        this.opponents = opponents;
+        this.seasonStarts = seasonStarts;
+        this.phases = phases;
+        this.opponentCodes = opponentCodes;
+    }
+
+    /**
+     * Construye la tabla a partir de las eliminaciones
+     * @param eliminations Eliminaciones a incluir
+     * @return La tabla con una fila por eliminación
+     */
+    public static EliminationsTable from(Iterable<Elimination> eliminations) {
+        StringDictionary opponents = new StringDictionary();
+        int[] seasonStarts = new int[64];
+        byte[] phases = new byte[64];
+        int[] opponentCodes = new int[64];
+        int rows = 0;
+
+        for (Elimination elimination : eliminations) {
+            if (rows == seasonStarts.length) {
+                seasonStarts = Arrays.copyOf(seasonStarts, rows * 2);
+                phases = Arrays.copyOf(phases, rows * 2);
+                opponentCodes = Arrays.copyOf(opponentCodes, rows * 2);
+            }
+            seasonStarts[rows] = elimination.getSeasonStartYear();
+            phases[rows] = (byte) elimination.getResolvedPhase().ordinal();
+            opponentCodes[rows] = opponents.encode(elimination.getOpponent());
+            rows++;
+        }
+
+        return new EliminationsTable(opponents,
+                Arrays.copyOf(seasonStarts, rows),
+                Arrays.copyOf(phases, rows),
+                Arrays.copyOf(opponentCodes, rows));
+    }
+
+    /**
+     * Obtiene el número de filas (eliminaciones)
+     */
+    public int getRowCount() {
+        return seasonStarts.length;
+    }
+
+    /**
+     * Obtiene el diccionario de rivales
+     */
+    public StringDictionary getOpponents() {
+        return opponents;
+    }
+
+    /**
+     * Obtiene el año de inicio de la temporada de una fila
+     */
+    public int seasonStart(int row) {
+        return seasonStarts[row];
+    }
+
+    /**
+     * Obtiene el ordinal de la fase de una fila
+     */
+    public int phaseOrdinal(int row) {
+        return phases[row];
+    }
+
+    /**
+     * Obtiene la fase de una fila
+     */
+    public Phase phase(int row) {
+        return PHASES[phases[row]];
+    }
+
+    /**
+     * Obtiene el código del rival de una fila
+     */
+    public int opponentCode(int row) {
+        return opponentCodes[row];
+    }
+}
@@ -0,0 +1,136 @@
+package model.analytics;
+
+import model.data.ChampionsTeam;
+import model.structures.StringDictionary;
+
+import java.util.Arrays;
+
+/**
+ * Títulos de los equipos en columnas de enteros: una fila por título, con
+ * el código del equipo, el año y los goles del máximo goleador.
+ *
+ * Las filas de cada equipo son contiguas y están ordenadas por año; el
+ * equipo de la posición t ocupa las filas [teamStart(t), teamStart(t + 1)).
+ * Los nombres se codifican con un diccionario, de modo que los equipos con
+ * el mismo nombre comparten código. La tabla es una copia: no cambia si
+ * cambian los equipos de los que se construyó.
+ */
+public class TitlesTable {
+
+    private final StringDictionary teamNames;
+    // Código del nombre de cada equipo, por posición
+    private final int[] teamCodes;
+    // Primera fila de cada equipo; la última posición es el total de filas
+    private final int[] teamStarts;
+    private final int[] years;
+    private final int[] goals;
+
+    private TitlesTable(StringDictionary teamNames, int[] teamCodes, int[] teamStarts, int[] years, int[] goals) {
+        this.teamNames = teamNames;
+        this.teamCodes = teamCodes;
+        this.teamStarts = teamStarts;
+        this.years = years;
+        this.goals = goals;
+    }
+
+    /**
+     * Construye la tabla a partir de los equipos
+     * @param teams Equipos en el orden en que se numerarán
+     * @return La tabla con los títulos de todos los equipos
+     */
+    public static TitlesTable from(Iterable<ChampionsTeam> teams) {
+        StringDictionary names = new StringDictionary();
+        int[] codes = new int[16];
+        int[] starts = new int[17];
+        int[] years = new int[64];
+        int[] goals = new int[64];
+        int teamCount = 0;
+        int rows = 0;
+
+        for (ChampionsTeam team : teams) {
+            if (teamCount == codes.length) {
+                codes = Arrays.copyOf(codes, teamCount * 2);
+                starts = Arrays.copyOf(starts, teamCount * 2 + 1);
+            }
+            codes[teamCount] = names.encode(team.getName());
+
+            // Los títulos del equipo ya están ordenados por año
+            int count = team.getTitleCount();
+            if (rows + count > years.length) {
+                int capacity = Math.max(rows + count, years.length * 2);
+                years = Arrays.copyOf(years, capacity);
+                goals = Arrays.copyOf(goals, capacity);
+            }
+            for (int i = 0; i < count; i++) {
+                years[rows] = team.getTitleYear(i);
+                goals[rows] = team.getTitleGoals(i);
+                rows++;
+            }
+
+            teamCount++;
+            starts[teamCount] = rows;
+        }
+
+        return new TitlesTable(names,
+                Arrays.copyOf(codes, teamCount),
+                Arrays.copyOf(starts, teamCount + 1),
+                Arrays.copyOf(years, rows),
+                Arrays.copyOf(goals, rows));
+    }
+
+    /**
+     * Obtiene el número de equipos
+     */
+    public int getTeamCount() {
+        return teamCodes.length;
+    }
+
+    /**
+     * Obtiene el número de filas (títulos)
+     */
+    public int getRowCount() {
+        return years.length;
+    }
+
+    /**
+     * Obtiene el nombre del equipo de una posición
+     */
+    public String getTeamName(int team) {
+        return teamNames.decode(teamCodes[team]);
+    }
+
+    /**
+     * Obtiene el código del nombre del equipo de una posición
+     */
+    public int getTeamCode(int team) {
+        return teamCodes[team];
+    }
+
+    /**
+     * Obtiene el diccionario de nombres de equipo
+     */
+    public StringDictionary getTeamNames() {
+        return teamNames;
+    }
+
+    /**
+     * Obtiene la primera fila de un equipo; teamStart(getTeamCount()) es el total de filas
+     */
+    public int teamStart(int team) {
+        return teamStarts[team];
+    }
+
+    /**
+     * Obtiene el año del título de una fila
+     */
+    public int year(int row) {
+        return years[row];
+    }
+
+    /**
+     * Obtiene los goles del máximo goleador del título de una fila
+     */
+    public int goals(int row) {
+        return goals[row];
+    }
+}
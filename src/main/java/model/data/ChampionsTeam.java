@@ -1,15 +1,33 @@
 package model.data;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
- * Clase que representa un equipo campeón de la Champions League
+ * Clase que representa un equipo campeón de la Champions League.
+ *
+ * Los títulos se guardan empaquetados en un arreglo de long (año en los 32
+ * bits altos y goles en los bajos) ordenado por año, en lugar de como una
+ * lista de objetos Title. A diferencia de la lista anterior, los títulos no
+ * quedan en el orden en que se agregaron sino ordenados por año; los del mismo
+ * año sí se mantienen en el orden en que se agregaron.
+ *
+ * getTitles() ofrece una vista de solo lectura sobre ese arreglo: cada get
+ * crea un Title con los valores de ese momento, así que sus setters no
+ * modifican el equipo. Los títulos se modifican con addTitle, setTitle,
+ * removeTitle y setTitles.
  */
 public class ChampionsTeam {
     private String name;
-    private List<Title> titles;
+    // Títulos empaquetados y ordenados por año; solo las primeras titleCount posiciones son válidas
+    private long[] titleData;
+    private int titleCount;
+    private final TitleList titles;
+    // Orden de llegada al modelo; no se guarda en el archivo (ver ChampionsTitlesModel)
+    private long arrivalOrder;
 
     /**
      * Constructor para crear un nuevo equipo
@@ -17,7 +35,9 @@ public class ChampionsTeam {
      */
     public ChampionsTeam(String name) {
         this.name = name;
-        this.titles = new ArrayList<>();
+        this.titleData = new long[0];
+        this.titleCount = 0;
+        this.titles = new TitleList();
     }
 
     /**
@@ -26,8 +46,20 @@ public class ChampionsTeam {
      * @param titles Lista de títulos ganados
      */
     public ChampionsTeam(String name, List<Title> titles) {
-        this.name = name;
-        this.titles = titles != null ? titles : new ArrayList<>();
+        this(name);
+        setTitles(titles);
+    }
+
+    /**
+     * Constructor de copia: el nuevo equipo tiene su propia copia de los títulos
+     * @param other Equipo a copiar
+     */
+    public ChampionsTeam(ChampionsTeam other) {
+        this.name = other.name;
+        this.titleData = Arrays.copyOf(other.titleData, other.titleCount);
+        this.titleCount = other.titleCount;
+        this.titles = new TitleList();
+        this.arrivalOrder = other.arrivalOrder;
     }
 
     /**
@@ -47,7 +79,26 @@ public class ChampionsTeam {
     }
 
     /**
-     * Obtiene la lista de títulos del equipo
+     * Obtiene el orden de llegada del equipo al modelo, que distingue a los
+     * equipos con el mismo nombre
+     * @return Orden de llegada (menor cuanto antes llegó)
+     */
+    public long getArrivalOrder() {
+        return arrivalOrder;
+    }
+
+    /**
+     * Establece el orden de llegada del equipo al modelo
+     * @param arrivalOrder Orden de llegada
+     */
+    public void setArrivalOrder(long arrivalOrder) {
+        this.arrivalOrder = arrivalOrder;
+    }
+
+    /**
+     * Obtiene la lista de títulos del equipo, ordenada por año. La lista es de
+     * solo lectura, refleja siempre los títulos actuales del equipo y cada
+     * elemento es una copia
      * @return Lista de títulos
      */
     public List<Title> getTitles() {
@@ -59,7 +110,22 @@ public class ChampionsTeam {
      * @param titles Nueva lista de títulos
      */
     public void setTitles(List<Title> titles) {
-        this.titles = titles != null ? titles : new ArrayList<>();
+        int count = titles != null ? titles.size() : 0;
+        long[] data = new long[count];
+        int size = 0;
+        if (titles != null) {
+            for (Title title : titles) {
+                if (title != null) {
+                    data[size++] = pack(title.getYear(), title.getTopScorerGoals());
+                }
+            }
+        }
+
+        // Orden estable por año: la ordenación de long desempataría por goles
+        sortByYear(data, size);
+        this.titleData = data;
+        this.titleCount = size;
+        this.titles.changed();
     }
 
     /**
@@ -68,17 +134,59 @@ public class ChampionsTeam {
      */
     public void addTitle(Title title) {
         if (title != null) {
-            titles.add(title);
+            addTitle(title.getYear(), title.getTopScorerGoals());
         }
     }
 
+    /**
+     * Agrega un nuevo título sin crear un objeto Title
+     * @param year Año en que se ganó el título
+     * @param topScorerGoals Número de goles del máximo goleador
+     */
+    public void addTitle(int year, int topScorerGoals) {
+        insert(pack(year, topScorerGoals));
+        titles.changed();
+    }
+
+    /**
+     * Reemplaza un título; el nuevo se coloca según su año
+     * @param index Posición del título (en orden de año)
+     * @param title Nuevo título
+     * @return El título que había en esa posición
+     */
+    public Title setTitle(int index, Title title) {
+        Title previous = titles.get(index);
+        removeAt(index);
+        insert(pack(title.getYear(), title.getTopScorerGoals()));
+        titles.changed();
+        return previous;
+    }
+
+    /**
+     * Elimina el título de una posición
+     * @param index Posición del título (en orden de año)
+     * @return El título eliminado
+     */
+    public Title removeTitle(int index) {
+        Title previous = titles.get(index);
+        removeAt(index);
+        titles.changed();
+        return previous;
+    }
+
     /**
      * Elimina un título específico de la lista
-     * @param title Título a eliminar
+     * @param title Título a eliminar (se busca por año)
      * @return true si se eliminó con éxito, false en caso contrario
      */
     public boolean removeTitle(Title title) {
-        return titles.remove(title);
+        int index = title != null ? indexOfTitleYear(title.getYear()) : -1;
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        titles.changed();
+        return true;
     }
 
     /**
@@ -86,7 +194,27 @@ public class ChampionsTeam {
      * @return Cantidad de títulos
      */
     public int getTitleCount() {
-        return titles.size();
+        return titleCount;
+    }
+
+    /**
+     * Obtiene el año de un título sin crear un objeto Title
+     * @param index Posición del título (en orden de año)
+     * @return Año del título
+     */
+    public int getTitleYear(int index) {
+        checkIndex(index);
+        return yearOf(titleData[index]);
+    }
+
+    /**
+     * Obtiene los goles del máximo goleador de un título sin crear un objeto Title
+     * @param index Posición del título (en orden de año)
+     * @return Goles del máximo goleador
+     */
+    public int getTitleGoals(int index) {
+        checkIndex(index);
+        return goalsOf(titleData[index]);
     }
 
     /**
@@ -94,35 +222,163 @@ public class ChampionsTeam {
      * @return Año del título más reciente, o 0 si no tiene títulos
      */
     public int getLatestTitleYear() {
-        int latestYear = 0;
-
-        for (Title title : titles) {
-            if (title.getYear() > latestYear) {
-                latestYear = title.getYear();
-            }
-        }
+        return titleCount == 0 ? 0 : Math.max(0, yearOf(titleData[titleCount - 1]));
+    }
 
-        return latestYear;
+    /**
+     * Obtiene la posición del título más reciente. Si hay varios del mismo año,
+     * es la del primero que se agregó
+     * @return Posición del título más reciente, o -1 si no tiene títulos
+     */
+    public int getLatestTitleIndex() {
+        return titleCount == 0 ? -1 : firstIndexAtOrAfter(yearOf(titleData[titleCount - 1]));
     }
 
     /**
-     * Obtiene el título más reciente
+     * Obtiene el título más reciente. Si hay varios del mismo año, devuelve el
+     * primero que se agregó
      * @return El título más reciente, o null si no tiene títulos
      */
     public Title getLatestTitle() {
-        if (titles.isEmpty()) {
-            return null;
+        int index = getLatestTitleIndex();
+        return index < 0 ? null : titles.get(index);
+    }
+
+    /**
+     * Busca el título de un año mediante búsqueda binaria
+     * @param year Año del título
+     * @return El título de ese año, o null si no lo ganó
+     */
+    public Title findTitle(int year) {
+        int index = indexOfTitleYear(year);
+        return index >= 0 ? titles.get(index) : null;
+    }
+
+    /**
+     * Busca la posición del primer título de un año mediante búsqueda binaria
+     * @param year Año del título
+     * @return Posición del título, o un número negativo si no lo ganó
+     */
+    public int indexOfTitleYear(int year) {
+        int index = firstIndexAtOrAfter(year);
+        return index < titleCount && yearOf(titleData[index]) == year ? index : -1;
+    }
+
+    /**
+     * Posición del primer título con año mayor o igual al indicado
+     */
+    private int firstIndexAtOrAfter(int year) {
+        int low = 0;
+        int high = titleCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (yearOf(titleData[mid]) < year) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserta un título empaquetado detrás de los del mismo año
+     */
+    private void insert(long packed) {
+        int year = yearOf(packed);
+        // Lo habitual es agregar el título más reciente: va al final
+        int index = titleCount == 0 || yearOf(titleData[titleCount - 1]) <= year
+                ? titleCount
+                : firstIndexAtOrAfter(year + 1);
+
+        if (titleCount == titleData.length) {
+            titleData = Arrays.copyOf(titleData, Math.max(4, titleCount * 2));
+        }
+        System.arraycopy(titleData, index, titleData, index + 1, titleCount - index);
+        titleData[index] = packed;
+        titleCount++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(titleData, index + 1, titleData, index, titleCount - index - 1);
+        titleCount--;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= titleCount) {
+            throw new IndexOutOfBoundsException("Índice: " + index + ", Tamaño: " + titleCount);
         }
+    }
+
+    private static long pack(int year, int topScorerGoals) {
+        return ((long) year << 32) | (topScorerGoals & 0xFFFFFFFFL);
+    }
 
-        Title latest = titles.get(0);
+    private static int yearOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int goalsOf(long packed) {
+        return (int) packed;
+    }
 
-        for (Title title : titles) {
-            if (title.getYear() > latest.getYear()) {
-                latest = title;
+    /**
+     * Ordena por año por inserción, que es lineal cuando los títulos ya
+     * vienen en orden (lo habitual en los archivos)
+     */
+    private static void sortByYear(long[] data, int size) {
+        for (int i = 1; i < size; i++) {
+            long value = data[i];
+            int year = yearOf(value);
+            int j = i - 1;
+            if (yearOf(data[j]) <= year) {
+                continue;
+            }
+            // Fuera de orden: buscar su posición por búsqueda binaria y desplazar
+            int low = 0;
+            int high = j;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (yearOf(data[mid]) <= year) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
             }
+            System.arraycopy(data, low, data, low + 1, i - low);
+            data[low] = value;
+        }
+    }
+
+    /**
+     * Vista de solo lectura sobre los títulos empaquetados
+     */
+    private final class TitleList extends AbstractList<Title> implements RandomAccess {
+
+        void changed() {
+            modCount++;
+        }
+
+        @Override
+        public Title get(int index) {
+            checkIndex(index);
+            return new Title(yearOf(titleData[index]), goalsOf(titleData[index]));
         }
 
-        return latest;
+        @Override
+        public int size() {
+            return titleCount;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Title ? indexOfTitleYear(((Title) o).getYear()) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
     }
 
     @Override
@@ -142,7 +398,7 @@ public class ChampionsTeam {
     public String toString() {
         return "ChampionsTeam{" +
                 "name='" + name + '\'' +
-                ", titles=" + titles.size() +
+                ", titles=" + titleCount +
                 '}';
     }
-}
\ No newline at end of file
+}
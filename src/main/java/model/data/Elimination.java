@@ -1,11 +1,21 @@
 package model.data;
 
-import java.util.Objects;
+import model.structures.StringDictionary;
 
 /**
  * Clase que representa una eliminación del Real Madrid en la Champions League.
+ *
+ * La temporada, la fase y el rival se repiten mucho entre eliminaciones, así
+ * que se internan en diccionarios compartidos: los valores iguales comparten
+ * una sola instancia y tienen el mismo código entero, que es lo que comparan
+ * equals y hashCode.
  */
 public class Elimination {
+    // Diccionarios compartidos por todas las eliminaciones
+    private static final StringDictionary SEASONS = new StringDictionary();
+    private static final StringDictionary PHASES = new StringDictionary();
+    private static final StringDictionary OPPONENTS = new StringDictionary();
+
     private String season;         // Temporada (ej: "2022-2023")
     private String phase;          // Fase (ej: "Semifinal", "Octavos de final")
     private String opponent;       // Equipo rival
@@ -14,8 +24,26 @@ public class Elimination {
     private String description;    // Descripción del evento
     private String imagePath;      // Ruta a la imagen representativa
 
+    // Clave numérica de la temporada, calculada una vez por valor de "season"
+    // (no se serializa; Gson asigna los campos sin pasar por los setters)
+    private transient String parsedSeason;
+    private transient int seasonStartYear = Integer.MIN_VALUE;
+    private transient int seasonEndYear = Integer.MIN_VALUE;
+    private transient int seasonCode;
+    // Fase resuelta, calculada una vez por valor de "phase" y versión de la tabla de alias
+    private transient String parsedPhase;
+    private transient Phase resolvedPhase;
+    private transient int phaseAliasVersion;
+    private transient int phaseCode;
+    // Rival internado y su código
+    private transient String parsedOpponent;
+    private transient int opponentCode;
+
     // Constructor vacío para serialización JSON
     public Elimination() {
+        updateSeasonKey();
+        updatePhase();
+        updateOpponent();
     }
 
     // Constructor completo
@@ -24,6 +52,9 @@ public class Elimination {
         this.season = season;
         this.phase = phase;
         this.opponent = opponent;
+        updateSeasonKey();
+        updatePhase();
+        updateOpponent();
         this.resultHome = resultHome;
         this.resultAway = resultAway;
         this.description = description;
@@ -37,6 +68,30 @@ public class Elimination {
 
     public void setSeason(String season) {
         this.season = season;
+        updateSeasonKey();
+    }
+
+    /**
+     * Obtiene el año de inicio de la temporada (ej: 2022 para "2022-2023")
+     * @return Año de inicio, o Integer.MIN_VALUE si la temporada no tiene ese formato
+     */
+    public int getSeasonStartYear() {
+        if (parsedSeason != season) {
+            updateSeasonKey();
+        }
+        return seasonStartYear;
+    }
+
+    /**
+     * Obtiene el año de fin de la temporada (ej: 2023 para "2022-2023"); si
+     * la temporada es un solo año, coincide con el de inicio
+     * @return Año de fin, o Integer.MIN_VALUE si la temporada no tiene ese formato
+     */
+    public int getSeasonEndYear() {
+        if (parsedSeason != season) {
+            updateSeasonKey();
+        }
+        return seasonEndYear;
     }
 
     public String getPhase() {
@@ -45,6 +100,18 @@ public class Elimination {
 
     public void setPhase(String phase) {
         this.phase = phase;
+        updatePhase();
+    }
+
+    /**
+     * Obtiene la fase reconocida a partir del texto de la fase
+     * @return La fase, o Phase.UNKNOWN si el texto no se reconoce
+     */
+    public Phase getResolvedPhase() {
+        if (parsedPhase != phase || resolvedPhase == null || phaseAliasVersion != Phase.aliasVersion()) {
+            updatePhase();
+        }
+        return resolvedPhase;
     }
 
     public String getOpponent() {
@@ -53,6 +120,59 @@ public class Elimination {
 
     public void setOpponent(String opponent) {
         this.opponent = opponent;
+        updateOpponent();
+    }
+
+    /**
+     * Obtiene el código de la temporada en el diccionario de temporadas; dos
+     * eliminaciones tienen el mismo código si y solo si su temporada es igual
+     */
+    public int getSeasonCode() {
+        if (parsedSeason != season) {
+            updateSeasonKey();
+        }
+        return seasonCode;
+    }
+
+    /**
+     * Obtiene el código del texto de la fase en el diccionario de fases
+     */
+    public int getPhaseCode() {
+        if (parsedPhase != phase) {
+            updatePhase();
+        }
+        return phaseCode;
+    }
+
+    /**
+     * Obtiene el código del rival en el diccionario de rivales
+     */
+    public int getOpponentCode() {
+        if (parsedOpponent != opponent) {
+            updateOpponent();
+        }
+        return opponentCode;
+    }
+
+    /**
+     * Obtiene la temporada de un código devuelto por getSeasonCode
+     */
+    public static String seasonForCode(int code) {
+        return SEASONS.decode(code);
+    }
+
+    /**
+     * Obtiene el texto de la fase de un código devuelto por getPhaseCode
+     */
+    public static String phaseForCode(int code) {
+        return PHASES.decode(code);
+    }
+
+    /**
+     * Obtiene el rival de un código devuelto por getOpponentCode
+     */
+    public static String opponentForCode(int code) {
+        return OPPONENTS.decode(code);
     }
 
     public String getResultHome() {
@@ -87,6 +207,75 @@ public class Elimination {
         this.imagePath = imagePath;
     }
 
+    private void updatePhase() {
+        phaseCode = PHASES.encode(phase);
+        phase = PHASES.decode(phaseCode);
+        parsedPhase = phase;
+        phaseAliasVersion = Phase.aliasVersion();
+        resolvedPhase = Phase.resolve(phase);
+    }
+
+    private void updateOpponent() {
+        opponentCode = OPPONENTS.encode(opponent);
+        opponent = OPPONENTS.decode(opponentCode);
+        parsedOpponent = opponent;
+    }
+
+    /**
+     * Interna la temporada y calcula su clave numérica sin crear objetos intermedios
+     */
+    private void updateSeasonKey() {
+        seasonCode = SEASONS.encode(season);
+        season = SEASONS.decode(seasonCode);
+        parsedSeason = season;
+        seasonStartYear = Integer.MIN_VALUE;
+        seasonEndYear = Integer.MIN_VALUE;
+
+        if (season == null) {
+            return;
+        }
+
+        int separator = season.indexOf('-');
+        int start = parseYear(season, 0, separator < 0 ? season.length() : separator);
+        if (start == Integer.MIN_VALUE) {
+            return;
+        }
+
+        seasonStartYear = start;
+        if (separator < 0) {
+            seasonEndYear = start;
+        } else {
+            int end = parseYear(season, separator + 1, season.length());
+            seasonEndYear = end == Integer.MIN_VALUE ? start : end;
+        }
+    }
+
+    /**
+     * Lee un número entre dos posiciones, ignorando los espacios de los extremos
+     * @return El número, o Integer.MIN_VALUE si el texto no es un número
+     */
+    private static int parseYear(String text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        if (from == to || to - from > 9) {
+            return Integer.MIN_VALUE;
+        }
+
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return Integer.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     @Override
     public String toString() {
         return "Elimination{" +
@@ -109,13 +298,13 @@ public class Elimination {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Elimination that = (Elimination) o;
-        return Objects.equals(season, that.season) &&
-                Objects.equals(phase, that.phase) &&
-                Objects.equals(opponent, that.opponent);
+        return getSeasonCode() == that.getSeasonCode() &&
+                getPhaseCode() == that.getPhaseCode() &&
+                getOpponentCode() == that.getOpponentCode();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(season, phase, opponent);
+        return 31 * (31 * getSeasonCode() + getPhaseCode()) + getOpponentCode();
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package model.data;
+
+import utils.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fases de la competición, de la más avanzada a la menos avanzada.
+ *
+ * El texto libre de la fase de una eliminación se resuelve a una de estas
+ * constantes mediante una tabla de alias: primero por coincidencia exacta
+ * (sin distinguir mayúsculas) y, si no la hay, por el alias más largo que
+ * contenga el texto. Cada texto distinto se resuelve una sola vez. Además de
+ * los nombres en español, se cargan los alias de "data/phase_aliases.properties"
+ * (alias=CONSTANTE) y se pueden añadir más con {@link #registerAlias}.
+ */
+public enum Phase {
+    FINAL("Final", 10),
+    SEMIFINAL("Semifinal", 9),
+    QUARTER_FINALS("Cuartos de final", 8),
+    ROUND_OF_16("Octavos de final", 7),
+    ROUND_OF_32("Dieciseisavos de final", 6),
+    GROUP_STAGE("Fase de grupos", 5),
+    PRELIMINARY_ROUND("Ronda preliminar", 4),
+    QUALIFYING("Clasificación", 3),
+    UNKNOWN("Desconocida", 0);
+
+    private static final String ALIASES_RESOURCE = "/data/phase_aliases.properties";
+
+    // Alias en minúsculas -> fase
+    private static final Map<String, Phase> ALIASES = new ConcurrentHashMap<>();
+    // Alias ordenados del más largo al más corto, para las coincidencias parciales
+    private static volatile String[] aliasesByLength = new String[0];
+    // Textos ya resueltos; se vacía al cambiar los alias
+    private static final Map<String, Phase> RESOLVED = new ConcurrentHashMap<>();
+    // Aumenta con cada cambio de los alias, para invalidar las resoluciones guardadas
+    private static volatile int aliasVersion = 0;
+
+    static {
+        for (Phase phase : values()) {
+            if (phase != UNKNOWN) {
+                ALIASES.put(normalize(phase.label), phase);
+            }
+        }
+        loadAliases();
+        rebuildAliasOrder();
+    }
+
+    private final String label;
+    private final int weight;
+
+    Phase(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    /**
+     * Obtiene el nombre en español de la fase
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Obtiene el peso de la fase para ordenar por importancia (mayor = más avanzada)
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Resuelve el texto de una fase
+     * @param phase Texto de la fase (ej: "Semifinal", "octavos de final")
+     * @return La fase correspondiente, o UNKNOWN si no se reconoce
+     */
+    public static Phase resolve(String phase) {
+        if (phase == null) {
+            return UNKNOWN;
+        }
+
+        Phase resolved = RESOLVED.get(phase);
+        if (resolved == null) {
+            resolved = lookup(normalize(phase));
+            RESOLVED.put(phase, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Añade o reemplaza un alias
+     * @param alias Texto que debe reconocerse (no distingue mayúsculas)
+     * @param phase Fase a la que corresponde
+     */
+    public static synchronized void registerAlias(String alias, Phase phase) {
+        if (alias == null || alias.trim().isEmpty() || phase == null) {
+            throw new IllegalArgumentException("Alias de fase no válido: " + alias);
+        }
+
+        ALIASES.put(normalize(alias), phase);
+        rebuildAliasOrder();
+    }
+
+    /**
+     * Versión de la tabla de alias; cambia cada vez que se registra un alias,
+     * de modo que quien guarde una fase resuelta sepa cuándo recalcularla
+     */
+    public static int aliasVersion() {
+        return aliasVersion;
+    }
+
+    private static Phase lookup(String normalized) {
+        Phase exact = ALIASES.get(normalized);
+        if (exact != null) {
+            return exact;
+        }
+
+        // El alias más largo primero: "semifinal" antes que "final"
+        for (String alias : aliasesByLength) {
+            if (normalized.contains(alias)) {
+                return ALIASES.get(alias);
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    private static void rebuildAliasOrder() {
+        List<String> aliases = new ArrayList<>(ALIASES.keySet());
+        aliases.sort((a, b) -> b.length() != a.length() ? b.length() - a.length() : a.compareTo(b));
+        aliasesByLength = aliases.toArray(new String[0]);
+
+        RESOLVED.clear();
+        aliasVersion++;
+    }
+
+    private static void loadAliases() {
+        try (InputStream in = Phase.class.getResourceAsStream(ALIASES_RESOURCE)) {
+            if (in == null) {
+                return;
+            }
+
+            Properties properties = new Properties();
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            for (String alias : properties.stringPropertyNames()) {
+                String name = properties.getProperty(alias).trim();
+                try {
+                    ALIASES.put(normalize(alias), valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    Log.warn("Phase", "Fase desconocida en " + ALIASES_RESOURCE + ": " + name);
+                }
+            }
+        } catch (IOException e) {
+            Log.warn("Phase", "No se pudieron cargar los alias de fases", e);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,8 +2,11 @@ package model.structures;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Implementación de una Lista Circular Doblemente Enlazada genérica.
@@ -12,32 +15,51 @@ import java.util.Objects;
  *
  * @param <T> El tipo de elementos que contendrá la lista
  */
-public class CircularDoublyLinkedList<T> {
+public class CircularDoublyLinkedList<T> implements Iterable<T> {
 
     /**
-     * Clase interna que representa un nodo en la lista
+     * Clase que representa un nodo en la lista.
+     * Se expone como referencia opaca para que otras estructuras (por ejemplo,
+     * índices hash) puedan acceder a un elemento en O(1) sin recorrer la lista.
      */
-    private class Node {
-        T data;
-        Node next;
-        Node prev;
+    public static final class Node<E> {
+        private E data;
+        private Node<E> next;
+        private Node<E> prev;
 
-        Node(T data) {
+        private Node(E data) {
             this.data = data;
             this.next = null;
             this.prev = null;
         }
+
+        /**
+         * Obtiene el elemento almacenado en el nodo
+         * @return Elemento del nodo
+         */
+        public E getData() {
+            return data;
+        }
     }
 
-    private Node head;
+    private Node<T> head;
     private int size;
 
+    /**
+     * Índice de nodos por posición, reconstruido de forma perezosa.
+     * Permite que get(int) sea O(1) mientras la estructura no cambie.
+     */
+    private final ArrayList<Node<T>> nodeIndex;
+    private boolean indexValid;
+
     /**
      * Constructor que inicializa una lista vacía
      */
     public CircularDoublyLinkedList() {
         head = null;
         size = 0;
+        nodeIndex = new ArrayList<>();
+        indexValid = false;
     }
 
     /**
@@ -59,9 +81,10 @@ public class CircularDoublyLinkedList<T> {
     /**
      * Agrega un nuevo elemento al final de la lista
      * @param data Elemento a agregar
+     * @return Nodo que contiene el elemento agregado
      */
-    public void add(T data) {
-        Node newNode = new Node(data);
+    public Node<T> add(T data) {
+        Node<T> newNode = new Node<>(data);
 
         if (isEmpty()) {
             // Si la lista está vacía, el nuevo nodo se apunta a sí mismo
@@ -70,7 +93,7 @@ public class CircularDoublyLinkedList<T> {
             head.prev = head;
         } else {
             // Si la lista no está vacía, insertar al final
-            Node last = head.prev;
+            Node<T> last = head.prev;
 
             newNode.next = head;
             newNode.prev = last;
@@ -79,7 +102,177 @@ public class CircularDoublyLinkedList<T> {
             head.prev = newNode;
         }
 
+        // Agregar al final no desplaza posiciones, el índice sigue siendo válido
+        if (indexValid) {
+            nodeIndex.add(newNode);
+        }
+
         size++;
+        return newNode;
+    }
+
+    /**
+     * Inserta un elemento en una lista que ya está ordenada según el comparador,
+     * manteniendo el orden. La posición se localiza mediante búsqueda binaria
+     * sobre el índice de nodos; en caso de empate el nuevo elemento queda
+     * detrás de los existentes, igual que si se agregara y se reordenara.
+     * @param data Elemento a insertar
+     * @param comparator Comparador con el que está ordenada la lista
+     * @return Nodo que contiene el elemento insertado
+     */
+    public Node<T> insertSorted(T data, Comparator<T> comparator) {
+        if (isEmpty()) {
+            return add(data);
+        }
+
+        if (!indexValid) {
+            rebuildIndex();
+        }
+
+        // Buscar la primera posición cuyo elemento sea estrictamente mayor
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(nodeIndex.get(middle).data, data) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if (low == size) {
+            return add(data); // Va al final, add mantiene el índice
+        }
+
+        Node<T> newNode = new Node<>(data);
+        linkBefore(newNode, nodeIndex.get(low));
+        if (low == 0) {
+            head = newNode;
+        }
+
+        nodeIndex.add(low, newNode);
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Recoloca un elemento cuya clave de ordenamiento ha cambiado, en una lista
+     * que por lo demás está ordenada según el comparador. El nodo se desplaza
+     * comparándolo con sus vecinos, sin reordenar el resto de la lista.
+     * @param data Elemento a recolocar (debe implementar equals correctamente)
+     * @param comparator Comparador con el que está ordenada la lista
+     * @return true si se encontró el elemento, false en caso contrario
+     */
+    public boolean reposition(T data, Comparator<T> comparator) {
+        Node<T> node = findNode(data);
+
+        if (node == null) {
+            return false;
+        }
+
+        reposition(node, comparator);
+        return true;
+    }
+
+    /**
+     * Desplaza un nodo hacia la cabeza o hacia la cola hasta su posición
+     * ordenada. Solo se adelanta a vecinos estrictamente mayores o menores,
+     * por lo que el resultado coincide con un ordenamiento estable completo.
+     * @param node Nodo a recolocar (debe pertenecer a esta lista)
+     * @param comparator Comparador con el que está ordenada la lista
+     */
+    public void reposition(Node<T> node, Comparator<T> comparator) {
+        if (size <= 1) {
+            return;
+        }
+
+        // Intentar mover hacia la cabeza
+        Node<T> cursor = node;
+        while (cursor != head && comparator.compare(cursor.prev.data, node.data) > 0) {
+            cursor = cursor.prev;
+        }
+
+        if (cursor != node) {
+            boolean toFront = cursor == head;
+            unlink(node);
+            linkBefore(node, cursor);
+            if (toFront) {
+                head = node;
+            }
+            invalidateIndex();
+            return;
+        }
+
+        // Intentar mover hacia la cola
+        Node<T> end = head;
+        cursor = node.next;
+        while (cursor != end && comparator.compare(node.data, cursor.data) > 0) {
+            cursor = cursor.next;
+        }
+
+        if (cursor != node.next) {
+            boolean toBack = cursor == end;
+            unlink(node);
+            linkBefore(node, toBack ? head : cursor);
+            invalidateIndex();
+        }
+    }
+
+    /**
+     * Busca el nodo que contiene un elemento
+     * @return El nodo encontrado, o null si no existe
+     */
+    private Node<T> findNode(T data) {
+        return findNode(element -> Objects.equals(element, data));
+    }
+
+    /**
+     * Busca el primer nodo cuyo elemento cumple una condición
+     * @param condition Condición a evaluar sobre cada elemento
+     * @return El nodo encontrado, o null si ninguno cumple la condición
+     */
+    public Node<T> findNode(Predicate<T> condition) {
+        if (isEmpty()) {
+            return null;
+        }
+
+        Node<T> current = head;
+
+        do {
+            if (condition.test(current.data)) {
+                return current;
+            }
+            current = current.next;
+        } while (current != head);
+
+        return null;
+    }
+
+    /**
+     * Desconecta un nodo de sus vecinos sin modificar el tamaño.
+     * Si el nodo es la cabeza, la cabeza pasa al siguiente.
+     */
+    private void unlink(Node<T> node) {
+        if (node == head) {
+            head = node.next;
+        }
+
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+    }
+
+    /**
+     * Conecta un nodo justo antes de otro nodo de la lista
+     */
+    private void linkBefore(Node<T> node, Node<T> successor) {
+        Node<T> predecessor = successor.prev;
+
+        node.prev = predecessor;
+        node.next = successor;
+
+        predecessor.next = node;
+        successor.prev = node;
     }
 
     /**
@@ -92,7 +285,7 @@ public class CircularDoublyLinkedList<T> {
             return false;
         }
 
-        Node current = head;
+        Node<T> current = head;
 
         do {
             if (Objects.equals(current.data, data)) {
@@ -111,36 +304,43 @@ public class CircularDoublyLinkedList<T> {
      * @return true si se eliminó con éxito, false si no se encontró el elemento
      */
     public boolean remove(T data) {
-        if (isEmpty()) {
+        Node<T> node = findNode(data);
+
+        if (node == null) {
             return false;
         }
 
-        Node current = head;
-
-        do {
-            if (Objects.equals(current.data, data)) {
-                // Si es el único nodo de la lista
-                if (size == 1) {
-                    head = null;
-                } else {
-                    // Si es el nodo cabeza, actualizar la referencia
-                    if (current == head) {
-                        head = head.next;
-                    }
+        remove(node);
+        return true;
+    }
 
-                    // Ajustar las referencias de los nodos adyacentes
-                    current.prev.next = current.next;
-                    current.next.prev = current.prev;
-                }
+    /**
+     * Elimina un nodo de la lista en O(1)
+     * @param node Nodo a eliminar (debe pertenecer a esta lista)
+     */
+    public void remove(Node<T> node) {
+        // Si es el único nodo de la lista
+        if (size == 1) {
+            head = null;
+        } else {
+            // Ajustar las referencias de los nodos adyacentes
+            unlink(node);
+        }
 
-                size--;
-                return true;
-            }
+        node.next = null;
+        node.prev = null;
 
-            current = current.next;
-        } while (current != head);
+        size--;
+        invalidateIndex();
+    }
 
-        return false;
+    /**
+     * Reemplaza el elemento almacenado en un nodo, sin cambiar su posición
+     * @param node Nodo a modificar (debe pertenecer a esta lista)
+     * @param data Nuevo elemento
+     */
+    public void set(Node<T> node, T data) {
+        node.data = data;
     }
 
     /**
@@ -153,7 +353,7 @@ public class CircularDoublyLinkedList<T> {
             return false;
         }
 
-        Node current = head;
+        Node<T> current = head;
 
         do {
             if (Objects.equals(current.data, data)) {
@@ -176,13 +376,38 @@ public class CircularDoublyLinkedList<T> {
             throw new IndexOutOfBoundsException("Índice: " + index + ", Tamaño: " + size);
         }
 
-        Node current = head;
+        if (!indexValid) {
+            rebuildIndex();
+        }
 
-        for (int i = 0; i < index; i++) {
-            current = current.next;
+        return nodeIndex.get(index).data;
+    }
+
+    /**
+     * Reconstruye el índice de nodos recorriendo la lista una sola vez
+     */
+    private void rebuildIndex() {
+        nodeIndex.clear();
+        nodeIndex.ensureCapacity(size);
+
+        if (!isEmpty()) {
+            Node<T> current = head;
+
+            do {
+                nodeIndex.add(current);
+                current = current.next;
+            } while (current != head);
         }
 
-        return current.data;
+        indexValid = true;
+    }
+
+    /**
+     * Marca el índice como obsoleto tras un cambio estructural.
+     * Se reconstruirá en el siguiente acceso por posición.
+     */
+    private void invalidateIndex() {
+        indexValid = false;
     }
 
     /**
@@ -196,7 +421,7 @@ public class CircularDoublyLinkedList<T> {
             return result;
         }
 
-        Node current = head;
+        Node<T> current = head;
 
         do {
             result.add(current.data);
@@ -207,7 +432,9 @@ public class CircularDoublyLinkedList<T> {
     }
 
     /**
-     * Ordena la lista utilizando el algoritmo Merge Sort
+     * Ordena la lista utilizando Merge Sort ascendente (bottom-up) sobre los
+     * propios nodos. Los enlaces se reorganizan en el sitio, sin copiar los
+     * elementos ni crear nodos nuevos, y el orden es estable.
      * @param comparator Comparador para definir el criterio de ordenamiento
      */
     public void sort(Comparator<T> comparator) {
@@ -215,66 +442,83 @@ public class CircularDoublyLinkedList<T> {
             return; // Lista vacía o con un solo elemento ya está ordenada
         }
 
-        // Convertir a lista normal para ordenar
-        List<T> listToSort = toList();
-
-        // Aplicar Merge Sort a la lista
-        List<T> sortedList = mergeSort(listToSort, comparator);
-
-        // Reconstruir la lista circular con los elementos ordenados
-        clear();
-        for (T item : sortedList) {
-            add(item);
-        }
-    }
-
-    /**
-     * Implementación del algoritmo Merge Sort para ordenar una lista
-     * @param list Lista a ordenar
-     * @param comparator Comparador para definir el criterio de ordenamiento
-     * @return Lista ordenada
-     */
-    private List<T> mergeSort(List<T> list, Comparator<T> comparator) {
-        if (list.size() <= 1) {
-            return list;
-        }
-
-        int middle = list.size() / 2;
-        List<T> left = new ArrayList<>(list.subList(0, middle));
-        List<T> right = new ArrayList<>(list.subList(middle, list.size()));
+        // Romper el círculo para trabajar con una lista lineal enlazada por next
+        head.prev.next = null;
+        Node<T> list = head;
+        Node<T> tail;
+
+        // En cada pasada se fusionan pares de tramos ordenados de tamaño width
+        for (int width = 1; ; width *= 2) {
+            Node<T> left = list;
+            list = null;
+            tail = null;
+            int merges = 0;
+
+            while (left != null) {
+                merges++;
+
+                // Localizar el inicio del tramo derecho
+                Node<T> right = left;
+                int leftSize = 0;
+                for (int i = 0; i < width && right != null; i++) {
+                    leftSize++;
+                    right = right.next;
+                }
+                int rightSize = width;
+
+                // Fusionar ambos tramos; en empate gana el izquierdo (estabilidad)
+                while (leftSize > 0 || (rightSize > 0 && right != null)) {
+                    Node<T> next;
+                    if (leftSize == 0) {
+                        next = right;
+                        right = right.next;
+                        rightSize--;
+                    } else if (rightSize == 0 || right == null
+                            || comparator.compare(left.data, right.data) <= 0) {
+                        next = left;
+                        left = left.next;
+                        leftSize--;
+                    } else {
+                        next = right;
+                        right = right.next;
+                        rightSize--;
+                    }
 
-        left = mergeSort(left, comparator);
-        right = mergeSort(right, comparator);
+                    if (tail == null) {
+                        list = next;
+                    } else {
+                        tail.next = next;
+                    }
+                    tail = next;
+                }
 
-        return merge(left, right, comparator);
-    }
+                left = right;
+            }
 
-    /**
-     * Combina dos listas ordenadas en una sola lista ordenada
-     * @param left Primera lista ordenada
-     * @param right Segunda lista ordenada
-     * @param comparator Comparador para definir el criterio de ordenamiento
-     * @return Lista combinada ordenada
-     */
-    private List<T> merge(List<T> left, List<T> right, Comparator<T> comparator) {
-        List<T> result = new ArrayList<>();
-        int leftIndex = 0, rightIndex = 0;
+            tail.next = null;
 
-        while (leftIndex < left.size() && rightIndex < right.size()) {
-            if (comparator.compare(left.get(leftIndex), right.get(rightIndex)) <= 0) {
-                result.add(left.get(leftIndex));
-                leftIndex++;
-            } else {
-                result.add(right.get(rightIndex));
-                rightIndex++;
+            // Con una sola fusión en la pasada la lista ya está ordenada
+            if (merges <= 1) {
+                break;
             }
         }
 
-        // Agregar los elementos restantes de la lista izquierda
-        result.addAll(left.subList(leftIndex, left.size()));
-        result.addAll(right.subList(rightIndex, right.size()));
+        // Restaurar los enlaces prev, cerrar el círculo y reconstruir el índice
+        head = list;
+        nodeIndex.clear();
+        nodeIndex.ensureCapacity(size);
+
+        Node<T> previous = tail;
+        Node<T> current = head;
+        while (current != null) {
+            current.prev = previous;
+            nodeIndex.add(current);
+            previous = current;
+            current = current.next;
+        }
 
-        return result;
+        tail.next = head;
+        indexValid = true;
     }
 
     /**
@@ -283,6 +527,8 @@ public class CircularDoublyLinkedList<T> {
     public void clear() {
         head = null;
         size = 0;
+        nodeIndex.clear();
+        invalidateIndex();
     }
 
     /**
@@ -294,7 +540,7 @@ public class CircularDoublyLinkedList<T> {
             return;
         }
 
-        Node current = head;
+        Node<T> current = head;
 
         do {
             callback.accept(current.data);
@@ -302,6 +548,52 @@ public class CircularDoublyLinkedList<T> {
         } while (current != head);
     }
 
+    /**
+     * Iterador en sentido horario (de principio a fin), que permite recorrer
+     * la lista con un for-each sin copiarla
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> current = head;
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                T data = current.data;
+                current = current.next;
+                remaining--;
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Recorre los nodos de la lista en sentido horario, para que otras
+     * estructuras puedan guardar referencias a ellos
+     * @param callback Función a aplicar a cada nodo
+     */
+    public void forEachNode(java.util.function.Consumer<Node<T>> callback) {
+        if (isEmpty()) {
+            return;
+        }
+
+        Node<T> current = head;
+
+        do {
+            callback.accept(current);
+            current = current.next;
+        } while (current != head);
+    }
+
     /**
      * Recorre la lista en sentido antihorario (de fin a principio)
      * @param callback Función a aplicar a cada elemento
@@ -311,7 +603,7 @@ public class CircularDoublyLinkedList<T> {
             return;
         }
 
-        Node current = head.prev; // Empezar por el último nodo
+        Node<T> current = head.prev; // Empezar por el último nodo
 
         do {
             callback.accept(current.data);
@@ -330,7 +622,7 @@ public class CircularDoublyLinkedList<T> {
         }
 
         StringBuilder sb = new StringBuilder("[");
-        Node current = head;
+        Node<T> current = head;
 
         do {
             sb.append(current.data);
@@ -0,0 +1,322 @@
+package model.structures;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Pila cronológica con índice por clave.
+ * Los elementos se mantienen en orden de inserción (del más antiguo al más
+ * reciente) sobre una lista doblemente enlazada; push, pop y peek son O(1),
+ * y un índice hash por clave permite actualizar o eliminar cualquier elemento
+ * en O(1) sin reconstruir la pila. No es sincronizada.
+ *
+ * @param <K> El tipo de la clave que identifica a cada elemento
+ * @param <T> El tipo de elementos que contendrá la pila
+ */
+public class IndexedStack<K, T> implements Iterable<T> {
+
+    /**
+     * Clase interna que representa un nodo de la pila
+     */
+    private static final class Node<K, T> {
+        T data;
+        K key;
+        Node<K, T> prev;          // Elemento anterior (más antiguo)
+        Node<K, T> next;          // Elemento siguiente (más reciente)
+        Node<K, T> prevSameKey;   // Elemento anterior con la misma clave
+        Node<K, T> nextSameKey;   // Elemento siguiente con la misma clave
+
+        Node(T data, K key) {
+            this.data = data;
+            this.key = key;
+        }
+    }
+
+    private final Function<T, K> keyExtractor;
+    private final Map<K, Node<K, T>> keyIndex;       // Clave -> primer nodo con esa clave
+    private final Map<K, Node<K, T>> lastByKey;      // Clave -> último nodo con esa clave
+    private final Map<T, Node<K, T>> identityIndex;  // Instancia -> nodo
+    private Node<K, T> bottom;
+    private Node<K, T> top;
+    private int size;
+
+    /**
+     * Constructor que inicializa una pila vacía
+     * @param keyExtractor Función que obtiene la clave de cada elemento; dos
+     *                     elementos con la misma clave se consideran iguales
+     */
+    public IndexedStack(Function<T, K> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.keyIndex = new HashMap<>();
+        this.lastByKey = new HashMap<>();
+        this.identityIndex = new IdentityHashMap<>();
+        this.bottom = null;
+        this.top = null;
+        this.size = 0;
+    }
+
+    /**
+     * Verifica si la pila está vacía
+     * @return true si la pila está vacía, false en caso contrario
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Obtiene el número de elementos de la pila
+     * @return Número de elementos
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Apila un elemento
+     * @param data Elemento a apilar
+     */
+    public void push(T data) {
+        Node<K, T> node = new Node<>(data, keyExtractor.apply(data));
+
+        node.prev = top;
+        if (top == null) {
+            bottom = node;
+        } else {
+            top.next = node;
+        }
+        top = node;
+
+        indexNode(node);
+        size++;
+    }
+
+    /**
+     * Desapila el elemento más reciente
+     * @return El elemento desapilado
+     * @throws NoSuchElementException si la pila está vacía
+     */
+    public T pop() {
+        if (top == null) {
+            throw new NoSuchElementException("La pila está vacía");
+        }
+
+        Node<K, T> node = top;
+        removeNode(node);
+        return node.data;
+    }
+
+    /**
+     * Consulta el elemento más reciente sin desapilarlo
+     * @return El elemento en la cima
+     * @throws NoSuchElementException si la pila está vacía
+     */
+    public T peek() {
+        if (top == null) {
+            throw new NoSuchElementException("La pila está vacía");
+        }
+
+        return top.data;
+    }
+
+    /**
+     * Elimina un elemento de cualquier posición de la pila. Se busca primero
+     * la misma instancia y, si no está, el elemento más antiguo con igual clave.
+     * @param data Elemento a eliminar
+     * @return El elemento eliminado tal como estaba en la pila, o null si no se encontró
+     */
+    public T remove(T data) {
+        Node<K, T> node = findNode(data);
+
+        if (node == null) {
+            return null;
+        }
+
+        removeNode(node);
+        return node.data;
+    }
+
+    /**
+     * Sustituye un elemento por otro en la misma posición de la pila.
+     * Admite que el elemento antiguo se haya modificado en el sitio (misma
+     * instancia) y que su clave haya cambiado.
+     * @param oldData Elemento a sustituir
+     * @param newData Elemento nuevo
+     * @return El elemento sustituido tal como estaba en la pila, o null si no se encontró
+     */
+    public T update(T oldData, T newData) {
+        Node<K, T> node = findNode(oldData);
+
+        if (node == null) {
+            return null;
+        }
+
+        T stored = node.data;
+        unindexNode(node);
+
+        node.data = newData;
+        node.key = keyExtractor.apply(newData);
+        indexNode(node);
+
+        return stored;
+    }
+
+    /**
+     * Verifica si la pila contiene un elemento (misma instancia o igual clave)
+     * @param data Elemento a buscar
+     * @return true si el elemento existe, false en caso contrario
+     */
+    public boolean contains(T data) {
+        return findNode(data) != null;
+    }
+
+    /**
+     * Obtiene la clave con la que está indexado un elemento, que puede
+     * diferir de su clave actual si se modificó en el sitio
+     * @param data Elemento a buscar (misma instancia o igual clave)
+     * @return Clave indexada, o null si el elemento no está en la pila
+     */
+    public K keyOf(T data) {
+        Node<K, T> node = findNode(data);
+        return node == null ? null : node.key;
+    }
+
+    /**
+     * Vacía la pila
+     */
+    public void clear() {
+        keyIndex.clear();
+        lastByKey.clear();
+        identityIndex.clear();
+        bottom = null;
+        top = null;
+        size = 0;
+    }
+
+    /**
+     * Convierte la pila en una lista, del elemento más antiguo al más reciente
+     * @return Lista con los elementos en orden cronológico
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(size);
+
+        for (Node<K, T> current = bottom; current != null; current = current.next) {
+            result.add(current.data);
+        }
+
+        return result;
+    }
+
+    /**
+     * Recorre la pila del elemento más antiguo al más reciente
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<K, T> current = bottom;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = current.data;
+                current = current.next;
+                return data;
+            }
+        };
+    }
+
+    private Node<K, T> findNode(T data) {
+        Node<K, T> node = identityIndex.get(data);
+
+        if (node == null && data != null) {
+            node = keyIndex.get(keyExtractor.apply(data));
+        }
+
+        return node;
+    }
+
+    private void removeNode(Node<K, T> node) {
+        if (node.prev == null) {
+            bottom = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next == null) {
+            top = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = null;
+        node.next = null;
+
+        unindexNode(node);
+        size--;
+    }
+
+    /**
+     * Registra un nodo en los índices, al final de la cadena de su clave
+     */
+    private void indexNode(Node<K, T> node) {
+        identityIndex.put(node.data, node);
+
+        Node<K, T> last = lastByKey.get(node.key);
+        if (last == null) {
+            keyIndex.put(node.key, node);
+        } else {
+            last.nextSameKey = node;
+            node.prevSameKey = last;
+        }
+        lastByKey.put(node.key, node);
+    }
+
+    /**
+     * Quita un nodo de los índices, enlazando a sus vecinos de igual clave
+     */
+    private void unindexNode(Node<K, T> node) {
+        if (identityIndex.get(node.data) == node) {
+            identityIndex.remove(node.data);
+        }
+
+        if (node.prevSameKey == null) {
+            if (node.nextSameKey == null) {
+                keyIndex.remove(node.key);
+            } else {
+                keyIndex.put(node.key, node.nextSameKey);
+            }
+        } else {
+            node.prevSameKey.nextSameKey = node.nextSameKey;
+        }
+
+        if (node.nextSameKey == null) {
+            if (node.prevSameKey == null) {
+                lastByKey.remove(node.key);
+            } else {
+                lastByKey.put(node.key, node.prevSameKey);
+            }
+        } else {
+            node.nextSameKey.prevSameKey = node.prevSameKey;
+        }
+
+        node.prevSameKey = null;
+        node.nextSameKey = null;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -0,0 +1,316 @@
+package model.structures;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de texto completo sobre varios campos de un elemento.
+ * Los textos se normalizan (minúsculas y sin tildes) y se dividen en palabras;
+ * cada palabra apunta a los elementos que la contienen y en qué campos.
+ *
+ * Las consultas admiten varios términos (todos deben coincidir) y restricción
+ * a un campo con la sintaxis "campo:valor". Cada término coincide con las
+ * palabras que lo contienen en cualquier posición ("022" encuentra
+ * "2022-2023"); las palabras candidatas se obtienen de un índice de n-gramas
+ * sobre el vocabulario, que es mucho menor que el número de elementos.
+ *
+ * @param <T> El tipo de elementos indexados
+ */
+public class InvertedIndex<T> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Datos de un elemento indexado: palabras con la máscara de campos en que
+     * aparecen y el orden de inserción
+     */
+    private static final class Entry {
+        final Map<String, Integer> tokens;
+        final long sequence;
+
+        Entry(Map<String, Integer> tokens, long sequence) {
+            this.tokens = tokens;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Término de consulta ya normalizado
+     */
+    private static final class Term {
+        final String token;
+        final int fieldMask;
+
+        Term(String token, int fieldMask) {
+            this.token = token;
+            this.fieldMask = fieldMask;
+        }
+    }
+
+    private final List<Function<T, String>> fieldExtractors;
+    private final Map<String, Integer> fieldMasks;
+    private final int allFieldsMask;
+    private final TreeMap<String, Map<T, Integer>> postings;
+    // Subcadenas de las palabras indexadas; por identidad, con las claves de postings
+    private final NGramIndex<String> vocabulary;
+    private final Map<T, Entry> entries;
+    private long nextSequence;
+
+    /**
+     * Constructor del índice
+     * @param fields Campos a indexar, por nombre y en orden, con la función que
+     *               obtiene el texto de cada elemento (máximo 31 campos)
+     */
+    public InvertedIndex(LinkedHashMap<String, Function<T, String>> fields) {
+        this.fieldExtractors = new ArrayList<>();
+        this.fieldMasks = new HashMap<>();
+
+        int mask = 0;
+        for (Map.Entry<String, Function<T, String>> field : fields.entrySet()) {
+            int fieldMask = 1 << fieldExtractors.size();
+            fieldExtractors.add(field.getValue());
+            fieldMasks.put(fold(field.getKey()), fieldMask);
+            mask |= fieldMask;
+        }
+
+        this.allFieldsMask = mask;
+        this.postings = new TreeMap<>();
+        this.vocabulary = new NGramIndex<>(Function.identity());
+        this.entries = new IdentityHashMap<>();
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Registra un nombre alternativo para un campo en las consultas
+     * @param alias Nombre alternativo (por ejemplo, "rival")
+     * @param fieldName Nombre del campo existente (por ejemplo, "opponent")
+     */
+    public void addFieldAlias(String alias, String fieldName) {
+        Integer mask = fieldMasks.get(fold(fieldName));
+        if (mask == null) {
+            throw new IllegalArgumentException("Campo desconocido: " + fieldName);
+        }
+        fieldMasks.put(fold(alias), mask);
+    }
+
+    /**
+     * Agrega un elemento al final del índice
+     * @param item Elemento a indexar
+     */
+    public void add(T item) {
+        if (!entries.containsKey(item)) {
+            index(item, nextSequence++);
+        }
+    }
+
+    /**
+     * Vuelve a indexar un elemento cuyos campos han cambiado, conservando
+     * su posición en el orden de los resultados
+     * @param item Elemento modificado
+     */
+    public void update(T item) {
+        Entry entry = entries.get(item);
+
+        if (entry == null) {
+            add(item);
+            return;
+        }
+
+        unindex(item);
+        index(item, entry.sequence);
+    }
+
+    /**
+     * Sustituye un elemento por otro en la misma posición del orden de resultados
+     * @param oldItem Elemento indexado a sustituir
+     * @param newItem Elemento nuevo
+     */
+    public void replace(T oldItem, T newItem) {
+        Entry entry = unindex(oldItem);
+        unindex(newItem);
+        index(newItem, entry != null ? entry.sequence : nextSequence++);
+    }
+
+    /**
+     * Quita un elemento del índice
+     * @param item Elemento a quitar
+     */
+    public void remove(T item) {
+        unindex(item);
+    }
+
+    /**
+     * Vacía el índice
+     */
+    public void clear() {
+        postings.clear();
+        vocabulary.clear();
+        entries.clear();
+        nextSequence = 0;
+    }
+
+    /**
+     * Busca los elementos que cumplen todos los términos de la consulta.
+     * Cada palabra de la consulta coincide con las palabras indexadas que
+     * la contienen; "campo:valor" limita la coincidencia a ese campo.
+     * @param query Consulta de búsqueda
+     * @return Elementos coincidentes, en orden de inserción
+     */
+    public List<T> search(String query) {
+        List<Term> terms = parse(query);
+        List<T> result = new ArrayList<>();
+
+        if (terms.isEmpty()) {
+            result.addAll(entries.keySet());
+        } else {
+            Set<T> matches = null;
+
+            for (Term term : terms) {
+                Set<T> termMatches = Collections.newSetFromMap(new IdentityHashMap<>());
+
+                // Todas las palabras indexadas que contienen el término
+                for (String word : vocabulary.search(term.token)) {
+                    Map<T, Integer> items = postings.get(word);
+                    for (Map.Entry<T, Integer> posting : items.entrySet()) {
+                        if ((posting.getValue() & term.fieldMask) != 0
+                                && (matches == null || matches.contains(posting.getKey()))) {
+                            termMatches.add(posting.getKey());
+                        }
+                    }
+                }
+
+                matches = termMatches;
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+
+            result.addAll(matches);
+        }
+
+        result.sort((item1, item2) ->
+                Long.compare(entries.get(item1).sequence, entries.get(item2).sequence));
+        return result;
+    }
+
+    /**
+     * Obtiene el número de elementos indexados
+     * @return Número de elementos
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Normaliza un texto: minúsculas y sin marcas diacríticas (tildes, diéresis)
+     * @param text Texto a normalizar
+     * @return Texto normalizado
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private void index(T item, long sequence) {
+        Map<String, Integer> tokens = new HashMap<>();
+
+        for (int field = 0; field < fieldExtractors.size(); field++) {
+            int fieldMask = 1 << field;
+            for (String token : tokenize(fieldExtractors.get(field).apply(item))) {
+                tokens.merge(token, fieldMask, (mask1, mask2) -> mask1 | mask2);
+            }
+        }
+
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            Map<T, Integer> items = postings.get(token.getKey());
+            if (items == null) {
+                // Palabra nueva: la misma instancia es clave de postings y del vocabulario
+                items = new IdentityHashMap<>();
+                postings.put(token.getKey(), items);
+                vocabulary.add(token.getKey());
+            }
+            items.put(item, token.getValue());
+        }
+
+        entries.put(item, new Entry(tokens, sequence));
+    }
+
+    private Entry unindex(T item) {
+        Entry entry = entries.remove(item);
+
+        if (entry != null) {
+            for (String token : entry.tokens.keySet()) {
+                Map<T, Integer> items = postings.get(token);
+                if (items != null) {
+                    items.remove(item);
+                    if (items.isEmpty()) {
+                        // El vocabulario es por identidad: quitar la instancia guardada como clave
+                        vocabulary.remove(postings.floorKey(token));
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Divide la consulta en términos, resolviendo los prefijos de campo
+     */
+    private List<Term> parse(String query) {
+        List<Term> terms = new ArrayList<>();
+
+        if (query == null) {
+            return terms;
+        }
+
+        for (String part : query.trim().split("\\s+")) {
+            int mask = allFieldsMask;
+            String value = part;
+
+            int colon = part.indexOf(':');
+            if (colon > 0) {
+                Integer fieldMask = fieldMasks.get(fold(part.substring(0, colon)));
+                if (fieldMask != null) {
+                    mask = fieldMask;
+                    value = part.substring(colon + 1);
+                }
+            }
+
+            for (String token : tokenize(value)) {
+                terms.add(new Term(token, mask));
+            }
+        }
+
+        return terms;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        for (String token : NON_WORD.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+
+        return tokens;
+    }
+}
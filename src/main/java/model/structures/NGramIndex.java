@@ -0,0 +1,189 @@
+package model.structures;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Índice de subcadenas basado en n-gramas (de 1 a 3 caracteres).
+ * Cada elemento se indexa por una clave de texto normalizada a minúsculas;
+ * las búsquedas por subcadena se resuelven intersecando listas de
+ * apariciones en lugar de recorrer y normalizar todos los elementos.
+ *
+ * @param <T> El tipo de elementos indexados
+ */
+public class NGramIndex<T> {
+
+    private static final int MAX_GRAM = 3;
+
+    /**
+     * Datos de un elemento indexado: su clave normalizada y el orden de inserción
+     */
+    private static final class Entry {
+        final String key;
+        final long sequence;
+
+        Entry(String key, long sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+
+    private final Function<T, String> keyExtractor;
+    private final Map<String, Set<T>> postings;
+    private final Map<T, Entry> entries;
+    private long nextSequence;
+
+    /**
+     * Constructor del índice
+     * @param keyExtractor Función que obtiene el texto a indexar de cada elemento
+     */
+    public NGramIndex(Function<T, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.postings = new HashMap<>();
+        this.entries = new IdentityHashMap<>();
+        this.nextSequence = 0;
+    }
+
+    /**
+     * Agrega un elemento al índice usando su clave actual
+     * @param item Elemento a indexar
+     */
+    public void add(T item) {
+        if (!entries.containsKey(item)) {
+            index(item, nextSequence++);
+        }
+    }
+
+    /**
+     * Sustituye un elemento por otro conservando su posición en el orden de
+     * los resultados. El elemento antiguo se quita con la clave con la que
+     * fue indexado y el nuevo se indexa con su clave actual.
+     * @param oldItem Elemento indexado a sustituir
+     * @param newItem Elemento nuevo
+     */
+    public void replace(T oldItem, T newItem) {
+        Entry entry = entries.get(oldItem);
+        long sequence = entry != null ? entry.sequence : nextSequence++;
+
+        remove(oldItem);
+        remove(newItem);
+        index(newItem, sequence);
+    }
+
+    private void index(T item, long sequence) {
+        String key = fold(keyExtractor.apply(item));
+        entries.put(item, new Entry(key, sequence));
+
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            for (int start = 0; start + length <= key.length(); start++) {
+                postings.computeIfAbsent(key.substring(start, start + length), gram -> newIdentitySet())
+                        .add(item);
+            }
+        }
+    }
+
+    /**
+     * Quita un elemento del índice. Usa la clave con la que fue indexado,
+     * por lo que debe llamarse antes de modificar el texto del elemento.
+     * @param item Elemento a quitar
+     */
+    public void remove(T item) {
+        Entry entry = entries.remove(item);
+
+        if (entry == null) {
+            return;
+        }
+
+        String key = entry.key;
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            for (int start = 0; start + length <= key.length(); start++) {
+                String gram = key.substring(start, start + length);
+                Set<T> items = postings.get(gram);
+                if (items != null) {
+                    items.remove(item);
+                    if (items.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Vacía el índice
+     */
+    public void clear() {
+        postings.clear();
+        entries.clear();
+        nextSequence = 0;
+    }
+
+    /**
+     * Busca los elementos cuya clave contiene el término (sin distinguir
+     * mayúsculas). Los resultados se devuelven en orden de inserción.
+     * @param searchTerm Término de búsqueda
+     * @return Lista de elementos que contienen el término
+     */
+    public List<T> search(String searchTerm) {
+        String term = fold(searchTerm);
+        List<T> result = new ArrayList<>();
+
+        if (term.isEmpty()) {
+            result.addAll(entries.keySet());
+        } else if (term.length() <= MAX_GRAM) {
+            // El propio término es un n-grama: su lista es exactamente el resultado
+            Set<T> items = postings.get(term);
+            if (items != null) {
+                result.addAll(items);
+            }
+        } else {
+            // Partir de la lista de trigramas más corta y verificar cada candidato
+            Set<T> smallest = null;
+            for (int start = 0; start + MAX_GRAM <= term.length(); start++) {
+                Set<T> items = postings.get(term.substring(start, start + MAX_GRAM));
+                if (items == null) {
+                    return result;
+                }
+                if (smallest == null || items.size() < smallest.size()) {
+                    smallest = items;
+                }
+            }
+
+            for (T item : smallest) {
+                if (entries.get(item).key.contains(term)) {
+                    result.add(item);
+                }
+            }
+        }
+
+        result.sort((item1, item2) ->
+                Long.compare(entries.get(item1).sequence, entries.get(item2).sequence));
+        return result;
+    }
+
+    /**
+     * Obtiene el número de elementos indexados
+     * @return Número de elementos
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Normaliza un texto para indexarlo o buscarlo
+     */
+    private static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<T> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
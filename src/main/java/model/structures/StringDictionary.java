@@ -0,0 +1,116 @@
+package model.structures;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de cadenas con códigos enteros consecutivos.
+ * Cada cadena distinta recibe un código (0, 1, 2...) la primera vez que se
+ * codifica y lo conserva; así una columna de textos repetidos se guarda como
+ * un arreglo de enteros y se puede agrupar por posición en un arreglo en
+ * lugar de por clave en un mapa. También sirve para internar cadenas: todas
+ * las cadenas iguales se sustituyen por la única instancia del diccionario.
+ *
+ * Es seguro entre hilos: las consultas de valores ya presentes no se
+ * bloquean y solo la asignación de códigos nuevos está sincronizada. Las
+ * cadenas no se eliminan nunca del diccionario.
+ */
+public class StringDictionary {
+
+    /** Código de las cadenas que no están en el diccionario */
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> codes;
+    private volatile String[] values;
+    private volatile int size;
+    // Código de null, que no puede ser clave del mapa
+    private volatile int nullCode;
+
+    /**
+     * Constructor que inicializa un diccionario vacío
+     */
+    public StringDictionary() {
+        this.codes = new ConcurrentHashMap<>();
+        this.values = new String[16];
+        this.size = 0;
+        this.nullCode = NOT_FOUND;
+    }
+
+    /**
+     * Obtiene el código de una cadena, asignándole uno nuevo si no lo tenía
+     * @param value Cadena a codificar (null se codifica como una cadena más)
+     * @return Código de la cadena
+     */
+    public int encode(String value) {
+        int code = codeOf(value);
+        return code != NOT_FOUND ? code : add(value);
+    }
+
+    /**
+     * Obtiene la instancia del diccionario igual a una cadena, agregándola si
+     * no estaba
+     * @param value Cadena a internar
+     * @return La instancia compartida igual a value (null si value es null)
+     */
+    public String intern(String value) {
+        return value == null ? null : decode(encode(value));
+    }
+
+    /**
+     * Obtiene el código de una cadena sin agregarla
+     * @param value Cadena a buscar
+     * @return Código de la cadena, o NOT_FOUND si no está en el diccionario
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return nullCode;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : NOT_FOUND;
+    }
+
+    /**
+     * Obtiene la cadena de un código
+     * @param code Código devuelto por encode
+     * @return La cadena correspondiente
+     * @throws IndexOutOfBoundsException Si el código no existe
+     */
+    public String decode(int code) {
+        // Leer primero el tamaño: garantiza ver el arreglo que contiene ese código
+        int currentSize = size;
+        if (code < 0 || code >= currentSize) {
+            throw new IndexOutOfBoundsException("Código: " + code + ", Tamaño: " + currentSize);
+        }
+        return values[code];
+    }
+
+    /**
+     * Obtiene el número de cadenas distintas del diccionario
+     * @return Número de cadenas
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int add(String value) {
+        int existing = codeOf(value);
+        if (existing != NOT_FOUND) {
+            return existing; // Otro hilo la agregó mientras tanto
+        }
+
+        int code = size;
+        if (code == values.length) {
+            values = Arrays.copyOf(values, code * 2);
+        }
+        values[code] = value;
+        size = code + 1;
+
+        if (value == null) {
+            nullCode = code;
+        } else {
+            codes.put(value, code);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,363 @@
+package utils;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Formato binario de los archivos de datos (extensión ".cbin"), más compacto
+ * y rápido de leer que el JSON.
+ *
+ * Estructura (enteros de 4 bytes en orden big-endian):
+ * <pre>
+ *   "CHMP"                      identificador del formato
+ *   versión (2 bytes)           actualmente 2; otras versiones se rechazan
+ *   tipo (1 byte)               1 = equipos, 2 = eliminaciones
+ *   secuencia (8 bytes)         último cambio del diario incluido
+ *   nº de textos, textos        tabla de textos sin repetir: longitud + UTF-8
+ *   nº de registros, registros  cada uno: longitud + contenido
+ * </pre>
+ * Los textos de los registros (nombres, temporadas, fases, rivales...) son
+ * posiciones en la tabla de textos, o -1 si son nulos. Un equipo es su nombre,
+ * el número de títulos y, por cada título, el año y los goles como dos
+ * enteros. Una eliminación son sus siete textos.
+ * Como cada registro lleva su longitud, un lector puede saltarlo sin
+ * decodificarlo, y una versión posterior puede añadir campos al final.
+ * La secuencia es la de ChangeJournal: al cargar, los cambios del diario con
+ * secuencia menor o igual ya están en el archivo y no se vuelven a aplicar.
+ */
+public final class BinarySnapshotCodec {
+
+    public static final String EXTENSION = ".cbin";
+
+    static final byte[] MAGIC = {'C', 'H', 'M', 'P'};
+    static final int VERSION = 2;
+    static final int KIND_TEAMS = 1;
+    static final int KIND_ELIMINATIONS = 2;
+
+    private static final int NULL_STRING = -1;
+    // Cada título: año y goles, un entero cada uno
+    private static final int TITLE_BYTES = 8;
+
+    private BinarySnapshotCodec() {
+    }
+
+    /**
+     * Indica si una ruta corresponde al formato binario, según su extensión
+     */
+    public static boolean isBinaryPath(String filePath) {
+        return filePath != null && filePath.toLowerCase().endsWith(EXTENSION);
+    }
+
+    /**
+     * Origen de los textos referenciados por los registros
+     */
+    interface StringSource {
+        /**
+         * @param index Posición en la tabla de textos, o -1 para null
+         */
+        String get(int index) throws IOException;
+    }
+
+    /**
+     * Contador de avance de una escritura
+     */
+    interface WriteListener {
+        void recordWritten() throws IOException;
+    }
+
+    /**
+     * Escribe los equipos en formato binario
+     * @param journalSequence Último cambio del diario incluido, o 0
+     */
+    static void writeTeams(DataOutputStream out, Iterable<ChampionsTeam> teams, long journalSequence,
+                           WriteListener listener) throws IOException {
+        StringTable strings = new StringTable();
+        int count = 0;
+        for (ChampionsTeam team : teams) {
+            strings.add(team.getName());
+            count++;
+        }
+
+        writeHeader(out, KIND_TEAMS, journalSequence, strings, count);
+
+        for (ChampionsTeam team : teams) {
+            int titleCount = team.getTitleCount();
+            out.writeInt(8 + TITLE_BYTES * titleCount);
+            out.writeInt(strings.indexOf(team.getName()));
+            out.writeInt(titleCount);
+            for (int i = 0; i < titleCount; i++) {
+                out.writeInt(team.getTitleYear(i));
+                out.writeInt(team.getTitleGoals(i));
+            }
+            listener.recordWritten();
+        }
+    }
+
+    /**
+     * Escribe las eliminaciones en formato binario
+     * @param journalSequence Último cambio del diario incluido, o 0
+     */
+    static void writeEliminations(DataOutputStream out, Iterable<Elimination> eliminations, long journalSequence,
+                                  WriteListener listener) throws IOException {
+        StringTable strings = new StringTable();
+        int count = 0;
+        for (Elimination elimination : eliminations) {
+            for (String field : fieldsOf(elimination)) {
+                strings.add(field);
+            }
+            count++;
+        }
+
+        writeHeader(out, KIND_ELIMINATIONS, journalSequence, strings, count);
+
+        for (Elimination elimination : eliminations) {
+            String[] fields = fieldsOf(elimination);
+            out.writeInt(4 * fields.length);
+            for (String field : fields) {
+                out.writeInt(strings.indexOf(field));
+            }
+            listener.recordWritten();
+        }
+    }
+
+    /**
+     * Lee los equipos de un flujo en formato binario
+     * @return Último cambio del diario incluido en el archivo, o 0
+     */
+    static long readTeams(DataInputStream in, Consumer<ChampionsTeam> consumer) throws IOException {
+        Header header = readHeader(in, KIND_TEAMS);
+        StringSource strings = arraySource(header.strings);
+        readRecords(in, record -> consumer.accept(decodeTeam(record, strings)));
+        return header.journalSequence;
+    }
+
+    /**
+     * Lee las eliminaciones de un flujo en formato binario
+     * @return Último cambio del diario incluido en el archivo, o 0
+     */
+    static long readEliminations(DataInputStream in, Consumer<Elimination> consumer) throws IOException {
+        Header header = readHeader(in, KIND_ELIMINATIONS);
+        StringSource strings = arraySource(header.strings);
+        readRecords(in, record -> consumer.accept(decodeElimination(record, strings)));
+        return header.journalSequence;
+    }
+
+    /**
+     * Lee solo la secuencia del diario del encabezado, sin leer los textos ni
+     * los registros
+     * @return Último cambio del diario incluido en el archivo, o 0
+     */
+    static long readJournalSequence(DataInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        int version = in.readUnsignedShort();
+        int kind = in.readUnsignedByte();
+        checkHeader(magic, version, kind, kind);
+        return in.readLong();
+    }
+
+    /**
+     * Decodifica un equipo a partir del contenido de su registro
+     */
+    static ChampionsTeam decodeTeam(ByteBuffer record, StringSource strings) throws IOException {
+        String name = strings.get(record.getInt());
+        int titleCount = record.getInt();
+        if (titleCount < 0 || titleCount > record.remaining() / TITLE_BYTES) {
+            throw new IOException("Registro de equipo dañado");
+        }
+
+        ChampionsTeam team = new ChampionsTeam(name);
+        for (int i = 0; i < titleCount; i++) {
+            team.addTitle(record.getInt(), record.getInt());
+        }
+
+        return team;
+    }
+
+    /**
+     * Decodifica una eliminación a partir del contenido de su registro
+     */
+    static Elimination decodeElimination(ByteBuffer record, StringSource strings) throws IOException {
+        if (record.remaining() < 28) {
+            throw new IOException("Registro de eliminación dañado");
+        }
+
+        return new Elimination(
+                strings.get(record.getInt()),
+                strings.get(record.getInt()),
+                strings.get(record.getInt()),
+                strings.get(record.getInt()),
+                strings.get(record.getInt()),
+                strings.get(record.getInt()),
+                strings.get(record.getInt()));
+    }
+
+    /**
+     * Comprueba el identificador, la versión y el tipo de un encabezado ya leído
+     */
+    static void checkHeader(byte[] magic, int version, int kind, int expectedKind) throws IOException {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new IOException("El archivo no tiene formato binario de datos");
+            }
+        }
+        if (version != VERSION) {
+            throw new IOException("Versión de formato no soportada: " + version);
+        }
+        if (kind != expectedKind) {
+            throw new IOException("El archivo no contiene " + (expectedKind == KIND_TEAMS ? "equipos" : "eliminaciones"));
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, int kind, long journalSequence, StringTable strings,
+                                    int recordCount) throws IOException {
+        out.write(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(kind);
+        out.writeLong(journalSequence);
+
+        out.writeInt(strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(recordCount);
+    }
+
+    /**
+     * Encabezado leído de un flujo
+     */
+    private static final class Header {
+        final long journalSequence;
+        final String[] strings;
+
+        Header(long journalSequence, String[] strings) {
+            this.journalSequence = journalSequence;
+            this.strings = strings;
+        }
+    }
+
+    private static Header readHeader(DataInputStream in, int expectedKind) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        int version = in.readUnsignedShort();
+        int kind = in.readUnsignedByte();
+        checkHeader(magic, version, kind, expectedKind);
+        long journalSequence = in.readLong();
+
+        int stringCount = in.readInt();
+        if (stringCount < 0) {
+            throw new IOException("Tabla de textos dañada");
+        }
+
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Tabla de textos dañada");
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return new Header(journalSequence, strings);
+    }
+
+    /**
+     * Receptor del contenido de cada registro
+     */
+    private interface RecordHandler {
+        void handle(ByteBuffer record) throws IOException;
+    }
+
+    private static int readRecords(DataInputStream in, RecordHandler handler) throws IOException {
+        int recordCount = in.readInt();
+        byte[] buffer = new byte[64];
+
+        for (int i = 0; i < recordCount; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Operación cancelada");
+            }
+
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Registro dañado en la posición " + i);
+            }
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+
+            try {
+                in.readFully(buffer, 0, length);
+            } catch (EOFException e) {
+                throw new IOException("Archivo binario incompleto: faltan registros", e);
+            }
+            handler.handle(ByteBuffer.wrap(buffer, 0, length));
+        }
+
+        return recordCount;
+    }
+
+    private static StringSource arraySource(String[] strings) {
+        return index -> {
+            checkStringIndex(index, strings.length);
+            return index == NULL_STRING ? null : strings[index];
+        };
+    }
+
+    /**
+     * Comprueba que una referencia a texto sea -1 (null) o una posición válida de la tabla
+     */
+    static void checkStringIndex(int index, int stringCount) throws IOException {
+        if (index != NULL_STRING && (index < 0 || index >= stringCount)) {
+            throw new IOException("Referencia a texto fuera de la tabla: " + index);
+        }
+    }
+
+    private static String[] fieldsOf(Elimination elimination) {
+        return new String[]{
+                elimination.getSeason(),
+                elimination.getPhase(),
+                elimination.getOpponent(),
+                elimination.getResultHome(),
+                elimination.getResultAway(),
+                elimination.getDescription(),
+                elimination.getImagePath()
+        };
+    }
+
+    /**
+     * Tabla de textos sin repetir, en orden de aparición
+     */
+    private static final class StringTable {
+        final List<String> values = new ArrayList<>();
+        final Map<String, Integer> positions = new HashMap<>();
+
+        void add(String value) {
+            if (value != null && !positions.containsKey(value)) {
+                positions.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        int indexOf(String value) {
+            return value == null ? NULL_STRING : positions.get(value);
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import model.data.Title;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Diario de cambios de un archivo de datos. Cada modificación del modelo se
+ * registra como una línea JSON en "&lt;archivo&gt;.journal", de modo que guardar
+ * una edición cuesta O(1) en disco en lugar de reescribir todo el archivo.
+ *
+ * Los cambios se acumulan en memoria (hilo de eventos) y se escriben por lotes
+ * con una sola sincronización (fsync) por lote; un cambio no sale de la lista
+ * de pendientes hasta que está escrito, de modo que un guardado que falla o se
+ * cancela se repite entero en el siguiente. Cada línea lleva un número de
+ * secuencia creciente ("seq"). Al cargar, el diario se aplica sobre el último
+ * archivo completo; la compactación escribe un archivo completo nuevo con la
+ * secuencia del último cambio que incluye y después vacía el diario. Si el
+ * programa se cierra entre ambos pasos, al cargar se saltan los cambios con
+ * secuencia menor o igual a la del archivo, así que cada cambio se aplica
+ * exactamente una vez.
+ */
+public class ChangeJournal {
+
+    // Número de cambios en el diario a partir del cual conviene compactar
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    /**
+     * Escritura pendiente preparada en el hilo de eventos, para ejecutarse en
+     * el hilo de E/S
+     */
+    @FunctionalInterface
+    public interface Flush {
+        void run(IntConsumer progress) throws Exception;
+    }
+
+    /**
+     * Escritura de un archivo de datos completo. El archivo debe guardar la
+     * secuencia recibida (ver FileManager.saveTeams) para que al cargar no se
+     * vuelvan a aplicar los cambios que ya incluye.
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        void write(long journalSequence, IntConsumer progress) throws Exception;
+    }
+
+    /**
+     * Cambio leído del diario
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final String operation;
+        private final JsonObject data;
+
+        private Entry(long sequence, String operation, JsonObject data) {
+            this.sequence = sequence;
+            this.operation = operation;
+            this.data = data;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getString(String field) {
+            JsonElement value = data.get(field);
+            return value == null || value.isJsonNull() ? null : value.getAsString();
+        }
+
+        /**
+         * Obtiene un campo numérico entero, o 0 si el cambio no lo incluye
+         */
+        public int getInt(String field) {
+            JsonElement value = data.get(field);
+            return value == null || value.isJsonNull() ? 0 : value.getAsInt();
+        }
+
+        public ChampionsTeam getTeam(String field) throws IOException {
+            return FileManager.readTeam(reader(field));
+        }
+
+        public Title getTitle(String field) throws IOException {
+            return FileManager.readTitle(reader(field));
+        }
+
+        public Elimination getElimination(String field) {
+            return GSON.fromJson(data.get(field), Elimination.class);
+        }
+
+        private JsonReader reader(String field) {
+            return new JsonReader(new StringReader(String.valueOf(data.get(field))));
+        }
+    }
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Elimination.class, new EliminationTypeAdapter())
+            .create();
+
+    private final String dataFilePath;
+    private final Path journalPath;
+    // Cambios registrados y aún no escritos, en orden; el primero es el número writtenCount + 1
+    private final List<String> pending;
+    private long recordedCount;                // Cambios registrados por esta instancia
+    private long writtenCount;                 // De ellos, los ya escritos en el diario o en el archivo completo
+    private final Object writeLock;
+    private long baseSequence;                 // Secuencia anterior al primer cambio registrado (-1 si aún no se conoce)
+    private volatile int persistedCount;       // Cambios escritos en disco (-1 si aún no se ha contado)
+    private volatile boolean compactionRequired;
+
+    /**
+     * Constructor del diario
+     * @param dataFilePath Ruta del archivo de datos completo al que acompaña
+     */
+    public ChangeJournal(String dataFilePath) {
+        this.dataFilePath = dataFilePath;
+        this.journalPath = Paths.get(dataFilePath + ".journal");
+        this.pending = new ArrayList<>();
+        this.recordedCount = 0;
+        this.writtenCount = 0;
+        this.writeLock = new Object();
+        this.baseSequence = -1;
+        this.persistedCount = -1;
+        this.compactionRequired = false;
+    }
+
+    /**
+     * Obtiene la ruta del archivo del diario
+     */
+    public String getJournalPath() {
+        return journalPath.toString();
+    }
+
+    /**
+     * Registra un cambio. Los campos se indican como pares nombre-valor; los
+     * valores pueden ser textos, números, equipos, títulos o eliminaciones.
+     * @param operation Nombre de la operación (por ejemplo, "addTeam")
+     * @param fields Pares nombre-valor con los datos de la operación
+     */
+    public void record(String operation, Object... fields) {
+        StringWriter line = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(line)) {
+            writer.beginObject();
+            writer.name("op").value(operation);
+            writer.name("data").beginObject();
+            for (int i = 0; i + 1 < fields.length; i += 2) {
+                writer.name((String) fields[i]);
+                writeValue(writer, fields[i + 1]);
+            }
+            writer.endObject();
+            writer.endObject();
+        } catch (IOException e) {
+            // Un StringWriter no produce errores de E/S
+            throw new IllegalStateException(e);
+        }
+
+        synchronized (pending) {
+            pending.add(line.toString());
+            recordedCount++;
+        }
+    }
+
+    /**
+     * Indica si hay cambios registrados que aún no se han escrito
+     */
+    public boolean hasPendingChanges() {
+        synchronized (pending) {
+            return !pending.isEmpty();
+        }
+    }
+
+    /**
+     * Indica si el diario ha crecido lo bastante (o una escritura anterior
+     * falló) como para que el siguiente guardado deba ser una compactación
+     */
+    public boolean needsCompaction() {
+        synchronized (pending) {
+            return compactionRequired || Math.max(persistedCount, 0) + pending.size() >= COMPACTION_THRESHOLD;
+        }
+    }
+
+    /**
+     * Prepara la escritura al final del diario de los cambios que sigan
+     * pendientes cuando se ejecute. Los cambios salen de la lista de
+     * pendientes solo cuando la escritura termina.
+     * @return Escritura a ejecutar en el hilo de E/S
+     */
+    public Flush prepareAppend() {
+        return progress -> append();
+    }
+
+    /**
+     * Prepara una compactación: escribir el archivo completo y vaciar el
+     * diario. El archivo completo incluye los cambios registrados hasta este
+     * momento, que dejan de estar pendientes cuando termina de escribirse.
+     * @param snapshotWriter Escritura del archivo completo, con los datos ya copiados
+     * @return Escritura a ejecutar en el hilo de E/S
+     */
+    public Flush prepareCompaction(SnapshotWriter snapshotWriter) {
+        long covered;
+        synchronized (pending) {
+            covered = recordedCount;
+        }
+
+        return progress -> compact(covered, snapshotWriter, progress);
+    }
+
+    /**
+     * Aplica los cambios del diario en orden, saltando los que ya incluye el
+     * archivo completo. Una última línea incompleta (por un cierre durante la
+     * escritura) se ignora.
+     * @param snapshotSequence Secuencia guardada en el archivo completo (0 si no tiene)
+     * @param handler Receptor de cada cambio
+     * @return Número de cambios aplicados
+     * @throws IOException Si ocurre un error de lectura
+     */
+    public int replay(long snapshotSequence, EntryHandler handler) throws IOException {
+        int applied = 0;
+        int lines = 0;
+        long lastSequence = snapshotSequence;
+
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                Entry entry = parse(line);
+                if (entry == null) {
+                    Log.warn("ChangeJournal", "Diario truncado en la línea " + (lines + 1) + ": " + journalPath);
+                    break;
+                }
+                lines++;
+
+                // Incluido ya en el archivo completo
+                if (entry.sequence <= lastSequence) {
+                    continue;
+                }
+
+                handler.apply(entry);
+                lastSequence = entry.sequence;
+                applied++;
+            }
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            // Sin diario: no hay cambios que aplicar
+        }
+
+        synchronized (writeLock) {
+            if (baseSequence < 0) {
+                baseSequence = lastSequence;
+                persistedCount = lines;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Receptor de los cambios leídos del diario
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+        void apply(Entry entry) throws IOException;
+    }
+
+    private void append() throws IOException {
+        synchronized (writeLock) {
+            long first;
+            List<String> batch;
+            synchronized (pending) {
+                first = writtenCount + 1;
+                batch = new ArrayList<>(pending);
+            }
+
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (compactionRequired) {
+                // No escribir detrás de un lote que pudo quedar a medias
+                throw new IOException("Una escritura anterior del diario falló; el siguiente guardado lo compactará");
+            }
+
+            initialize();
+
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < batch.size(); i++) {
+                // La secuencia se antepone a la línea registrada: {"seq":n,"op":...}
+                String line = batch.get(i);
+                text.append("{\"seq\":").append(baseSequence + first + i).append(',')
+                        .append(line, 1, line.length()).append('\n');
+            }
+
+            Path parent = journalPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (FileChannel channel = FileChannel.open(journalPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // Una sola sincronización para todo el lote
+                channel.force(false);
+            } catch (IOException e) {
+                // El lote pudo quedar a medias: el siguiente guardado compactará
+                compactionRequired = true;
+                throw e;
+            }
+
+            synchronized (pending) {
+                pending.subList(0, batch.size()).clear();
+                writtenCount += batch.size();
+            }
+            persistedCount += batch.size();
+        }
+    }
+
+    private void compact(long covered, SnapshotWriter snapshotWriter, IntConsumer progress) throws Exception {
+        synchronized (writeLock) {
+            initialize();
+
+            long snapshotSequence = baseSequence + covered;
+            snapshotWriter.write(snapshotSequence, progress);
+
+            // El archivo completo ya incluye los cambios hasta "covered"
+            long written;
+            synchronized (pending) {
+                if (covered > writtenCount) {
+                    pending.subList(0, (int) (covered - writtenCount)).clear();
+                    writtenCount = covered;
+                }
+                written = writtenCount;
+            }
+
+            retainAfter(snapshotSequence, baseSequence + written);
+            compactionRequired = false;
+        }
+    }
+
+    /**
+     * Deja en el diario solo los cambios escritos con secuencia posterior a
+     * la del archivo completo (normalmente ninguno: el diario queda vacío)
+     * @param snapshotSequence Secuencia del archivo completo recién escrito
+     * @param lastWritten Secuencia del último cambio escrito correctamente
+     */
+    private void retainAfter(long snapshotSequence, long lastWritten) throws IOException {
+        List<String> kept = new ArrayList<>();
+        if (lastWritten > snapshotSequence) {
+            for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                Entry entry = parse(line);
+                if (entry == null) {
+                    break;
+                }
+                if (entry.sequence > snapshotSequence && entry.sequence <= lastWritten) {
+                    kept.add(line);
+                }
+            }
+        }
+
+        if (kept.isEmpty()) {
+            if (Files.exists(journalPath)) {
+                try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(0);
+                    channel.force(true);
+                }
+            }
+        } else {
+            Path temp = Files.createTempFile(journalPath.toAbsolutePath().getParent(),
+                    journalPath.getFileName().toString() + ".", ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap((String.join("\n", kept) + "\n").getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                Files.move(temp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        persistedCount = kept.size();
+    }
+
+    /**
+     * Obtiene, antes de la primera escritura, la secuencia desde la que
+     * numerar los cambios: la mayor entre la del archivo completo y la del
+     * último cambio del diario
+     */
+    private void initialize() throws IOException {
+        if (baseSequence >= 0) {
+            return;
+        }
+
+        long lastSequence = FileManager.readJournalSequence(dataFilePath);
+        int lines = 0;
+        if (Files.exists(journalPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    Entry entry = parse(line);
+                    if (entry != null) {
+                        lastSequence = Math.max(lastSequence, entry.sequence);
+                    }
+                    lines++;
+                }
+            }
+        }
+
+        baseSequence = lastSequence;
+        persistedCount = lines;
+    }
+
+    /**
+     * Interpreta una línea del diario
+     * @return El cambio, o null si la línea está incompleta o dañada
+     */
+    private static Entry parse(String line) {
+        try {
+            JsonObject object = JsonParser.parseString(line).getAsJsonObject();
+            return new Entry(object.get("seq").getAsLong(), object.get("op").getAsString(),
+                    object.getAsJsonObject("data"));
+        } catch (JsonParseException | IllegalStateException | NullPointerException
+                 | UnsupportedOperationException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeValue(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (value instanceof String) {
+            writer.value((String) value);
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof ChampionsTeam) {
+            FileManager.writeTeam(writer, (ChampionsTeam) value);
+        } else if (value instanceof Title) {
+            Title title = (Title) value;
+            writer.beginObject();
+            writer.name("year").value(title.getYear());
+            writer.name("topScorerGoals").value(title.getTopScorerGoals());
+            writer.endObject();
+        } else if (value instanceof Elimination) {
+            GSON.toJson(value, Elimination.class, writer);
+        } else {
+            throw new IllegalArgumentException("Tipo no admitido en el diario: " + value.getClass().getName());
+        }
+    }
+}
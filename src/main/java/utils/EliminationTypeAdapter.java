@@ -0,0 +1,106 @@
+package utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.data.Elimination;
+
+import java.io.IOException;
+
+/**
+ * Adaptador de Gson para las eliminaciones. Produce el mismo JSON que la
+ * serialización por reflexión (los campos en el mismo orden y sin los nulos),
+ * pero al leer crea cada eliminación con su constructor, de modo que la
+ * temporada, la fase y el rival se internan en los diccionarios compartidos
+ * en lugar de conservar una copia de cada texto por eliminación.
+ */
+public class EliminationTypeAdapter extends TypeAdapter<Elimination> {
+
+    @Override
+    public void write(JsonWriter out, Elimination elimination) throws IOException {
+        if (elimination == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        writeField(out, "season", elimination.getSeason());
+        writeField(out, "phase", elimination.getPhase());
+        writeField(out, "opponent", elimination.getOpponent());
+        writeField(out, "resultHome", elimination.getResultHome());
+        writeField(out, "resultAway", elimination.getResultAway());
+        writeField(out, "description", elimination.getDescription());
+        writeField(out, "imagePath", elimination.getImagePath());
+        out.endObject();
+    }
+
+    @Override
+    public Elimination read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String season = null;
+        String phase = null;
+        String opponent = null;
+        String resultHome = null;
+        String resultAway = null;
+        String description = null;
+        String imagePath = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "season":
+                    season = readString(in);
+                    break;
+                case "phase":
+                    phase = readString(in);
+                    break;
+                case "opponent":
+                    opponent = readString(in);
+                    break;
+                case "resultHome":
+                    resultHome = readString(in);
+                    break;
+                case "resultAway":
+                    resultAway = readString(in);
+                    break;
+                case "description":
+                    description = readString(in);
+                    break;
+                case "imagePath":
+                    imagePath = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Elimination(season, phase, opponent, resultHome, resultAway, description, imagePath);
+    }
+
+    private static void writeField(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    /**
+     * Lee un texto admitiendo, como Gson, números y booleanos en su lugar
+     */
+    private static String readString(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case NULL:
+                in.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(in.nextBoolean());
+            default:
+                return in.nextString();
+        }
+    }
+}
@@ -2,33 +2,239 @@ package utils;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import model.data.ChampionsTeam;
+import model.data.Elimination;
 import model.data.Title;
 
 import java.io.*;
-import java.lang.reflect.Type;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Clase utilitaria para la gestión de archivos JSON
  */
 public class FileManager {
+    // Campo del objeto JSON con la secuencia del diario (ver ChangeJournal)
+    private static final String JOURNAL_SEQUENCE_FIELD = "journalSequence";
+
     private final Gson gson;
+    private boolean compactOutput;
 
     /**
      * Constructor que inicializa el objeto Gson para serialización/deserialización
      */
     public FileManager() {
-        // Configurar Gson para formatear el JSON de forma legible
+        // La sangría de la salida la decide cada JsonWriter (ver setCompactOutput)
         this.gson = new GsonBuilder()
-                .setPrettyPrinting()
+                .registerTypeAdapter(Elimination.class, new EliminationTypeAdapter())
                 .create();
+        this.compactOutput = false;
+    }
+
+    /**
+     * Carga los equipos de un archivo en el formato que indique su extensión:
+     * binario (".cbin", ver BinarySnapshotCodec) o JSON en cualquier otro caso
+     * @param filePath Ruta del archivo
+     * @param consumer Destino de cada equipo leído
+     * @param progress Receptor del porcentaje leído (0-100), o null
+     * @return Último cambio del diario incluido en el archivo, o 0 si no lo indica
+     * @throws Exception Si ocurre un error durante la carga
+     */
+    public long loadTeams(String filePath, Consumer<ChampionsTeam> consumer, IntConsumer progress) throws Exception {
+        if (!BinarySnapshotCodec.isBinaryPath(filePath)) {
+            return loadTeamsFromJSON(filePath, consumer, progress);
+        }
+
+        // Los archivos del disco se proyectan en memoria y se decodifican registro a registro
+        if (fileExists(filePath)) {
+            try (MappedSnapshot<ChampionsTeam> snapshot = MappedSnapshot.openTeams(filePath)) {
+                snapshot.forEachDecoded(consumer, progress);
+                Log.count("load.teams", snapshot.size());
+                Log.debug("FileManager", "Equipos leídos del archivo binario: " + snapshot.size());
+                return snapshot.getJournalSequence();
+            }
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(openInputStream(filePath, progress)))) {
+            return BinarySnapshotCodec.readTeams(input, consumer);
+        }
+    }
+
+    /**
+     * Guarda los equipos en el formato que indique la extensión del archivo
+     * @param teams Equipos a guardar
+     * @param filePath Ruta del archivo
+     * @param progress Receptor del porcentaje escrito (0-100), o null
+     * @throws Exception Si ocurre un error durante el guardado
+     */
+    public void saveTeams(Iterable<ChampionsTeam> teams, String filePath, IntConsumer progress) throws Exception {
+        saveTeams(teams, filePath, 0, progress);
+    }
+
+    /**
+     * Guarda los equipos indicando el último cambio del diario que incluyen,
+     * para que al cargar no se vuelvan a aplicar los cambios anteriores (ver
+     * ChangeJournal). En JSON, con secuencia mayor que 0 el archivo es un
+     * objeto {"journalSequence": n, "teams": [...]} en lugar de una lista.
+     * @param teams Equipos a guardar
+     * @param filePath Ruta del archivo
+     * @param journalSequence Último cambio del diario incluido, o 0
+     * @param progress Receptor del porcentaje escrito (0-100), o null
+     * @throws Exception Si ocurre un error durante el guardado
+     */
+    public void saveTeams(Iterable<ChampionsTeam> teams, String filePath, long journalSequence,
+                          IntConsumer progress) throws Exception {
+        if (!BinarySnapshotCodec.isBinaryPath(filePath)) {
+            try {
+                Path target = writeJsonArray(filePath, "teams", journalSequence, teams, FileManager::writeTeam, progress);
+                Log.debug("FileManager", "Datos guardados en: " + target);
+            } catch (IOException e) {
+                throw new Exception("Error al guardar equipos en archivo: " + e.getMessage(), e);
+            }
+            return;
+        }
+
+        try {
+            ProgressCounter counter = new ProgressCounter(teams, progress);
+            Path target = writeAtomically(filePath, output ->
+                    BinarySnapshotCodec.writeTeams(output, teams, journalSequence, counter::step));
+            Log.debug("FileManager", "Datos guardados en: " + target);
+        } catch (IOException e) {
+            throw new Exception("Error al guardar equipos en archivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Carga las eliminaciones de un archivo en el formato que indique su extensión
+     * @param filePath Ruta del archivo
+     * @param consumer Destino de cada eliminación leída
+     * @param progress Receptor del porcentaje leído (0-100), o null
+     * @return Último cambio del diario incluido en el archivo, o 0 si no lo indica
+     * @throws IOException Si ocurre un error durante la carga
+     */
+    public long loadEliminations(String filePath, Consumer<Elimination> consumer, IntConsumer progress) throws IOException {
+        if (!BinarySnapshotCodec.isBinaryPath(filePath)) {
+            return loadEliminationsFromJSON(filePath, consumer, progress);
+        }
+
+        if (fileExists(filePath)) {
+            try (MappedSnapshot<Elimination> snapshot = MappedSnapshot.openEliminations(filePath)) {
+                snapshot.forEachDecoded(consumer, progress);
+                return snapshot.getJournalSequence();
+            }
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(openInputStream(filePath, progress)))) {
+            return BinarySnapshotCodec.readEliminations(input, consumer);
+        }
+    }
+
+    /**
+     * Guarda las eliminaciones en el formato que indique la extensión del archivo
+     * @param eliminations Eliminaciones a guardar
+     * @param filePath Ruta del archivo
+     * @param progress Receptor del porcentaje escrito (0-100), o null
+     * @throws IOException Si ocurre un error durante el guardado
+     */
+    public void saveEliminations(Iterable<Elimination> eliminations, String filePath, IntConsumer progress) throws IOException {
+        saveEliminations(eliminations, filePath, 0, progress);
+    }
+
+    /**
+     * Guarda las eliminaciones indicando el último cambio del diario que
+     * incluyen (ver saveTeams)
+     * @param eliminations Eliminaciones a guardar
+     * @param filePath Ruta del archivo
+     * @param journalSequence Último cambio del diario incluido, o 0
+     * @param progress Receptor del porcentaje escrito (0-100), o null
+     * @throws IOException Si ocurre un error durante el guardado
+     */
+    public void saveEliminations(Iterable<Elimination> eliminations, String filePath, long journalSequence,
+                                 IntConsumer progress) throws IOException {
+        if (!BinarySnapshotCodec.isBinaryPath(filePath)) {
+            writeJsonArray(filePath, "eliminations", journalSequence, eliminations,
+                    (writer, elimination) -> gson.toJson(elimination, Elimination.class, writer), progress);
+            return;
+        }
+
+        ProgressCounter counter = new ProgressCounter(eliminations, progress);
+        writeAtomically(filePath, output ->
+                BinarySnapshotCodec.writeEliminations(output, eliminations, journalSequence, counter::step));
+    }
+
+    /**
+     * Lee el último cambio del diario incluido en un archivo de datos del
+     * disco, sin leer sus registros
+     * @param filePath Ruta del archivo
+     * @return Secuencia del diario, o 0 si el archivo no existe o no la indica
+     * @throws IOException Si ocurre un error de lectura
+     */
+    public static long readJournalSequence(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        if (BinarySnapshotCodec.isBinaryPath(filePath)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                return BinarySnapshotCodec.readJournalSequence(input);
+            } catch (EOFException e) {
+                return 0;
+            }
+        }
+
+        // La secuencia es el primer campo del objeto, así que no se lee el resto
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+            reader.setLenient(true);
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return 0;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(JOURNAL_SEQUENCE_FIELD)) {
+                    return reader.nextLong();
+                }
+                reader.skipValue();
+            }
+            return 0;
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Obtiene la ruta preferida para un archivo de datos: su versión binaria
+     * (misma ruta con extensión ".cbin") si existe, o la ruta indicada si no.
+     * La ruta elegida es también la que se guarda: con un ".cbin" presente,
+     * el JSON deja de leerse y de actualizarse, por lo que el cambio se
+     * registra en el log.
+     * @param filePath Ruta del archivo JSON
+     * @return Ruta del archivo a cargar y guardar
+     */
+    public String preferBinary(String filePath) {
+        String fileName = new File(filePath).getName();
+        int dot = fileName.lastIndexOf('.');
+        String basePath = dot > 0 ? filePath.substring(0, filePath.length() - fileName.length() + dot) : filePath;
+        String binaryPath = basePath + BinarySnapshotCodec.EXTENSION;
+
+        if (!binaryPath.equals(filePath) && fileExists(binaryPath)) {
+            Log.info("FileManager", "Se usa el archivo binario " + binaryPath + " en lugar de " + filePath);
+            return binaryPath;
+        }
+        return filePath;
     }
 
     /**
@@ -39,75 +245,501 @@ public class FileManager {
      */
     public List<ChampionsTeam> loadTeamsFromJSON(String filePath) throws Exception {
         List<ChampionsTeam> teams = new ArrayList<>();
+        loadTeamsFromJSON(filePath, teams::add);
+        return teams;
+    }
+
+    /**
+     * Carga los equipos desde un archivo JSON en modo streaming: cada equipo se
+     * construye directamente a partir del flujo y se entrega al consumidor,
+     * sin mantener el contenido completo del archivo en memoria
+     * @param filePath Ruta del archivo JSON
+     * @param consumer Destino de cada equipo leído
+     * @throws Exception Si ocurre un error durante la carga
+     */
+    public void loadTeamsFromJSON(String filePath, Consumer<ChampionsTeam> consumer) throws Exception {
+        loadTeamsFromJSON(filePath, consumer, null);
+    }
 
+    /**
+     * Carga los equipos desde un archivo JSON en modo streaming, informando
+     * del avance. Si el hilo se interrumpe, la carga se cancela con
+     * InterruptedIOException
+     * @param filePath Ruta del archivo JSON
+     * @param consumer Destino de cada equipo leído
+     * @param progress Receptor del porcentaje leído (0-100), o null; recibe -1
+     *                 si el tamaño del archivo no se conoce
+     * @return Último cambio del diario incluido en el archivo, o 0 si no lo indica
+     * @throws Exception Si ocurre un error durante la carga
+     */
+    public long loadTeamsFromJSON(String filePath, Consumer<ChampionsTeam> consumer, IntConsumer progress) throws Exception {
         try {
-            String content;
-
-            // Intentar cargar el archivo como recurso del classpath
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath);
-
-            if (inputStream != null) {
-                // Leer el archivo desde el classpath
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                    StringBuilder sb = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        sb.append(line).append("\n");
+            boolean traceTeams = Log.isEnabled(Log.Level.TRACE);
+            int[] count = {0};
+            long journalSequence = readJsonArray(filePath, FileManager::readTeam, team -> {
+                if (traceTeams) {
+                    Log.trace("FileManager", "Equipo: " + team.getName() + ", Títulos: " + team.getTitles().size());
+                }
+                consumer.accept(team);
+                count[0]++;
+            }, progress);
+
+            Log.count("load.teams", count[0]);
+            Log.debug("FileManager", "Equipos parseados del JSON: " + count[0]);
+            return journalSequence;
+        } catch (Exception e) {
+            Log.error("FileManager", "Error en loadTeamsFromJSON: " + e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Carga las eliminaciones desde un archivo JSON en modo streaming
+     * @param filePath Ruta del archivo JSON
+     * @param consumer Destino de cada eliminación leída
+     * @param progress Receptor del porcentaje leído (0-100), o null
+     * @return Último cambio del diario incluido en el archivo, o 0 si no lo indica
+     * @throws IOException Si ocurre un error durante la carga
+     */
+    public long loadEliminationsFromJSON(String filePath, Consumer<Elimination> consumer, IntConsumer progress) throws IOException {
+        return readJsonArray(filePath, reader -> gson.fromJson(reader, Elimination.class), consumer, progress);
+    }
+
+    /**
+     * Lector de un elemento desde un flujo JSON
+     */
+    private interface ElementReader<E> {
+        E read(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Lee un arreglo JSON elemento a elemento. El archivo puede ser la lista
+     * directamente o un objeto con la secuencia del diario y la lista (ver
+     * saveTeams)
+     * @return Último cambio del diario incluido en el archivo, o 0 si no lo indica
+     */
+    private <E> long readJsonArray(String filePath, ElementReader<E> elementReader, Consumer<E> consumer,
+                                   IntConsumer progress) throws IOException {
+        try (JsonReader reader = new JsonReader(openReader(filePath, progress))) {
+            reader.setLenient(true);
+
+            // Un archivo vacío o con "null" no contiene elementos
+            JsonToken token;
+            try {
+                token = reader.peek();
+            } catch (EOFException e) {
+                token = JsonToken.END_DOCUMENT;
+            }
+
+            if (token == JsonToken.BEGIN_ARRAY) {
+                readElements(reader, elementReader, consumer);
+                return 0;
+            }
+            if (token == JsonToken.BEGIN_OBJECT) {
+                long journalSequence = 0;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (name.equals(JOURNAL_SEQUENCE_FIELD)) {
+                        journalSequence = reader.nextLong();
+                    } else if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                        readElements(reader, elementReader, consumer);
+                    } else {
+                        reader.skipValue();
                     }
-                    content = sb.toString();
                 }
-                System.out.println("Archivo cargado desde el classpath: " + filePath);
-            } else {
-                // Intentar cargar como archivo del sistema
-                File file = new File(filePath);
-                if (!file.exists()) {
-                    throw new FileNotFoundException("El archivo no existe ni como recurso ni como archivo: " + filePath);
+                reader.endObject();
+                return journalSequence;
+            }
+            if (token != JsonToken.NULL && token != JsonToken.END_DOCUMENT) {
+                throw new JsonParseException("Se esperaba una lista y se encontró " + token);
+            }
+            return 0;
+        }
+    }
+
+    private static <E> void readElements(JsonReader reader, ElementReader<E> elementReader,
+                                         Consumer<E> consumer) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            checkInterrupted();
+            consumer.accept(elementReader.read(reader));
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Abre un archivo de texto en UTF-8 (ver openInputStream)
+     * @return Lector con buffer sobre el archivo
+     */
+    private Reader openReader(String filePath, IntConsumer progress) throws IOException {
+        return new BufferedReader(new InputStreamReader(openInputStream(filePath, progress), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Abre un archivo buscándolo primero como recurso del classpath y después
+     * en el sistema de archivos
+     * @param filePath Ruta del archivo
+     * @param progress Receptor del porcentaje leído, o null
+     * @return Flujo sobre el archivo
+     * @throws FileNotFoundException Si el archivo no existe en ninguna de las dos ubicaciones
+     */
+    private InputStream openInputStream(String filePath, IntConsumer progress) throws IOException {
+        long length = -1;
+
+        // Intentar cargar el archivo como recurso del classpath
+        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath);
+
+        if (inputStream != null) {
+            Log.debug("FileManager", "Archivo cargado desde el classpath: " + filePath);
+        } else {
+            // Intentar cargar como archivo del sistema
+            File file = new File(filePath);
+            if (!file.exists()) {
+                throw new FileNotFoundException("El archivo no existe ni como recurso ni como archivo: " + filePath);
+            }
+            // Leer desde la proyección en memoria, sin copiar el archivo al heap;
+            // al cerrar el flujo se libera la proyección
+            MappedFile mappedFile = MappedFile.open(file.toPath());
+            inputStream = mappedFile.newInputStream();
+            length = mappedFile.size();
+            Log.debug("FileManager", "Archivo cargado desde el sistema de archivos: " + file.getAbsolutePath());
+        }
+
+        if (progress != null) {
+            inputStream = new ProgressInputStream(new BufferedInputStream(inputStream), length, progress);
+        }
+
+        return inputStream;
+    }
+
+    /**
+     * Flujo de entrada que informa del porcentaje de bytes leídos
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+        private final long length;
+        private final IntConsumer progress;
+        private long position;
+        private int lastPercent;
+
+        ProgressInputStream(InputStream in, long length, IntConsumer progress) {
+            super(in);
+            this.length = length;
+            this.progress = progress;
+            this.position = 0;
+            this.lastPercent = -1;
+            progress.accept(length > 0 ? 0 : -1);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                advance(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) throws IOException {
+            int read = super.read(buffer, offset, count);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        private void advance(long bytes) {
+            position += bytes;
+            if (length > 0) {
+                int percent = (int) Math.min(100, position * 100 / length);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    progress.accept(percent);
                 }
-                content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-                System.out.println("Archivo cargado desde el sistema de archivos: " + file.getAbsolutePath());
             }
+        }
+    }
 
-            System.out.println("Contenido del archivo leído: " + (content.length() > 100 ? content.substring(0, 100) + "..." : content));
+    /**
+     * Interrumpe la operación en curso si el hilo ha sido cancelado
+     */
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Operación cancelada");
+        }
+    }
 
-            // Usar Gson para parsear el JSON
-            Type listType = new TypeToken<ArrayList<ChampionsTeam>>(){}.getType();
-            teams = gson.fromJson(content, listType);
+    /**
+     * Lee un equipo del flujo JSON
+     */
+    static ChampionsTeam readTeam(JsonReader reader) throws IOException {
+        ChampionsTeam team = new ChampionsTeam((String) null);
 
-            System.out.println("Equipos parseados del JSON: " + teams.size());
-            for (ChampionsTeam team : teams) {
-                System.out.println("Equipo: " + team.getName() + ", Títulos: " + team.getTitles().size());
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    team.setName(nextStringOrNull(reader));
+                    break;
+                case "titles":
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                    } else {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            team.addTitle(readTitle(reader));
+                        }
+                        reader.endArray();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
             }
-        } catch (Exception e) {
-            System.err.println("Error en loadTeamsFromJSON: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
         }
+        reader.endObject();
 
-        return teams;
+        return team;
+    }
+
+    /**
+     * Lee un título del flujo JSON
+     */
+    static Title readTitle(JsonReader reader) throws IOException {
+        int year = 0;
+        int topScorerGoals = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "year":
+                    year = reader.nextInt();
+                    break;
+                case "topScorerGoals":
+                    topScorerGoals = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new Title(year, topScorerGoals);
+    }
+
+    private static String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * Guarda los equipos en un archivo JSON. Los equipos se escriben en modo
+     * streaming a un archivo temporal que después reemplaza al original, de
+     * modo que un fallo a mitad de escritura no deja el archivo corrupto
+     * @param teams Equipos a guardar (se recorren directamente, sin copiarlos)
+     * @param filePath Ruta del archivo JSON
+     * @throws Exception Si ocurre un error durante el guardado
+     */
+    public void saveTeamsToJSON(Iterable<ChampionsTeam> teams, String filePath) throws Exception {
+        saveTeamsToJSON(teams, filePath, null);
     }
 
     /**
-     * Guarda la lista de equipos en un archivo JSON
-     * @param teams Lista de equipos a guardar
+     * Guarda los equipos en un archivo JSON informando del avance. Si el hilo
+     * se interrumpe, el guardado se cancela y el archivo original no cambia
+     * @param teams Equipos a guardar
      * @param filePath Ruta del archivo JSON
+     * @param progress Receptor del porcentaje escrito (0-100), o null; solo se
+     *                 informa si los equipos son una colección de tamaño conocido
      * @throws Exception Si ocurre un error durante el guardado
      */
-    public void saveTeamsToJSON(List<ChampionsTeam> teams, String filePath) throws Exception {
+    public void saveTeamsToJSON(Iterable<ChampionsTeam> teams, String filePath, IntConsumer progress) throws Exception {
         try {
-            // Asegurarse de que los directorios existan
-            File file = new File(filePath);
-            if (file.getParentFile() != null && !file.getParentFile().exists()) {
-                file.getParentFile().mkdirs();
+            Path target = writeJsonArray(filePath, "teams", 0, teams, FileManager::writeTeam, progress);
+            Log.debug("FileManager", "Datos guardados en: " + target);
+        } catch (IOException e) {
+            throw new Exception("Error al guardar equipos en archivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Guarda las eliminaciones en un archivo JSON, con la misma escritura
+     * en streaming y reemplazo atómico que los equipos
+     * @param eliminations Eliminaciones a guardar (se recorren directamente)
+     * @param filePath Ruta del archivo JSON
+     * @throws IOException Si ocurre un error durante el guardado
+     */
+    public void saveEliminationsToJSON(Iterable<Elimination> eliminations, String filePath) throws IOException {
+        saveEliminationsToJSON(eliminations, filePath, null);
+    }
+
+    /**
+     * Guarda las eliminaciones en un archivo JSON informando del avance
+     * @param eliminations Eliminaciones a guardar
+     * @param filePath Ruta del archivo JSON
+     * @param progress Receptor del porcentaje escrito (0-100), o null
+     * @throws IOException Si ocurre un error durante el guardado
+     */
+    public void saveEliminationsToJSON(Iterable<Elimination> eliminations, String filePath, IntConsumer progress) throws IOException {
+        writeJsonArray(filePath, "eliminations", 0, eliminations,
+                (writer, elimination) -> gson.toJson(elimination, Elimination.class, writer), progress);
+    }
+
+    /**
+     * Indica si los archivos se escriben en formato compacto (sin sangría)
+     * @return true si la salida es compacta
+     */
+    public boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    /**
+     * Establece si los archivos se escriben en formato compacto (sin sangría),
+     * más pequeño y rápido de escribir, o legible
+     * @param compactOutput true para salida compacta
+     */
+    public void setCompactOutput(boolean compactOutput) {
+        this.compactOutput = compactOutput;
+    }
+
+    /**
+     * Escritor de un elemento en un flujo JSON
+     */
+    private interface ElementWriter<E> {
+        void write(JsonWriter writer, E element) throws IOException;
+    }
+
+    /**
+     * Escribe un arreglo JSON de forma atómica (ver writeAtomically). Con
+     * secuencia del diario mayor que 0, el arreglo va dentro de un objeto
+     * cuyo primer campo es la secuencia.
+     * @param arrayName Nombre del campo del arreglo dentro del objeto
+     * @return Ruta absoluta del archivo escrito
+     */
+    private <E> Path writeJsonArray(String filePath, String arrayName, long journalSequence, Iterable<E> elements,
+                                    ElementWriter<E> elementWriter, IntConsumer progress) throws IOException {
+        ProgressCounter counter = new ProgressCounter(elements, progress);
+
+        return writeAtomically(filePath, output -> {
+            JsonWriter writer = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (!compactOutput) {
+                writer.setIndent("  ");
             }
 
-            // Escribir el archivo JSON
-            try (FileWriter writer = new FileWriter(file)) {
-                gson.toJson(teams, writer);
-                System.out.println("Datos guardados en: " + file.getAbsolutePath());
+            if (journalSequence > 0) {
+                writer.beginObject();
+                writer.name(JOURNAL_SEQUENCE_FIELD).value(journalSequence);
+                writer.name(arrayName);
             }
-        } catch (IOException e) {
-            throw new Exception("Error al guardar equipos en archivo: " + e.getMessage(), e);
+            writer.beginArray();
+            for (E element : elements) {
+                elementWriter.write(writer, element);
+                counter.step();
+            }
+            writer.endArray();
+            if (journalSequence > 0) {
+                writer.endObject();
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Contenido a escribir en un flujo de salida
+     */
+    private interface StreamWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    /**
+     * Escribe un archivo en un temporal del mismo directorio, lo sincroniza
+     * con el disco y lo mueve sobre el archivo de destino, de modo que un
+     * fallo a mitad de escritura no deja el archivo corrupto
+     * @return Ruta absoluta del archivo escrito
+     */
+    private Path writeAtomically(String filePath, StreamWriter content) throws IOException {
+        // Asegurarse de que los directorios existan
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+
+        Path temp = Files.createTempFile(directory, target.getFileName().toString() + ".", ".tmp");
+        try {
+            try (FileOutputStream output = new FileOutputStream(temp.toFile());
+                 DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(output))) {
+                content.write(stream);
+
+                stream.flush();
+                output.getFD().sync();
+            }
+
+            // Las lecturas liberan su proyección al terminar (ver MappedFile), así
+            // que el destino se puede reemplazar también en Windows
+            replace(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        return target;
+    }
+
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Cuenta los elementos escritos, informa del porcentaje y comprueba la cancelación
+     */
+    private static final class ProgressCounter {
+        private final int total;
+        private final IntConsumer progress;
+        private int written;
+        private int lastPercent;
+
+        ProgressCounter(Iterable<?> elements, IntConsumer progress) {
+            this.total = elements instanceof Collection ? ((Collection<?>) elements).size() : -1;
+            this.progress = progress;
+            this.written = 0;
+            this.lastPercent = -1;
+        }
+
+        void step() throws InterruptedIOException {
+            checkInterrupted();
+            written++;
+
+            if (progress != null && total > 0) {
+                int percent = (int) ((long) written * 100 / total);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    progress.accept(percent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Escribe un equipo en el flujo JSON
+     */
+    static void writeTeam(JsonWriter writer, ChampionsTeam team) throws IOException {
+        writer.beginObject();
+        writer.name("name").value(team.getName());
+        writer.name("titles").beginArray();
+        for (int i = 0; i < team.getTitleCount(); i++) {
+            writer.beginObject();
+            writer.name("year").value(team.getTitleYear(i));
+            writer.name("topScorerGoals").value(team.getTitleGoals(i));
+            writer.endObject();
         }
+        writer.endArray();
+        writer.endObject();
     }
 
     /**
@@ -37,8 +37,7 @@ public class ImageLoader {
             // Si no se encuentra la imagen, devolver una imagen de placeholder
             return createPlaceholderImage(200, 150);
         } catch (Exception e) {
-            System.err.println("Error al cargar la imagen: " + path);
-            e.printStackTrace();
+            Log.warn("ImageLoader", "Error al cargar la imagen: " + path, e);
             return createPlaceholderImage(200, 150);
         }
     }
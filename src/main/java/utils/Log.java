@@ -0,0 +1,193 @@
+package utils;
+
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de mensajes y contadores de la aplicación.
+ *
+ * Los mensajes tienen un nivel y solo se escriben (en la salida de errores)
+ * los que alcanzan el nivel configurado; por defecto WARN, de modo que los
+ * mensajes de depuración quedan desactivados. Los contadores también están
+ * desactivados por defecto. En los bucles costosos hay que comprobar
+ * {@link #isEnabled} antes de construir el mensaje, para que desactivado no
+ * cueste más que una comparación.
+ *
+ * Configuración mediante propiedades del sistema:
+ * <pre>
+ *   -Dchampions.log.level=DEBUG   nivel mínimo (OFF, ERROR, WARN, INFO, DEBUG, TRACE)
+ *   -Dchampions.metrics=true      activa los contadores y los muestra al salir
+ * </pre>
+ */
+public final class Log {
+
+    /**
+     * Niveles de los mensajes, de más a menos importante
+     */
+    public enum Level {
+        OFF, ERROR, WARN, INFO, DEBUG, TRACE
+    }
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final PrintStream OUTPUT = System.err;
+
+    private static volatile Level level = parseLevel(System.getProperty("champions.log.level"));
+    private static volatile boolean metricsEnabled = Boolean.getBoolean("champions.metrics");
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    static {
+        if (metricsEnabled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Log::printCounters, "champions-metrics"));
+        }
+    }
+
+    private Log() {
+    }
+
+    /**
+     * Establece el nivel mínimo de los mensajes que se escriben
+     */
+    public static void setLevel(Level newLevel) {
+        level = newLevel != null ? newLevel : Level.WARN;
+    }
+
+    /**
+     * Activa o desactiva los contadores
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        metricsEnabled = enabled;
+    }
+
+    /**
+     * Indica si los mensajes de un nivel se escriben
+     */
+    public static boolean isEnabled(Level messageLevel) {
+        return messageLevel.ordinal() <= level.ordinal() && messageLevel != Level.OFF;
+    }
+
+    /**
+     * Indica si los contadores están activos
+     */
+    public static boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public static void error(String source, String message, Throwable cause) {
+        log(Level.ERROR, source, message, cause);
+    }
+
+    public static void warn(String source, String message) {
+        log(Level.WARN, source, message, null);
+    }
+
+    public static void warn(String source, String message, Throwable cause) {
+        log(Level.WARN, source, message, cause);
+    }
+
+    public static void info(String source, String message) {
+        log(Level.INFO, source, message, null);
+    }
+
+    public static void debug(String source, String message) {
+        log(Level.DEBUG, source, message, null);
+    }
+
+    public static void trace(String source, String message) {
+        log(Level.TRACE, source, message, null);
+    }
+
+    /**
+     * Escribe un mensaje si su nivel está activo. La causa, si la hay, se
+     * escribe completa solo en el nivel DEBUG o superior; si no, solo su mensaje.
+     * @param messageLevel Nivel del mensaje
+     * @param source Origen del mensaje (por ejemplo, el nombre de la clase)
+     * @param message Texto del mensaje
+     * @param cause Excepción asociada, o null
+     */
+    public static void log(Level messageLevel, String source, String message, Throwable cause) {
+        if (!isEnabled(messageLevel)) {
+            return;
+        }
+
+        StringBuilder line = new StringBuilder();
+        line.append(LocalDateTime.now().format(TIME_FORMAT))
+                .append(' ').append(messageLevel)
+                .append(" [").append(Thread.currentThread().getName()).append("] ")
+                .append(source).append(": ").append(message);
+        if (cause != null && !isEnabled(Level.DEBUG)) {
+            line.append(" (").append(cause).append(')');
+        }
+
+        synchronized (OUTPUT) {
+            OUTPUT.println(line);
+            if (cause != null && isEnabled(Level.DEBUG)) {
+                cause.printStackTrace(OUTPUT);
+            }
+        }
+    }
+
+    /**
+     * Suma uno a un contador, si los contadores están activos
+     * @param name Nombre del contador (por ejemplo, "sort.eliminations")
+     */
+    public static void count(String name) {
+        count(name, 1);
+    }
+
+    /**
+     * Suma una cantidad a un contador, si los contadores están activos
+     * @param name Nombre del contador
+     * @param delta Cantidad a sumar
+     */
+    public static void count(String name, long delta) {
+        if (!metricsEnabled) {
+            return;
+        }
+        COUNTERS.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Obtiene el valor actual de los contadores, ordenados por nombre
+     */
+    public static Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : COUNTERS.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().sum());
+        }
+        return values;
+    }
+
+    /**
+     * Pone a cero todos los contadores
+     */
+    public static void resetCounters() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * Escribe el valor de todos los contadores
+     */
+    public static void printCounters() {
+        synchronized (OUTPUT) {
+            for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+                OUTPUT.println("metric " + entry.getKey() + "=" + entry.getValue());
+            }
+        }
+    }
+
+    private static Level parseLevel(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Level.WARN;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.WARN;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo proyectado en memoria (FileChannel.map) en modo solo lectura.
+ * El contenido lo gestiona el sistema operativo fuera del heap de Java, de
+ * modo que abrir un archivo grande no copia sus bytes en memoria de la JVM.
+ * Como cada proyección admite como mucho 2 GB, el archivo se divide en
+ * segmentos consecutivos.
+ *
+ * Hay que cerrarlo al terminar de leer: close() libera la proyección en ese
+ * momento, sin esperar al recolector de basura, de modo que el archivo se
+ * puede reemplazar a continuación (en Windows no se puede mientras siga
+ * proyectado). Después de cerrarlo, cualquier lectura lanza IOException.
+ */
+final class MappedFile implements Closeable {
+
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    // Liberación inmediata de una proyección (sun.misc.Unsafe.invokeCleaner, Java 9+), o null si no existe
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field instance = unsafeClass.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            unsafe = instance.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            Log.debug("MappedFile", "Las proyecciones se liberarán con el recolector de basura: " + e);
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedFile(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Proyecta un archivo completo en memoria
+     * @param path Ruta del archivo
+     * @return Archivo proyectado
+     * @throws IOException Si el archivo no se puede abrir
+     */
+    static MappedFile open(Path path) throws IOException {
+        // La proyección sigue siendo válida después de cerrar el canal
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+
+            for (int i = 0; i < segmentCount; i++) {
+                long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(SEGMENT_SIZE, size - position));
+            }
+
+            return new MappedFile(segments, size);
+        }
+    }
+
+    /**
+     * Obtiene el tamaño del archivo en bytes
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Obtiene una vista de una zona del archivo. Si la zona cae dentro de un
+     * segmento no se copia; solo si cruza el límite entre dos segmentos se
+     * copia a un buffer en el heap.
+     * @param position Posición inicial
+     * @param length Número de bytes
+     * @return Buffer con la zona, listo para leer
+     * @throws IOException Si la zona excede el tamaño del archivo
+     */
+    ByteBuffer slice(long position, int length) throws IOException {
+        MappedByteBuffer[] segments = segments();
+        if (position < 0 || length < 0 || position + length > size) {
+            throw new IOException("Lectura fuera del archivo: " + position + "+" + length + " de " + size);
+        }
+
+        int segment = (int) (position / SEGMENT_SIZE);
+        int offset = (int) (position % SEGMENT_SIZE);
+
+        if (offset + length <= segments[segment].capacity()) {
+            ByteBuffer view = segments[segment].duplicate();
+            view.position(offset);
+            view.limit(offset + length);
+            return view.slice();
+        }
+
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        long current = position;
+        while (copy.hasRemaining()) {
+            ByteBuffer view = segments[(int) (current / SEGMENT_SIZE)].duplicate();
+            view.position((int) (current % SEGMENT_SIZE));
+            if (view.remaining() > copy.remaining()) {
+                view.limit(view.position() + copy.remaining());
+            }
+            current += view.remaining();
+            copy.put(view);
+        }
+        copy.flip();
+        return copy;
+    }
+
+    /**
+     * Lee un entero de 4 bytes (big-endian) en una posición del archivo
+     */
+    int getInt(long position) throws IOException {
+        return slice(position, 4).getInt();
+    }
+
+    /**
+     * Libera la proyección. Las vistas obtenidas con slice dejan de ser válidas.
+     */
+    @Override
+    public void close() {
+        MappedByteBuffer[] released = segments;
+        segments = null;
+        if (released == null || INVOKE_CLEANER == null) {
+            return;
+        }
+
+        for (MappedByteBuffer segment : released) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, segment);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                Log.debug("MappedFile", "No se pudo liberar la proyección: " + e);
+                return;
+            }
+        }
+    }
+
+    private MappedByteBuffer[] segments() throws IOException {
+        MappedByteBuffer[] current = segments;
+        if (current == null) {
+            throw new IOException("El archivo proyectado ya está cerrado");
+        }
+        return current;
+    }
+
+    /**
+     * Crea un flujo de lectura secuencial sobre el archivo proyectado. Al
+     * cerrar el flujo se cierra también el archivo.
+     */
+    InputStream newInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() throws IOException {
+                MappedByteBuffer[] segments = segments();
+                if (position >= size) {
+                    return -1;
+                }
+                byte value = segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+                position++;
+                return value & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int count) throws IOException {
+                MappedByteBuffer[] segments = segments();
+                if (count == 0) {
+                    return 0;
+                }
+                if (position >= size) {
+                    return -1;
+                }
+
+                ByteBuffer view = segments[(int) (position / SEGMENT_SIZE)].duplicate();
+                view.position((int) (position % SEGMENT_SIZE));
+                int read = Math.min(count, view.remaining());
+                view.get(buffer, offset, read);
+                position += read;
+                return read;
+            }
+
+            @Override
+            public long skip(long count) {
+                long skipped = Math.max(0, Math.min(count, size - position));
+                position += skipped;
+                return skipped;
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, size - position);
+            }
+
+            @Override
+            public void close() {
+                MappedFile.this.close();
+            }
+        };
+    }
+}
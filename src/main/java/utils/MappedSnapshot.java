@@ -0,0 +1,200 @@
+package utils;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Lector de un archivo binario de datos (ver BinarySnapshotCodec) proyectado
+ * en memoria, de modo que el archivo no se copia al heap. Al abrirlo solo se
+ * recorren las longitudes de los textos y registros para conocer su posición;
+ * forEachDecoded decodifica después todos los registros en orden, sin
+ * conservarlos. Cada texto se decodifica la primera vez que un registro lo usa
+ * y se reutiliza en los siguientes. Hay que cerrarlo al terminar para liberar
+ * la proyección.
+ *
+ * No ofrece acceso perezoso a registros sueltos: la carga necesita todos los
+ * registros para construir las estructuras del modelo, así que una lista que
+ * decodificara cada registro al pedirlo no tenía usos y se retiró.
+ *
+ * @param <T> El tipo de los registros (equipos o eliminaciones)
+ */
+public final class MappedSnapshot<T> implements Closeable {
+
+    /**
+     * Decodificador del contenido de un registro
+     */
+    private interface RecordDecoder<T> {
+        T decode(ByteBuffer record, BinarySnapshotCodec.StringSource strings) throws IOException;
+    }
+
+    private final MappedFile file;
+    private final RecordDecoder<T> decoder;
+    private final long journalSequence;
+    private final long[] stringOffsets;
+    private final String[] stringCache;
+    private final long[] recordOffsets;
+
+    private MappedSnapshot(MappedFile file, int expectedKind, RecordDecoder<T> decoder) throws IOException {
+        this.file = file;
+        this.decoder = decoder;
+
+        // Encabezado: identificador, versión, tipo y secuencia del diario
+        ByteBuffer header = file.slice(0, 15);
+        byte[] magic = new byte[BinarySnapshotCodec.MAGIC.length];
+        header.get(magic);
+        int version = header.getShort() & 0xFFFF;
+        int kind = header.get() & 0xFF;
+        BinarySnapshotCodec.checkHeader(magic, version, kind, expectedKind);
+        this.journalSequence = header.getLong();
+
+        long position = 15;
+
+        // Tabla de textos: solo se guardan las posiciones
+        int stringCount = file.getInt(position);
+        position += 4;
+        if (stringCount < 0) {
+            throw new IOException("Tabla de textos dañada");
+        }
+        this.stringOffsets = new long[stringCount];
+        this.stringCache = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            stringOffsets[i] = position;
+            position = skipLengthPrefixed(position);
+        }
+
+        // Registros: igual, solo las posiciones
+        int recordCount = file.getInt(position);
+        position += 4;
+        if (recordCount < 0) {
+            throw new IOException("Número de registros dañado");
+        }
+        this.recordOffsets = new long[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            if ((i & 0xFFF) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Operación cancelada");
+            }
+            recordOffsets[i] = position;
+            position = skipLengthPrefixed(position);
+        }
+    }
+
+    /**
+     * Abre un archivo binario de equipos
+     * @param filePath Ruta del archivo
+     * @return Lector del archivo, que hay que cerrar al terminar
+     * @throws IOException Si el archivo no existe o no tiene el formato esperado
+     */
+    public static MappedSnapshot<ChampionsTeam> openTeams(String filePath) throws IOException {
+        return open(filePath, BinarySnapshotCodec.KIND_TEAMS, BinarySnapshotCodec::decodeTeam);
+    }
+
+    /**
+     * Abre un archivo binario de eliminaciones
+     * @param filePath Ruta del archivo
+     * @return Lector del archivo, que hay que cerrar al terminar
+     * @throws IOException Si el archivo no existe o no tiene el formato esperado
+     */
+    public static MappedSnapshot<Elimination> openEliminations(String filePath) throws IOException {
+        return open(filePath, BinarySnapshotCodec.KIND_ELIMINATIONS, BinarySnapshotCodec::decodeElimination);
+    }
+
+    private static <T> MappedSnapshot<T> open(String filePath, int kind, RecordDecoder<T> decoder) throws IOException {
+        MappedFile file = MappedFile.open(Paths.get(filePath));
+        try {
+            return new MappedSnapshot<>(file, kind, decoder);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene el número de registros del archivo
+     */
+    public int size() {
+        return recordOffsets.length;
+    }
+
+    /**
+     * Obtiene el último cambio del diario incluido en el archivo (ver ChangeJournal)
+     * @return Secuencia del diario, o 0 si el archivo se guardó sin diario
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * Decodifica todos los registros en orden y los entrega al consumidor sin
+     * conservarlos, de modo que no se retiene memoria por ellos
+     * @param consumer Destino de cada registro
+     * @param progress Receptor del porcentaje decodificado, o null
+     * @throws IOException Si un registro está dañado o la operación se cancela
+     */
+    public void forEachDecoded(Consumer<T> consumer, IntConsumer progress) throws IOException {
+        int lastPercent = -1;
+
+        for (int i = 0; i < recordOffsets.length; i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Operación cancelada");
+            }
+
+            consumer.accept(decodeRecord(i));
+
+            if (progress != null) {
+                int percent = (int) ((long) (i + 1) * 100 / recordOffsets.length);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    progress.accept(percent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Libera la proyección del archivo, que a partir de ahí se puede reemplazar
+     */
+    @Override
+    public void close() {
+        file.close();
+    }
+
+    private T decodeRecord(int index) throws IOException {
+        long offset = recordOffsets[index];
+        int length = file.getInt(offset);
+        return decoder.decode(file.slice(offset + 4, length), this::string);
+    }
+
+    private String string(int index) throws IOException {
+        BinarySnapshotCodec.checkStringIndex(index, stringOffsets.length);
+        if (index < 0) {
+            return null;
+        }
+
+        String value = stringCache[index];
+        if (value == null) {
+            long offset = stringOffsets[index];
+            int length = file.getInt(offset);
+            ByteBuffer bytes = file.slice(offset + 4, length);
+            value = StandardCharsets.UTF_8.decode(bytes).toString();
+            stringCache[index] = value;
+        }
+        return value;
+    }
+
+    private long skipLengthPrefixed(long position) throws IOException {
+        int length = file.getInt(position);
+        if (length < 0 || position + 4 + length > file.size()) {
+            throw new IOException("Archivo binario dañado en la posición " + position);
+        }
+        return position + 4 + length;
+    }
+}
@@ -0,0 +1,274 @@
+package utils;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de datos sintéticos reproducibles para pruebas de rendimiento.
+ *
+ * Los datos dependen solo de la semilla y del número de registros: la misma
+ * combinación produce siempre los mismos equipos y eliminaciones. Los
+ * resultados son secuencias perezosas que se pueden recorrer varias veces
+ * (cada recorrido vuelve a generar los mismos registros), de modo que se
+ * pueden escribir millones de registros sin tenerlos todos en memoria.
+ *
+ * Uso desde la línea de comandos (el formato lo decide la extensión):
+ * <pre>
+ *   java utils.SyntheticDataGenerator &lt;directorio&gt; [equipos] [eliminaciones] [semilla] [json|cbin]
+ * </pre>
+ * genera "champions.json" y "eliminaciones.json" (o ".cbin") en el directorio.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String[] CITIES = {
+            "Madrid", "Barcelona", "Milan", "Munich", "Liverpool", "Manchester", "Amsterdam", "Lisbon",
+            "Porto", "Turin", "Paris", "Marseille", "Lyon", "Glasgow", "Belgrade", "Bucharest",
+            "Dortmund", "Hamburg", "Nottingham", "Birmingham", "London", "Rome", "Naples", "Seville",
+            "Valencia", "Bilbao", "Eindhoven", "Rotterdam", "Brussels", "Vienna", "Prague", "Kyiv",
+            "Istanbul", "Athens", "Zagreb", "Copenhagen", "Stockholm", "Oslo", "Warsaw", "Budapest"
+    };
+
+    private static final String[] PREFIXES = {
+            "Real", "FC", "AC", "Inter", "Sporting", "Athletic", "Olympique", "Dynamo",
+            "Racing", "Union", "Club", "Atlético", "Red Star", "Steaua", "Borussia", "Celtic"
+    };
+
+    // Fases con su frecuencia relativa en una eliminación
+    private static final String[] PHASES = {
+            "Octavos de final", "Cuartos de final", "Semifinal", "Fase de grupos", "Final",
+            "Ronda preliminar", "Dieciseisavos de final"
+    };
+    private static final int[] PHASE_FREQUENCIES = {35, 25, 20, 10, 4, 4, 2};
+
+    private static final int FIRST_SEASON = 1955;
+    private static final int SEASON_COUNT = 70;
+    private static final int MAX_TITLES = 15;
+
+    private final long seed;
+
+    /**
+     * Constructor del generador
+     * @param seed Semilla de la que dependen todos los datos generados
+     */
+    public SyntheticDataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Nombre del equipo en una posición: combinaciones de prefijo y ciudad y,
+     * cuando se agotan, un número de serie. Los nombres no se repiten.
+     * @param index Posición del equipo (0-based)
+     * @return Nombre del equipo
+     */
+    public static String teamName(int index) {
+        int combinations = CITIES.length * PREFIXES.length;
+        String name = PREFIXES[(index / CITIES.length) % PREFIXES.length] + " " + CITIES[index % CITIES.length];
+        return index < combinations ? name : name + " " + (index / combinations + 1);
+    }
+
+    /**
+     * Genera equipos campeones. La mayoría tiene uno o dos títulos y unos
+     * pocos acumulan muchos; los años de los títulos no se repiten dentro de
+     * un equipo y van en orden ascendente.
+     * @param count Número de equipos
+     * @return Secuencia de equipos
+     */
+    public Iterable<ChampionsTeam> teams(int count) {
+        return () -> new GeneratingIterator<ChampionsTeam>(count, seed) {
+            @Override
+            ChampionsTeam generate(int index, SplittableRandom random) {
+                return createTeam(index, random);
+            }
+        };
+    }
+
+    /**
+     * Genera eliminaciones. Los rivales siguen una distribución sesgada hacia
+     * los primeros equipos (unos pocos rivales se repiten mucho) y las fases
+     * una frecuencia parecida a la real: más octavos y cuartos que finales.
+     * @param count Número de eliminaciones
+     * @return Secuencia de eliminaciones
+     */
+    public Iterable<Elimination> eliminations(int count) {
+        // Rivales posibles: crece con el tamaño, con un máximo razonable
+        int opponents = Math.max(1, Math.min(count / 4, 5000));
+
+        return () -> new GeneratingIterator<Elimination>(count, seed ^ 0x5DEECE66DL) {
+            @Override
+            Elimination generate(int index, SplittableRandom random) {
+                return createElimination(random, opponents);
+            }
+        };
+    }
+
+    /**
+     * Genera los equipos en una lista
+     */
+    public List<ChampionsTeam> teamsList(int count) {
+        return toList(teams(count), count);
+    }
+
+    /**
+     * Genera las eliminaciones en una lista
+     */
+    public List<Elimination> eliminationsList(int count) {
+        return toList(eliminations(count), count);
+    }
+
+    /**
+     * Escribe equipos generados en un archivo, sin tenerlos todos en memoria
+     * @param filePath Ruta del archivo; la extensión decide el formato (JSON o binario)
+     * @param count Número de equipos
+     * @throws Exception Si ocurre un error al escribir
+     */
+    public void writeTeams(String filePath, int count) throws Exception {
+        FileManager fileManager = new FileManager();
+        fileManager.setCompactOutput(true);
+        fileManager.saveTeams(teams(count), filePath, null);
+    }
+
+    /**
+     * Escribe eliminaciones generadas en un archivo, sin tenerlas todas en memoria
+     * @param filePath Ruta del archivo; la extensión decide el formato (JSON o binario)
+     * @param count Número de eliminaciones
+     * @throws Exception Si ocurre un error al escribir
+     */
+    public void writeEliminations(String filePath, int count) throws Exception {
+        FileManager fileManager = new FileManager();
+        fileManager.setCompactOutput(true);
+        fileManager.saveEliminations(eliminations(count), filePath, null);
+    }
+
+    /**
+     * Genera los archivos de datos desde la línea de comandos (ver la
+     * descripción de la clase)
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Uso: SyntheticDataGenerator <directorio> [equipos] [eliminaciones] [semilla] [json|cbin]");
+            System.exit(1);
+        }
+
+        File directory = new File(args[0]);
+        int teamCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int eliminationCount = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        String extension = args.length > 4 && "cbin".equalsIgnoreCase(args[4]) ? BinarySnapshotCodec.EXTENSION : ".json";
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("No se pudo crear el directorio: " + directory);
+        }
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+        String teamsPath = new File(directory, "champions" + extension).getPath();
+        String eliminationsPath = new File(directory, "eliminaciones" + extension).getPath();
+
+        long start = System.nanoTime();
+        generator.writeTeams(teamsPath, teamCount);
+        System.out.printf("%s: %d equipos en %d ms%n", teamsPath, teamCount, (System.nanoTime() - start) / 1_000_000);
+
+        start = System.nanoTime();
+        generator.writeEliminations(eliminationsPath, eliminationCount);
+        System.out.printf("%s: %d eliminaciones en %d ms%n", eliminationsPath, eliminationCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ChampionsTeam createTeam(int index, SplittableRandom random) {
+        // Distribución sesgada: la mayoría de equipos tiene pocos títulos
+        int titleCount = 1 + (int) ((MAX_TITLES - 1) * Math.pow(random.nextDouble(), 6));
+
+        boolean[] taken = new boolean[SEASON_COUNT];
+        for (int chosen = 0; chosen < titleCount; ) {
+            int offset = random.nextInt(SEASON_COUNT);
+            if (!taken[offset]) {
+                taken[offset] = true;
+                chosen++;
+            }
+        }
+
+        ChampionsTeam team = new ChampionsTeam(teamName(index));
+        for (int offset = 0; offset < SEASON_COUNT; offset++) {
+            if (taken[offset]) {
+                team.addTitle(FIRST_SEASON + 1 + offset, 5 + random.nextInt(13));
+            }
+        }
+
+        return team;
+    }
+
+    private static Elimination createElimination(SplittableRandom random, int opponents) {
+        int startYear = FIRST_SEASON + random.nextInt(SEASON_COUNT);
+        String season = startYear + "-" + (startYear + 1);
+        String phase = PHASES[pickWeighted(random, PHASE_FREQUENCIES)];
+        String opponent = teamName((int) (opponents * Math.pow(random.nextDouble(), 3)));
+
+        String resultHome = random.nextInt(4) + "-" + random.nextInt(4);
+        String resultAway = random.nextInt(4) + "-" + random.nextInt(5);
+        String description = "Eliminación ante " + opponent + " en " + phase.toLowerCase()
+                + " de la temporada " + season + ".";
+
+        return new Elimination(season, phase, opponent, resultHome, resultAway, description, "");
+    }
+
+    private static int pickWeighted(SplittableRandom random, int[] frequencies) {
+        int total = 0;
+        for (int frequency : frequencies) {
+            total += frequency;
+        }
+
+        int value = random.nextInt(total);
+        for (int i = 0; i < frequencies.length; i++) {
+            value -= frequencies[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return frequencies.length - 1;
+    }
+
+    private static <T> List<T> toList(Iterable<T> items, int count) {
+        List<T> list = new ArrayList<>(count);
+        for (T item : items) {
+            list.add(item);
+        }
+        return list;
+    }
+
+    /**
+     * Recorrido que genera los registros uno a uno con su propio generador
+     * aleatorio, de modo que cada recorrido produce la misma secuencia
+     */
+    private abstract static class GeneratingIterator<T> implements Iterator<T> {
+        private final int count;
+        private final SplittableRandom random;
+        private int index;
+
+        GeneratingIterator(int count, long seed) {
+            this.count = count;
+            this.random = new SplittableRandom(seed);
+            this.index = 0;
+        }
+
+        abstract T generate(int index, SplittableRandom random);
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public T next() {
+            if (index >= count) {
+                throw new NoSuchElementException();
+            }
+            return generate(index++, random);
+        }
+    }
+}
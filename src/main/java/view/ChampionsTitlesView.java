@@ -1,32 +1,38 @@
 package view;
 
+import model.data.ChampionsTeam;
+
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.event.ListSelectionListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.util.List;
 
 public class ChampionsTitlesView extends JFrame {
     private JTable teamsTable;
-    private DefaultTableModel tableModel;
+    private TeamsTableModel tableModel;
     private JButton btnAddTeam;
     private JButton btnEditTeam;
     private JButton btnDeleteTeam;
     private JButton btnBack;
     private JButton btnLoadFile;
+    private JButton btnExportFile;
     private JTextField searchField;
     private JButton btnSearch;
     private JTextArea detailsArea;
     private JComboBox<String> sortOptionComboBox;
     private JLabel lblFilePath;
+    private TaskProgressPanel progressPanel;
+    private JLabel lblSaveStatus;
 
     public ChampionsTitlesView() {
         // Configuración de la ventana
         setTitle("Champions League - Equipos Campeones");
         setSize(900, 600);
         setLocationRelativeTo(null);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // El controlador cierra la aplicación tras escribir los cambios pendientes
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setLayout(new BorderLayout(10, 10));
         getContentPane().setBackground(new Color(240, 248, 255));
 
@@ -53,9 +59,18 @@ public class ChampionsTitlesView extends JFrame {
 
         add(centralPanel, BorderLayout.CENTER);
 
-        // Panel de botones de acción
-        JPanel buttonPanel = createButtonPanel();
-        add(buttonPanel, BorderLayout.SOUTH);
+        // Panel de botones de acción, con el progreso de carga/guardado encima
+        JPanel southPanel = new JPanel(new BorderLayout());
+        progressPanel = new TaskProgressPanel();
+        southPanel.add(progressPanel, BorderLayout.NORTH);
+        southPanel.add(createButtonPanel(), BorderLayout.CENTER);
+
+        lblSaveStatus = new JLabel(" ", SwingConstants.CENTER);
+        lblSaveStatus.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+        lblSaveStatus.setOpaque(true);
+        lblSaveStatus.setBackground(new Color(220, 220, 220));
+        southPanel.add(lblSaveStatus, BorderLayout.SOUTH);
+        add(southPanel, BorderLayout.SOUTH);
     }
 
     private JPanel createTitlePanel() {
@@ -113,6 +128,11 @@ public class ChampionsTitlesView extends JFrame {
         btnLoadFile.setForeground(Color.WHITE);
         btnLoadFile.setFocusPainted(false);
 
+        btnExportFile = new JButton("Exportar");
+        btnExportFile.setBackground(new Color(255, 165, 0));
+        btnExportFile.setForeground(Color.WHITE);
+        btnExportFile.setFocusPainted(false);
+
         panel.add(lblSearch);
         panel.add(searchField);
         panel.add(btnSearch);
@@ -121,6 +141,7 @@ public class ChampionsTitlesView extends JFrame {
         panel.add(sortOptionComboBox);
         panel.add(Box.createRigidArea(new Dimension(20, 0))); // Añadir espacio antes del botón
         panel.add(btnLoadFile);
+        panel.add(btnExportFile);
 
         return panel;
     }
@@ -129,14 +150,8 @@ public class ChampionsTitlesView extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(new Color(240, 248, 255));
 
-        // Crear modelo de tabla
-        String[] columnNames = {"Equipo", "Títulos", "Último Título", "Goleador (Último título)"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Hacer que la tabla no sea editable
-            }
-        };
+        // Crear modelo de tabla (las filas se calculan al mostrarse)
+        tableModel = new TeamsTableModel();
 
         teamsTable = new JTable(tableModel);
         teamsTable.setRowHeight(25);
@@ -227,19 +242,9 @@ public class ChampionsTitlesView extends JFrame {
         });
     }
 
-    // Métodos para añadir datos a la tabla
-    public void setTeamsData(Object[][] data) {
-        System.out.println("Configurando datos en la tabla: " + data.length + " filas");
-
-        tableModel.setRowCount(0); // Limpiar tabla
-        for (Object[] row : data) {
-            tableModel.addRow(row);
-        }
-
-        System.out.println("La tabla ahora tiene " + tableModel.getRowCount() + " filas");
-
-        // Forzar repintado
-        teamsTable.repaint();
+    // Muestra los equipos en la tabla; la lista no se copia
+    public void setTeams(List<ChampionsTeam> teams) {
+        tableModel.setTeams(teams);
 
         // Si hay datos, seleccionar la primera fila
         if (tableModel.getRowCount() > 0) {
@@ -247,6 +252,19 @@ public class ChampionsTitlesView extends JFrame {
         }
     }
 
+    // Habilita o deshabilita las acciones que modifican los datos (por ejemplo, durante una carga)
+    public void setEditingEnabled(boolean enabled) {
+        btnAddTeam.setEnabled(enabled);
+        btnEditTeam.setEnabled(enabled);
+        btnDeleteTeam.setEnabled(enabled);
+        btnLoadFile.setEnabled(enabled);
+    }
+
+    // Muestra el estado del guardado de los cambios
+    public void setSaveStatus(String status) {
+        lblSaveStatus.setText(status);
+    }
+
     public void updateFilePathLabel(String filePath) {
         lblFilePath.setText("Archivo: " + filePath);
     }
@@ -283,6 +301,8 @@ public class ChampionsTitlesView extends JFrame {
 
     public void addLoadFileButtonListener(ActionListener listener) {btnLoadFile.addActionListener(listener);}
 
+    public void addExportFileButtonListener(ActionListener listener) {btnExportFile.addActionListener(listener);}
+
     public void addTableSelectionListener(ListSelectionListener listener) {
         teamsTable.getSelectionModel().addListSelectionListener(listener);
     }
@@ -304,6 +324,15 @@ public class ChampionsTitlesView extends JFrame {
         return teamsTable;
     }
 
+    // Obtiene el equipo mostrado en una fila de la vista (tiene en cuenta el orden de la tabla)
+    public ChampionsTeam getTeamAtRow(int viewRow) {
+        return tableModel.getTeamAt(teamsTable.convertRowIndexToModel(viewRow));
+    }
+
+    public TaskProgressPanel getProgressPanel() {
+        return progressPanel;
+    }
+
     public void showView() {
         setVisible(true);
     }
@@ -7,7 +7,6 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.filechooser.FileNameExtensionFilter;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.io.File;
@@ -18,7 +17,7 @@ import java.util.List;
  */
 public class EliminationsRMView extends JFrame {
     private JTable eliminationsTable;
-    private DefaultTableModel tableModel;
+    private EliminationsTableModel tableModel;
     private JTextArea descriptionArea;
     private JLabel imageLabel;
     private JPanel detailsPanel;
@@ -31,6 +30,8 @@ public class EliminationsRMView extends JFrame {
     private JButton backButton;
     private JButton nextEliminationButton;
     private JButton previousEliminationButton;
+    private TaskProgressPanel progressPanel;
+    private JLabel saveStatusLabel;
 
     /**
      * Constructor de la vista.
@@ -44,7 +45,8 @@ public class EliminationsRMView extends JFrame {
      */
     private void setupUI() {
         setTitle("Eliminaciones del Real Madrid en Champions League");
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // El controlador cierra la aplicación tras escribir los cambios pendientes
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setSize(900, 600);
         setLocationRelativeTo(null);
 
@@ -80,13 +82,7 @@ public class EliminationsRMView extends JFrame {
         JPanel centerPanel = new JPanel(new GridLayout(1, 2, 10, 0));
 
         // Tabla de eliminaciones
-        String[] columnNames = {"Temporada", "Fase", "Rival"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Hacer la tabla no editable
-            }
-        };
+        tableModel = new EliminationsTableModel();
         eliminationsTable = new JTable(tableModel);
         eliminationsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         eliminationsTable.getTableHeader().setReorderingAllowed(false);
@@ -131,17 +127,26 @@ public class EliminationsRMView extends JFrame {
 
         // Panel inferior con botones
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        saveStatusLabel = new JLabel(" ");
+        saveStatusLabel.setFont(saveStatusLabel.getFont().deriveFont(Font.ITALIC));
         backButton = new JButton("Volver al Menú Principal");
         addButton = new JButton("Agregar Eliminación");
         editButton = new JButton("Editar Eliminación");
         deleteButton = new JButton("Eliminar");
 
+        buttonPanel.add(saveStatusLabel);
         buttonPanel.add(addButton);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(backButton);
 
-        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        // Progreso de carga/guardado sobre los botones
+        JPanel southPanel = new JPanel(new BorderLayout());
+        progressPanel = new TaskProgressPanel();
+        southPanel.add(progressPanel, BorderLayout.NORTH);
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+
+        mainPanel.add(southPanel, BorderLayout.SOUTH);
     }
 
     /**
@@ -159,22 +164,48 @@ public class EliminationsRMView extends JFrame {
     }
 
     /**
-     * Actualiza la tabla con los datos de eliminaciones.
+     * Obtiene el panel de progreso de las tareas en segundo plano.
      */
-    public void updateEliminationsTable(List<Elimination> eliminations) {
-        tableModel.setRowCount(0); // Limpiar tabla
+    public TaskProgressPanel getProgressPanel() {
+        return progressPanel;
+    }
 
-        for (Elimination e : eliminations) {
-            Object[] row = {e.getSeason(), e.getPhase(), e.getOpponent()};
-            tableModel.addRow(row);
-        }
+    /**
+     * Muestra el estado del guardado de los cambios.
+     */
+    public void setSaveStatus(String status) {
+        saveStatusLabel.setText(status);
+    }
+
+    /**
+     * Habilita o deshabilita las acciones que modifican los datos.
+     */
+    public void setEditingEnabled(boolean enabled) {
+        addButton.setEnabled(enabled);
+        editButton.setEnabled(enabled);
+        deleteButton.setEnabled(enabled);
+    }
+
+    /**
+     * Actualiza la tabla con los datos de eliminaciones. Solo se notifican
+     * las filas que cambiaron respecto a la lista anterior; la lista no se copia.
+     */
+    public void updateEliminationsTable(List<Elimination> eliminations) {
+        tableModel.setEliminations(eliminations);
 
-        // Si hay eliminaciones, seleccionar la primera
-        if (!eliminations.isEmpty()) {
+        // Si no queda ninguna fila seleccionada, seleccionar la primera
+        if (!eliminations.isEmpty() && eliminationsTable.getSelectedRow() < 0) {
             eliminationsTable.setRowSelectionInterval(0, 0);
         }
     }
 
+    /**
+     * Vuelve a pintar la fila de una eliminación modificada en el sitio.
+     */
+    public void refreshElimination(Elimination elimination) {
+        tableModel.eliminationChanged(elimination);
+    }
+
     /**
      * Muestra los detalles de una eliminación seleccionada.
      */
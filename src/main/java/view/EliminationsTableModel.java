@@ -0,0 +1,133 @@
+package view;
+
+import model.data.Elimination;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modelo de la tabla de eliminaciones respaldado por la lista de resultados
+ * actual (todas, una búsqueda o un orden), sin copiar sus datos. Las celdas se
+ * calculan al pintarse, por lo que solo se leen las filas visibles.
+ *
+ * Al cambiar de lista se compara con la anterior por identidad y se notifica
+ * solo la zona que difiere (filas insertadas, eliminadas o actualizadas), con
+ * un único evento; si no hay nada en común se notifica un cambio completo.
+ */
+public class EliminationsTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = {"Temporada", "Fase", "Rival"};
+
+    private List<Elimination> eliminations;
+
+    /**
+     * Constructor de un modelo sin eliminaciones
+     */
+    public EliminationsTableModel() {
+        this.eliminations = Collections.emptyList();
+    }
+
+    /**
+     * Establece las eliminaciones a mostrar y notifica a la tabla solo la
+     * zona que cambió. La lista no se copia: debe ofrecer acceso por posición
+     * eficiente y no cambiar sin volver a llamar a este método.
+     * @param newEliminations Eliminaciones en el orden en que se mostrarán
+     */
+    public void setEliminations(List<Elimination> newEliminations) {
+        List<Elimination> oldEliminations = eliminations;
+        eliminations = newEliminations != null ? newEliminations : Collections.<Elimination>emptyList();
+
+        int oldSize = oldEliminations.size();
+        int newSize = eliminations.size();
+
+        // Tramo inicial y final que no cambiaron
+        int prefix = 0;
+        int maxPrefix = Math.min(oldSize, newSize);
+        while (prefix < maxPrefix && oldEliminations.get(prefix) == eliminations.get(prefix)) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+                && oldEliminations.get(oldSize - 1 - suffix) == eliminations.get(newSize - 1 - suffix)) {
+            suffix++;
+        }
+
+        int oldChanged = oldSize - prefix - suffix;
+        int newChanged = newSize - prefix - suffix;
+
+        if (oldChanged == 0 && newChanged == 0) {
+            return; // Misma lista
+        }
+
+        if (prefix == 0 && suffix == 0) {
+            fireTableDataChanged();
+        } else if (oldChanged == 0) {
+            fireTableRowsInserted(prefix, prefix + newChanged - 1);
+        } else if (newChanged == 0) {
+            fireTableRowsDeleted(prefix, prefix + oldChanged - 1);
+        } else if (oldChanged == newChanged) {
+            fireTableRowsUpdated(prefix, prefix + newChanged - 1);
+        } else {
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Notifica que una eliminación mostrada se modificó en el sitio
+     * @param elimination Eliminación modificada (misma instancia)
+     */
+    public void eliminationChanged(Elimination elimination) {
+        for (int i = 0; i < eliminations.size(); i++) {
+            if (eliminations.get(i) == elimination) {
+                fireTableRowsUpdated(i, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtiene la eliminación mostrada en una fila
+     * @param row Fila del modelo
+     * @return La eliminación de esa fila
+     */
+    public Elimination getEliminationAt(int row) {
+        return eliminations.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return eliminations.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // La tabla no es editable
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Elimination elimination = eliminations.get(row);
+
+        switch (column) {
+            case 0:
+                return elimination.getSeason();
+            case 1:
+                return elimination.getPhase();
+            default:
+                return elimination.getOpponent();
+        }
+    }
+}
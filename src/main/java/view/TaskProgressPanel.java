@@ -0,0 +1,87 @@
+package view;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Panel que muestra el progreso de una tarea en segundo plano (carga o
+ * guardado de archivos) y permite cancelarla. Permanece oculto mientras no
+ * haya ninguna tarea en curso.
+ */
+public class TaskProgressPanel extends JPanel {
+    private final JLabel messageLabel;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private SwingWorker<?, ?> currentTask;
+
+    /**
+     * Constructor del panel
+     */
+    public TaskProgressPanel() {
+        super(new BorderLayout(10, 0));
+        setBorder(new EmptyBorder(5, 15, 5, 15));
+
+        messageLabel = new JLabel();
+        messageLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+
+        cancelButton = new JButton("Cancelar");
+        cancelButton.setFocusPainted(false);
+        cancelButton.addActionListener(e -> {
+            if (currentTask != null) {
+                currentTask.cancel(true);
+            }
+        });
+
+        add(messageLabel, BorderLayout.WEST);
+        add(progressBar, BorderLayout.CENTER);
+        add(cancelButton, BorderLayout.EAST);
+
+        setVisible(false);
+    }
+
+    /**
+     * Muestra el progreso de una tarea hasta que termine. Debe llamarse desde
+     * el hilo de eventos, antes de iniciar la tarea.
+     * @param task Tarea a seguir
+     * @param message Texto descriptivo (por ejemplo, "Cargando equipos...")
+     */
+    public void track(SwingWorker<?, ?> task, String message) {
+        currentTask = task;
+        messageLabel.setText(message);
+        progressBar.setIndeterminate(true);
+        progressBar.setValue(0);
+        progressBar.setString("");
+        cancelButton.setEnabled(true);
+        setVisible(true);
+
+        PropertyChangeListener listener = event -> {
+            if (task != currentTask) {
+                return;
+            }
+
+            if ("progress".equals(event.getPropertyName())) {
+                int percent = (Integer) event.getNewValue();
+                progressBar.setIndeterminate(false);
+                progressBar.setValue(percent);
+                progressBar.setString(percent + "%");
+            } else if ("state".equals(event.getPropertyName())
+                    && event.getNewValue() == SwingWorker.StateValue.DONE) {
+                currentTask = null;
+                setVisible(false);
+            }
+        };
+        task.addPropertyChangeListener(listener);
+    }
+
+    /**
+     * Indica si hay una tarea en curso
+     */
+    public boolean isBusy() {
+        return currentTask != null;
+    }
+}
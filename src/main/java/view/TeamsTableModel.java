@@ -0,0 +1,98 @@
+package view;
+
+import model.data.ChampionsTeam;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modelo de la tabla de equipos respaldado directamente por una lista de
+ * equipos, sin copiar sus datos. Cada celda se calcula en el momento en que
+ * la tabla la pide, de modo que solo se generan los valores de las filas
+ * visibles y cambiar los datos produce un único evento en lugar de uno por fila.
+ */
+public class TeamsTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = {"Equipo", "Títulos", "Último Título", "Goleador (Último título)"};
+
+    private List<ChampionsTeam> teams;
+
+    /**
+     * Constructor de un modelo sin equipos
+     */
+    public TeamsTableModel() {
+        this.teams = Collections.emptyList();
+    }
+
+    /**
+     * Establece los equipos a mostrar. La lista no se copia: debe ofrecer
+     * acceso por posición eficiente y no cambiar sin volver a llamar a este método.
+     * @param teams Equipos en el orden en que se mostrarán
+     */
+    public void setTeams(List<ChampionsTeam> teams) {
+        this.teams = teams != null ? teams : Collections.<ChampionsTeam>emptyList();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Obtiene el equipo mostrado en una fila del modelo
+     * @param row Fila del modelo (no de la vista)
+     * @return El equipo de esa fila
+     */
+    public ChampionsTeam getTeamAt(int row) {
+        return teams.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return teams.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? Integer.class : Object.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // La tabla no es editable
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (row >= teams.size()) {
+            // La lista cambió y la tabla aún no se ha actualizado
+            return null;
+        }
+
+        ChampionsTeam team = teams.get(row);
+        int titleCount = team.getTitleCount();
+
+        switch (column) {
+            case 0:
+                return team.getName();
+            case 1:
+                return titleCount;
+            default:
+                // Columnas del título más reciente
+                int latest = team.getLatestTitleIndex();
+                if (latest < 0) {
+                    return "N/A";
+                }
+                return column == 2
+                        ? (Object) team.getTitleYear(latest)
+                        : team.getTitleGoals(latest) + " goles";
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package model;
+
+import model.data.ChampionsTeam;
+import model.data.Title;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import utils.FileManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChampionsTitlesModelTest {
+
+    @TempDir
+    Path directory;
+
+    private String filePath;
+    private ChampionsTitlesModel model;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        filePath = directory.resolve("champions.json").toString();
+        new FileManager().saveTeams(Arrays.asList(
+                team("Milan", 1994), team("Milan", 1989), team("Ajax", 1995), team("Inter", 2010)), filePath, null);
+        model = new ChampionsTitlesModel();
+        model.loadTeamsFromFile(filePath);
+    }
+
+    @Test
+    void titleAddedAfterRemovingTheFirstDuplicateSurvivesTheReload() throws Exception {
+        compact();
+        model.removeTeam(teamWithYear(1994));
+        model.addTitleToTeam("Milan", new Title(2003, 5));
+        append();
+
+        assertReloadMatchesModel();
+        assertEquals(2, model.getTeamByName("Milan").getTitleCount());
+    }
+
+    @Test
+    void removingTheSecondDuplicateKeepsTheFirst() throws Exception {
+        model.removeTeam(teamWithYear(1989));
+        append();
+
+        assertReloadMatchesModel();
+        assertEquals(1994, model.getTeamByName("Milan").getTitleYear(0));
+    }
+
+    @Test
+    void renameOntoAnExistingNameDoesNotRedirectLaterChanges() throws Exception {
+        ChampionsTeam inter = model.getTeamByName("Inter");
+        model.renameTeam(inter, "Ajax");
+        model.addTitleToTeam("Ajax", new Title(2019, 6));
+        model.removeTeam(inter);
+        append();
+
+        assertReloadMatchesModel();
+        assertEquals(2, model.getTeamByName("Ajax").getTitleCount());
+    }
+
+    @Test
+    void editedDuplicateIsUpdatedOnReload() throws Exception {
+        compact();
+        ChampionsTeam second = teamWithYear(1989);
+        ChampionsTeam edited = new ChampionsTeam(second);
+        edited.addTitle(1990, 4);
+        model.updateTeam(second, edited);
+        append();
+
+        assertReloadMatchesModel();
+    }
+
+    @Test
+    void randomChangesMatchTheReloadedFile() throws Exception {
+        Random random = new Random(7L);
+        String[] names = {"Milan", "Ajax", "Inter", "Porto"};
+
+        for (int step = 0; step < 300; step++) {
+            List<ChampionsTeam> teams = model.getAllTeams();
+            int operation = teams.isEmpty() ? 0 : random.nextInt(5);
+            String name = names[random.nextInt(names.length)];
+
+            switch (operation) {
+                case 0:
+                    model.addTeam(team(name, 1955 + random.nextInt(70)));
+                    break;
+                case 1:
+                    model.addTitleToTeam(name, new Title(1955 + random.nextInt(70), random.nextInt(15)));
+                    break;
+                case 2:
+                    model.renameTeam(teams.get(random.nextInt(teams.size())), name);
+                    break;
+                case 3: {
+                    ChampionsTeam original = teams.get(random.nextInt(teams.size()));
+                    ChampionsTeam edited = new ChampionsTeam(original);
+                    edited.addTitle(1955 + random.nextInt(70), random.nextInt(15));
+                    edited.setName(random.nextBoolean() ? name : original.getName());
+                    model.updateTeam(original, edited);
+                    break;
+                }
+                default:
+                    model.removeTeam(teams.get(random.nextInt(teams.size())));
+                    break;
+            }
+
+            // Escrituras al diario, compactaciones y recargas intercaladas
+            int save = random.nextInt(10);
+            if (save < 4) {
+                append();
+            } else if (save == 4) {
+                compact();
+            } else if (save == 5) {
+                append();
+                assertReloadMatchesModel();
+                model.loadTeamsFromFile(filePath);
+            }
+        }
+
+        append();
+        assertReloadMatchesModel();
+    }
+
+    private void append() throws Exception {
+        model.prepareSave(false).run(null);
+    }
+
+    private void compact() throws Exception {
+        model.prepareSave(true).run(null);
+    }
+
+    private void assertReloadMatchesModel() throws Exception {
+        List<ChampionsTeam> reloaded = model.readTeamsFile(filePath, null).toList();
+        assertEquals(describe(model.getAllTeams()), describe(reloaded));
+    }
+
+    private ChampionsTeam teamWithYear(int year) {
+        for (ChampionsTeam team : model.getAllTeams()) {
+            if (team.findTitle(year) != null) {
+                return team;
+            }
+        }
+        throw new AssertionError("Sin equipo con el título de " + year);
+    }
+
+    private static ChampionsTeam team(String name, int year) {
+        ChampionsTeam team = new ChampionsTeam(name);
+        team.addTitle(year, 0);
+        return team;
+    }
+
+    /**
+     * Describe los equipos sin depender de su orden
+     */
+    private static List<String> describe(List<ChampionsTeam> teams) {
+        List<String> described = new ArrayList<>();
+        for (ChampionsTeam team : teams) {
+            StringBuilder text = new StringBuilder(team.getName()).append(':');
+            for (Title title : team.getTitles()) {
+                text.append(' ').append(title.getYear()).append('/').append(title.getTopScorerGoals());
+            }
+            described.add(text.toString());
+        }
+        Collections.sort(described);
+        return described;
+    }
+}
@@ -0,0 +1,204 @@
+package model;
+
+import model.data.ChampionsTeam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeamStatisticsTest {
+
+    private TeamStatistics statistics;
+    // Equipos en orden de llegada, como los recorre el cálculo completo
+    private List<ChampionsTeam> teams;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new TeamStatistics();
+        teams = new ArrayList<>();
+    }
+
+    @Test
+    void emptyStatisticsHaveNoData() {
+        assertEquals("No hay datos disponibles.", statistics.describe());
+    }
+
+    @Test
+    void tiesGoToTheTeamThatArrivedFirst() {
+        ChampionsTeam ajax = team("Ajax", 1971, 1972, 1973);
+        ChampionsTeam bayern = team("Bayern", 1974, 1975, 1976);
+        ChampionsTeam milan = team("Milan", 1994);
+        ChampionsTeam inter = team("Inter", 1964, 1994);
+        add(ajax);
+        add(bayern);
+        add(milan);
+        add(inter);
+
+        String text = statistics.describe();
+        assertEquals(recompute(), text);
+        assertTrue(text.contains("Equipo con más títulos: Ajax (3 títulos)"));
+        assertTrue(text.contains("Campeón más reciente: Milan (1994)"));
+    }
+
+    @Test
+    void replacementKeepsThePositionInTies() {
+        ChampionsTeam ajax = team("Ajax", 1971);
+        ChampionsTeam bayern = team("Bayern", 1974);
+        add(ajax);
+        add(bayern);
+
+        // El reemplazo de Ajax sigue por delante de Bayern en los desempates
+        ChampionsTeam edited = new ChampionsTeam(ajax);
+        edited.setName("AFC Ajax");
+        edited.addTitle(1995, 6);
+        bayern.addTitle(2001, 4);
+        statistics.update(ajax, edited);
+        statistics.update(bayern, bayern);
+        teams.set(0, edited);
+
+        assertEquals(recompute(), statistics.describe());
+    }
+
+    @Test
+    void describeIsCachedUntilTheNextChange() {
+        ChampionsTeam ajax = team("Ajax", 1971);
+        add(ajax);
+        String first = statistics.describe();
+        assertSame(first, statistics.describe());
+
+        ajax.addTitle(1972, 3);
+        statistics.update(ajax, ajax);
+        assertEquals(recompute(), statistics.describe());
+    }
+
+    @Test
+    void incrementalChangesMatchAFullRecompute() {
+        Random random = new Random(20240601L);
+        int nextName = 0;
+
+        for (int step = 0; step < 2000; step++) {
+            int operation = teams.isEmpty() ? 0 : random.nextInt(5);
+            switch (operation) {
+                case 0: {
+                    ChampionsTeam team = new ChampionsTeam("Equipo " + nextName++);
+                    int titles = random.nextInt(4);
+                    for (int i = 0; i < titles; i++) {
+                        team.addTitle(randomYear(random), random.nextInt(20));
+                    }
+                    add(team);
+                    break;
+                }
+                case 1: {
+                    // Título agregado en el sitio
+                    ChampionsTeam team = teams.get(random.nextInt(teams.size()));
+                    team.addTitle(randomYear(random), random.nextInt(20));
+                    statistics.update(team, team);
+                    break;
+                }
+                case 2: {
+                    // Título quitado en el sitio
+                    ChampionsTeam team = teams.get(random.nextInt(teams.size()));
+                    if (team.getTitleCount() > 0) {
+                        team.removeTitle(random.nextInt(team.getTitleCount()));
+                    }
+                    statistics.update(team, team);
+                    break;
+                }
+                case 3: {
+                    // Reemplazo por una copia editada
+                    int index = random.nextInt(teams.size());
+                    ChampionsTeam previous = teams.get(index);
+                    ChampionsTeam edited = new ChampionsTeam(previous);
+                    edited.setName(previous.getName() + "'");
+                    edited.addTitle(randomYear(random), random.nextInt(20));
+                    statistics.update(previous, edited);
+                    teams.set(index, edited);
+                    break;
+                }
+                default: {
+                    ChampionsTeam team = teams.remove(random.nextInt(teams.size()));
+                    statistics.remove(team);
+                    break;
+                }
+            }
+
+            assertEquals(recompute(), statistics.describe(), "Paso " + step);
+        }
+
+        statistics.clear();
+        teams.clear();
+        assertEquals(recompute(), statistics.describe());
+    }
+
+    private void add(ChampionsTeam team) {
+        teams.add(team);
+        statistics.add(team);
+    }
+
+    private static ChampionsTeam team(String name, int... years) {
+        ChampionsTeam team = new ChampionsTeam(name);
+        for (int year : years) {
+            team.addTitle(year, 0);
+        }
+        return team;
+    }
+
+    private static int randomYear(Random random) {
+        // Incluye años no positivos, que no cuentan como campeón más reciente
+        return random.nextInt(10) == 0 ? -random.nextInt(3) : 1950 + random.nextInt(80);
+    }
+
+    /**
+     * Calcula las estadísticas desde cero recorriendo todos los equipos
+     */
+    private String recompute() {
+        if (teams.isEmpty()) {
+            return "No hay datos disponibles.";
+        }
+
+        ChampionsTeam mostTitles = null;
+        ChampionsTeam mostRecent = null;
+        int mostRecentYear = 0;
+        int totalTitles = 0;
+        Map<Integer, Integer> perDecade = new TreeMap<>();
+
+        for (ChampionsTeam team : teams) {
+            if (mostTitles == null || team.getTitleCount() > mostTitles.getTitleCount()) {
+                mostTitles = team;
+            }
+            for (int i = 0; i < team.getTitleCount(); i++) {
+                int year = team.getTitleYear(i);
+                if (year > mostRecentYear) {
+                    mostRecentYear = year;
+                    mostRecent = team;
+                }
+                perDecade.merge(Math.floorDiv(year, 10) * 10, 1, Integer::sum);
+            }
+            totalTitles += team.getTitleCount();
+        }
+
+        StringBuilder stats = new StringBuilder();
+        stats.append("Estadísticas de Champions League:\n\n");
+        stats.append("• Equipo con más títulos: ").append(mostTitles.getName())
+                .append(" (").append(mostTitles.getTitleCount()).append(" títulos)\n");
+        stats.append("• Campeón más reciente: ").append(mostRecent != null ? mostRecent.getName() : "")
+                .append(" (").append(mostRecentYear).append(")\n");
+        stats.append("• Total de equipos campeones: ").append(teams.size()).append("\n");
+        stats.append("• Total de títulos: ").append(totalTitles).append("\n");
+        if (!perDecade.isEmpty()) {
+            stats.append("• Títulos por década:\n");
+            for (Map.Entry<Integer, Integer> entry : perDecade.entrySet()) {
+                stats.append("   Década de ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+        }
+        return stats.toString();
+    }
+}
@@ -0,0 +1,296 @@
+package model.analytics;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import model.data.Phase;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChampionsAnalyticsTest {
+
+    // Textos de fase: nombres, alias, coincidencias parciales y textos no reconocidos
+    private static final String[] PHASE_TEXTS = {
+            "Final", "Semifinal", "semifinales", "Cuartos de final", "quarter-finals", "Octavos de final",
+            "Round of 16", "Dieciseisavos de final", "Fase de grupos", "Ronda preliminar", "Clasificación",
+            "Vuelta de la semifinal", "Partido amistoso", null
+    };
+
+    private static final int THRESHOLD = ChampionsAnalytics.PARALLEL_THRESHOLD;
+
+    @Test
+    void smallDatasetMatchesNaiveLoops() {
+        List<ChampionsTeam> teams = randomTeams(new Random(11L), 300);
+        List<Elimination> eliminations = randomEliminations(new Random(12L), 500);
+        ChampionsAnalytics analytics = ChampionsAnalytics.from(teams, eliminations);
+
+        assertTrue(analytics.getTitles().getRowCount() < THRESHOLD);
+        assertMatchesNaiveLoops(analytics, teams, eliminations);
+    }
+
+    @Test
+    void datasetAboveTheParallelThresholdMatchesNaiveLoops() {
+        // Por encima del umbral los equipos se recorren en paralelo y, si hay
+        // varios procesadores, las filas se reparten en tramos
+        List<ChampionsTeam> teams = randomTeams(new Random(21L), 2 * THRESHOLD);
+        List<Elimination> eliminations = randomEliminations(new Random(22L), 4 * THRESHOLD);
+        ChampionsAnalytics analytics = ChampionsAnalytics.from(teams, eliminations);
+
+        assertTrue(analytics.getTitles().getTeamCount() >= THRESHOLD);
+        assertTrue(analytics.getTitles().getRowCount() >= 2 * THRESHOLD);
+        assertMatchesNaiveLoops(analytics, teams, eliminations);
+    }
+
+    @Test
+    void scanSplitIntoChunksMatchesASingleLoop() {
+        // El número de tramos depende de los procesadores, así que se fija a mano
+        Random random = new Random(31L);
+        int rows = 3 * THRESHOLD + 17;
+        int keys = 37;
+        int[] keyOf = new int[rows];
+        int[] valueOf = new int[rows];
+        long[] counts = new long[keys];
+        long[] sums = new long[keys];
+        for (int row = 0; row < rows; row++) {
+            // Las claves negativas se ignoran
+            keyOf[row] = random.nextInt(keys + 3) - 3;
+            valueOf[row] = random.nextInt(100) - 20;
+            if (keyOf[row] >= 0) {
+                counts[keyOf[row]]++;
+                sums[keyOf[row]] += valueOf[row];
+            }
+        }
+
+        for (int chunkCount : new int[]{1, 2, 3, 7, 64}) {
+            ChampionsAnalytics.Accumulator totals = ChampionsAnalytics.scan(rows, keys,
+                    row -> keyOf[row], row -> valueOf[row], chunkCount);
+            assertEquals(Arrays.toString(counts), Arrays.toString(totals.counts), "Tramos: " + chunkCount);
+            assertEquals(Arrays.toString(sums), Arrays.toString(totals.sums), "Tramos: " + chunkCount);
+        }
+
+        // Con más tramos que filas, los tramos vacíos no suman nada
+        ChampionsAnalytics.Accumulator few = ChampionsAnalytics.scan(3, 2, row -> row % 2, null, 8);
+        assertEquals("[2, 1]", Arrays.toString(few.counts));
+    }
+
+    @Test
+    void erasAreBucketedWithFloorDivision() {
+        ChampionsAnalytics analytics = ChampionsAnalytics.from(Arrays.asList(
+                team("Antiguo", -15, 4, -1, 6),
+                team("Cero", 0, 1, 9, 3),
+                team("Diez", 10, 8, 2010, 5)), null);
+
+        // -15 y -1 no caen en la época 0 ni en la misma época
+        assertEquals("{-20=4.0, -10=6.0, 0=2.0, 10=8.0, 2010=5.0}", analytics.averageGoalsPerEra(10).toString());
+        assertEquals("{-100=5.0, 0=4.0, 2000=5.0}", analytics.averageGoalsPerEra(100).toString());
+        assertEquals("{-21=4.0, -7=6.0, 0=1.0, 7=5.5, 2009=5.0}", analytics.averageGoalsPerEra(7).toString());
+        assertEquals("{-20=1, -10=1}", analytics.titlesPerTeamPerDecade().get("Antiguo").toString());
+
+        assertThrows(IllegalArgumentException.class, () -> analytics.averageGoalsPerEra(0));
+        assertEquals("{}", ChampionsAnalytics.from(null, null).averageGoalsPerEra(10).toString());
+    }
+
+    @Test
+    void droughtTiesGoToTheOldestThenByName() {
+        ChampionsAnalytics analytics = ChampionsAnalytics.from(Arrays.asList(
+                team("Bayern", 1990, 0, 2000, 0),
+                team("Ajax", 1990, 0, 2000, 0),
+                team("Celtic", 1980, 0, 1990, 0),
+                team("Dortmund", 1950, 0, 1970, 0),
+                // Dos sequías iguales en el mismo equipo: cuenta la primera
+                team("Everton", 1960, 0, 1965, 0, 1970, 0),
+                // Dos títulos el mismo año no son una sequía
+                team("Fenerbahçe", 1999, 0, 1999, 0),
+                team("Galatasaray", 2000, 0)), null);
+
+        assertEquals(Arrays.asList("Dortmund 1950-1970", "Celtic 1980-1990", "Ajax 1990-2000",
+                "Bayern 1990-2000", "Everton 1960-1965"), describe(analytics.longestDroughts(10)));
+        assertEquals(Arrays.asList("Dortmund 1950-1970", "Celtic 1980-1990"), describe(analytics.longestDroughts(2)));
+        assertTrue(analytics.longestDroughts(0).isEmpty());
+    }
+
+    private static void assertMatchesNaiveLoops(ChampionsAnalytics analytics, List<ChampionsTeam> teams,
+                                                List<Elimination> eliminations) {
+        assertEquals(naiveTitlesPerTeamPerDecade(teams).toString(), analytics.titlesPerTeamPerDecade().toString());
+        for (int eraYears : new int[]{1, 7, 10, 25}) {
+            assertEquals(naiveAverageGoalsPerEra(teams, eraYears).toString(),
+                    analytics.averageGoalsPerEra(eraYears).toString(), "Época de " + eraYears);
+        }
+
+        assertEquals(naiveEliminationsPerOpponent(eliminations).toString(),
+                analytics.eliminationsPerOpponent().toString());
+        assertEquals(naiveEliminationsPerPhase(eliminations).toString(),
+                analytics.eliminationsPerPhase().toString());
+        assertEquals(naiveEliminationsPerOpponentAndPhase(eliminations).toString(),
+                analytics.eliminationsPerOpponentAndPhase().toString());
+
+        List<String> droughts = naiveDroughts(teams);
+        assertEquals(droughts, describe(analytics.longestDroughts(Integer.MAX_VALUE)));
+        assertEquals(droughts.subList(0, Math.min(25, droughts.size())), describe(analytics.longestDroughts(25)));
+    }
+
+    private static Map<String, Map<Integer, Integer>> naiveTitlesPerTeamPerDecade(List<ChampionsTeam> teams) {
+        Map<String, Map<Integer, Integer>> result = new LinkedHashMap<>();
+        for (ChampionsTeam team : teams) {
+            for (int i = 0; i < team.getTitleCount(); i++) {
+                result.computeIfAbsent(team.getName(), name -> new TreeMap<>())
+                        .merge(Math.floorDiv(team.getTitleYear(i), 10) * 10, 1, Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Integer, Double> naiveAverageGoalsPerEra(List<ChampionsTeam> teams, int eraYears) {
+        Map<Integer, long[]> totals = new TreeMap<>();
+        for (ChampionsTeam team : teams) {
+            for (int i = 0; i < team.getTitleCount(); i++) {
+                long[] total = totals.computeIfAbsent(Math.floorDiv(team.getTitleYear(i), eraYears) * eraYears,
+                        era -> new long[2]);
+                total[0]++;
+                total[1] += team.getTitleGoals(i);
+            }
+        }
+
+        Map<Integer, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<Integer, long[]> entry : totals.entrySet()) {
+            result.put(entry.getKey(), (double) entry.getValue()[1] / entry.getValue()[0]);
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> naiveEliminationsPerOpponent(List<Elimination> eliminations) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Elimination elimination : eliminations) {
+            counts.merge(elimination.getOpponent(), 1, Integer::sum);
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String opponent : opponentsByCount(counts)) {
+            result.put(opponent, counts.get(opponent));
+        }
+        return result;
+    }
+
+    private static Map<Phase, Integer> naiveEliminationsPerPhase(List<Elimination> eliminations) {
+        Map<Phase, Integer> result = new EnumMap<>(Phase.class);
+        for (Elimination elimination : eliminations) {
+            result.merge(elimination.getResolvedPhase(), 1, Integer::sum);
+        }
+        return result;
+    }
+
+    private static Map<String, Map<Phase, Integer>> naiveEliminationsPerOpponentAndPhase(List<Elimination> eliminations) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Map<String, Map<Phase, Integer>> phases = new LinkedHashMap<>();
+        for (Elimination elimination : eliminations) {
+            counts.merge(elimination.getOpponent(), 1, Integer::sum);
+            phases.computeIfAbsent(elimination.getOpponent(), opponent -> new EnumMap<>(Phase.class))
+                    .merge(elimination.getResolvedPhase(), 1, Integer::sum);
+        }
+
+        Map<String, Map<Phase, Integer>> result = new LinkedHashMap<>();
+        for (String opponent : opponentsByCount(counts)) {
+            result.put(opponent, phases.get(opponent));
+        }
+        return result;
+    }
+
+    /**
+     * Rivales de más a menos eliminaciones; con empate, por nombre y null al final
+     */
+    private static List<String> opponentsByCount(Map<String, Integer> counts) {
+        List<String> opponents = new ArrayList<>(counts.keySet());
+        opponents.sort(Comparator.comparing((String opponent) -> counts.get(opponent)).reversed()
+                .thenComparing(Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return opponents;
+    }
+
+    /**
+     * Mayor sequía de cada equipo (la primera si hay varias iguales), de la
+     * más larga a la más corta, con empate la más antigua y luego por nombre
+     */
+    private static List<String> naiveDroughts(List<ChampionsTeam> teams) {
+        List<Drought> droughts = new ArrayList<>();
+        for (ChampionsTeam team : teams) {
+            Drought longest = null;
+            for (int i = 1; i < team.getTitleCount(); i++) {
+                int gap = team.getTitleYear(i) - team.getTitleYear(i - 1);
+                if (gap > (longest != null ? longest.getYears() : 0)) {
+                    longest = new Drought(team.getName(), team.getTitleYear(i - 1), team.getTitleYear(i));
+                }
+            }
+            if (longest != null) {
+                droughts.add(longest);
+            }
+        }
+
+        droughts.sort(Comparator.comparingInt(Drought::getYears).reversed()
+                .thenComparingInt(Drought::getFromYear)
+                .thenComparing(Drought::getTeamName));
+        return describe(droughts);
+    }
+
+    private static List<String> describe(List<Drought> droughts) {
+        List<String> described = new ArrayList<>();
+        for (Drought drought : droughts) {
+            described.add(drought.getTeamName() + " " + drought.getFromYear() + "-" + drought.getToYear());
+        }
+        return described;
+    }
+
+    /**
+     * Equipos con nombres repetidos (que se suman juntos), sin títulos o con
+     * varios, y con algunos años negativos
+     */
+    private static List<ChampionsTeam> randomTeams(Random random, int count) {
+        List<ChampionsTeam> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChampionsTeam team = new ChampionsTeam("Equipo " + random.nextInt(count / 3 + 1));
+            int titles = random.nextInt(5);
+            for (int t = 0; t < titles; t++) {
+                int year = random.nextInt(20) == 0 ? -random.nextInt(40) : 1900 + random.nextInt(130);
+                team.addTitle(year, random.nextInt(20));
+            }
+            teams.add(team);
+        }
+        return teams;
+    }
+
+    /**
+     * Eliminaciones con pocos rivales muy repetidos, algún rival null y fases
+     * escritas de varias formas
+     */
+    private static List<Elimination> randomEliminations(Random random, int count) {
+        List<Elimination> eliminations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String opponent = random.nextInt(50) == 0 ? null : "Rival " + random.nextInt(random.nextInt(300) + 1);
+            int year = 1955 + random.nextInt(70);
+            eliminations.add(new Elimination(year + "-" + (year + 1), PHASE_TEXTS[random.nextInt(PHASE_TEXTS.length)],
+                    opponent, "1-0", "0-2", "", ""));
+        }
+        return eliminations;
+    }
+
+    /**
+     * Equipo a partir de pares año, goles
+     */
+    private static ChampionsTeam team(String name, int... yearsAndGoals) {
+        ChampionsTeam team = new ChampionsTeam(name);
+        for (int i = 0; i < yearsAndGoals.length; i += 2) {
+            team.addTitle(yearsAndGoals[i], yearsAndGoals[i + 1]);
+        }
+        return team;
+    }
+}
@@ -0,0 +1,141 @@
+package model.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChampionsTeamTest {
+
+    private static String describe(ChampionsTeam team) {
+        List<String> titles = new ArrayList<>();
+        for (Title title : team.getTitles()) {
+            titles.add(title.getYear() + "/" + title.getTopScorerGoals());
+        }
+        return String.join(" ", titles);
+    }
+
+    @Test
+    void titlesAreSortedByYearKeepingInsertionOrderWithinAYear() {
+        ChampionsTeam team = new ChampionsTeam("Real Madrid");
+        team.addTitle(2014, 17);
+        team.addTitle(1956, 5);
+        team.addTitle(2000, 10);
+        team.addTitle(1956, 7);
+
+        assertEquals("1956/5 1956/7 2000/10 2014/17", describe(team));
+        assertEquals(4, team.getTitleCount());
+        assertEquals(1956, team.getTitleYear(0));
+        assertEquals(7, team.getTitleGoals(1));
+    }
+
+    @Test
+    void setTitlesSortsStably() {
+        ChampionsTeam team = new ChampionsTeam("Milan", Arrays.asList(
+                new Title(2007, 10), new Title(1963, 14), new Title(2007, 3), null, new Title(1989, 6)));
+
+        assertEquals("1963/14 1989/6 2007/10 2007/3", describe(team));
+    }
+
+    @Test
+    void latestTitleIsTheFirstAddedOfTheMostRecentYear() {
+        ChampionsTeam team = new ChampionsTeam("Ajax");
+        assertNull(team.getLatestTitle());
+        assertEquals(-1, team.getLatestTitleIndex());
+        assertEquals(0, team.getLatestTitleYear());
+
+        team.addTitle(1995, 6);
+        team.addTitle(1971, 4);
+        team.addTitle(1995, 9);
+
+        assertEquals(1995, team.getLatestTitleYear());
+        assertEquals(1, team.getLatestTitleIndex());
+        assertEquals(6, team.getLatestTitle().getTopScorerGoals());
+    }
+
+    @Test
+    void findsTitlesByYear() {
+        ChampionsTeam team = new ChampionsTeam("Bayern");
+        team.addTitle(1974, 4);
+        team.addTitle(2013, 8);
+        team.addTitle(2020, 15);
+
+        assertEquals(1, team.indexOfTitleYear(2013));
+        assertEquals(15, team.findTitle(2020).getTopScorerGoals());
+        assertEquals(-1, team.indexOfTitleYear(2001));
+        assertNull(team.findTitle(2001));
+        assertTrue(team.getTitles().contains(new Title(1974, 0)));
+    }
+
+    @Test
+    void setTitleRepositionsByYearAndRemoveTitleByPosition() {
+        ChampionsTeam team = new ChampionsTeam("Inter");
+        team.addTitle(1964, 7);
+        team.addTitle(1965, 8);
+        team.addTitle(2010, 6);
+
+        assertEquals(1964, team.setTitle(0, new Title(2011, 1)).getYear());
+        assertEquals("1965/8 2010/6 2011/1", describe(team));
+
+        assertEquals(2010, team.removeTitle(1).getYear());
+        assertEquals("1965/8 2011/1", describe(team));
+
+        assertTrue(team.removeTitle(new Title(1965, 0)));
+        assertFalse(team.removeTitle(new Title(1965, 0)));
+        assertEquals("2011/1", describe(team));
+    }
+
+    @Test
+    void viewIsReadOnlyAndReturnsCopies() {
+        ChampionsTeam team = new ChampionsTeam("Porto");
+        team.addTitle(1987, 5);
+        List<Title> titles = team.getTitles();
+
+        assertThrows(UnsupportedOperationException.class, () -> titles.add(new Title(2004, 3)));
+        assertThrows(UnsupportedOperationException.class, () -> titles.set(0, new Title(2004, 3)));
+        assertThrows(UnsupportedOperationException.class, () -> titles.remove(0));
+        assertThrows(UnsupportedOperationException.class, titles::clear);
+
+        // Modificar la copia no cambia el equipo
+        titles.get(0).setYear(2004);
+        assertEquals(1987, team.getTitleYear(0));
+
+        // La vista refleja los cambios posteriores del equipo
+        team.addTitle(2004, 3);
+        assertEquals(2, titles.size());
+    }
+
+    @Test
+    void copyConstructorDoesNotShareTitles() {
+        ChampionsTeam original = new ChampionsTeam("Chelsea");
+        original.addTitle(2012, 2);
+        ChampionsTeam copy = new ChampionsTeam(original);
+        copy.addTitle(2021, 3);
+        copy.setTitle(0, new Title(2013, 1));
+
+        assertEquals("2012/2", describe(original));
+        assertEquals("2013/1 2021/3", describe(copy));
+    }
+
+    @Test
+    void fullIntRangeIsKept() {
+        ChampionsTeam team = new ChampionsTeam("Sintético");
+        team.addTitle(-5, Integer.MAX_VALUE);
+        team.addTitle(Integer.MAX_VALUE, -1);
+        team.addTitle(Integer.MIN_VALUE, Integer.MIN_VALUE);
+
+        assertEquals(Integer.MIN_VALUE, team.getTitleYear(0));
+        assertEquals(Integer.MIN_VALUE, team.getTitleGoals(0));
+        assertEquals(Integer.MAX_VALUE, team.getTitleGoals(1));
+        assertEquals(-1, team.getTitleGoals(2));
+        assertEquals(Integer.MAX_VALUE, team.getLatestTitleYear());
+        assertThrows(IndexOutOfBoundsException.class, () -> team.getTitleYear(3));
+    }
+}
@@ -0,0 +1,88 @@
+package model.data;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import utils.SortingUtility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EliminationTest {
+
+    private static Elimination season(String season) {
+        return new Elimination(season, "Semifinal", "Bayern", "1-0", "0-2", "", "");
+    }
+
+    private static List<String> seasons(List<Elimination> eliminations) {
+        List<String> seasons = new ArrayList<>();
+        for (Elimination elimination : eliminations) {
+            seasons.add(elimination.getSeason());
+        }
+        return seasons;
+    }
+
+    @Test
+    void validSeasonsKeepStartAndEndYears() {
+        Elimination elimination = season("2022-2023");
+        assertEquals(2022, elimination.getSeasonStartYear());
+        assertEquals(2023, elimination.getSeasonEndYear());
+
+        // Los espacios de los extremos de cada año se ignoran
+        Elimination spaced = season(" 1998 - 1999 ");
+        assertEquals(1998, spaced.getSeasonStartYear());
+        assertEquals(1999, spaced.getSeasonEndYear());
+    }
+
+    @Test
+    void singleYearSeasonEndsTheSameYear() {
+        Elimination elimination = season("1956");
+        assertEquals(1956, elimination.getSeasonStartYear());
+        assertEquals(1956, elimination.getSeasonEndYear());
+
+        // Un año final que no se reconoce cuenta como temporada de un solo año
+        Elimination noEnd = season("2004-??");
+        assertEquals(2004, noEnd.getSeasonStartYear());
+        assertEquals(2004, noEnd.getSeasonEndYear());
+    }
+
+    @Test
+    void malformedSeasonsHaveNoYears() {
+        for (String malformed : Arrays.asList(null, "", "   ", "Temporada 2000", "-2001", "20x0-2021", "1234567890")) {
+            Elimination elimination = season(malformed);
+            assertEquals(Integer.MIN_VALUE, elimination.getSeasonStartYear(), "Temporada: " + malformed);
+            assertEquals(Integer.MIN_VALUE, elimination.getSeasonEndYear(), "Temporada: " + malformed);
+        }
+    }
+
+    @Test
+    void seasonChangesAreParsedAgain() {
+        Elimination elimination = season("2010-2011");
+        elimination.setSeason("2014-2015");
+        assertEquals(2014, elimination.getSeasonStartYear());
+        elimination.setSeason("sin fecha");
+        assertEquals(Integer.MIN_VALUE, elimination.getSeasonStartYear());
+
+        // Gson asigna el campo sin pasar por el setter
+        Elimination loaded = new Gson().fromJson("{\"season\":\"2017-2018\"}", Elimination.class);
+        assertEquals(2017, loaded.getSeasonStartYear());
+        assertEquals(2018, loaded.getSeasonEndYear());
+    }
+
+    @Test
+    void malformedSeasonsSortLastDescendingAndFirstAscending() {
+        List<Elimination> eliminations = new ArrayList<>(Arrays.asList(
+                season("2022"), season("abc"), season("1999-2000"), season("2022-2023"),
+                season(null), season("2005-2006"), season("2022-2023")));
+
+        eliminations.sort(SortingUtility.bySeasonDescending);
+        assertEquals(Arrays.asList("2022-2023", "2022-2023", "2022", "2005-2006", "1999-2000", "abc", null),
+                seasons(eliminations));
+
+        eliminations.sort(SortingUtility.bySeasonAscending);
+        assertEquals(Arrays.asList("abc", null, "1999-2000", "2005-2006", "2022", "2022-2023", "2022-2023"),
+                seasons(eliminations));
+    }
+}
@@ -0,0 +1,79 @@
+package model.data;
+
+import org.junit.jupiter.api.Test;
+import utils.SortingUtility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhaseTest {
+
+    @Test
+    void exactAliasesIgnoreCaseAndSurroundingSpaces() {
+        assertSame(Phase.SEMIFINAL, Phase.resolve("Semifinal"));
+        assertSame(Phase.ROUND_OF_16, Phase.resolve("  octavos de FINAL "));
+        assertSame(Phase.QUALIFYING, Phase.resolve("Clasificación"));
+
+        // Alias de data/phase_aliases.properties
+        assertSame(Phase.QUARTER_FINALS, Phase.resolve("Quarter-finals"));
+        assertSame(Phase.ROUND_OF_32, Phase.resolve("round of 32"));
+    }
+
+    @Test
+    void partialMatchesUseTheLongestContainedAlias() {
+        // "semifinal" gana a "final", y "cuartos de final" a "final" y "cuartos"
+        assertSame(Phase.SEMIFINAL, Phase.resolve("Vuelta de la semifinal"));
+        assertSame(Phase.QUARTER_FINALS, Phase.resolve("Ida de cuartos de final"));
+        assertSame(Phase.ROUND_OF_32, Phase.resolve("Dieciseisavos de final (vuelta)"));
+        assertSame(Phase.FINAL, Phase.resolve("Partido de la final"));
+        assertSame(Phase.GROUP_STAGE, Phase.resolve("Group stage, matchday 3"));
+    }
+
+    @Test
+    void unknownTextsResolveToUnknown() {
+        assertSame(Phase.UNKNOWN, Phase.resolve(null));
+        assertSame(Phase.UNKNOWN, Phase.resolve(""));
+        assertSame(Phase.UNKNOWN, Phase.resolve("Partido amistoso"));
+        assertSame(Phase.UNKNOWN, Phase.resolve("Desconocida"));
+        assertThrows(IllegalArgumentException.class, () -> Phase.registerAlias("  ", Phase.FINAL));
+        assertThrows(IllegalArgumentException.class, () -> Phase.registerAlias("torneo", null));
+    }
+
+    @Test
+    void registeringAnAliasInvalidatesEarlierResolutions() {
+        Elimination elimination = new Elimination("1999-2000", "Eliminatoria de repesca", "Celtic", "", "", "", "");
+        assertSame(Phase.UNKNOWN, elimination.getResolvedPhase());
+
+        int version = Phase.aliasVersion();
+        Phase.registerAlias("Repesca", Phase.PRELIMINARY_ROUND);
+        assertTrue(Phase.aliasVersion() != version);
+
+        // Tanto la caché de Phase como la fase guardada en la eliminación se recalculan
+        assertSame(Phase.PRELIMINARY_ROUND, Phase.resolve("Eliminatoria de repesca"));
+        assertSame(Phase.PRELIMINARY_ROUND, elimination.getResolvedPhase());
+    }
+
+    @Test
+    void importanceOrderUsesResolvedPhasesAndNamesForUnknownOnes() {
+        List<Elimination> eliminations = new ArrayList<>();
+        for (String phase : Arrays.asList("Octavos de final", "Torneo de verano", "Vuelta de la semifinal",
+                "Final", "amistoso", "Ida de cuartos de final")) {
+            eliminations.add(new Elimination("2000-2001", phase, "Rival", "", "", "", ""));
+        }
+
+        eliminations.sort(SortingUtility.byPhaseImportance);
+
+        List<String> phases = new ArrayList<>();
+        for (Elimination elimination : eliminations) {
+            phases.add(elimination.getPhase());
+        }
+        assertEquals(Arrays.asList("Final", "Vuelta de la semifinal", "Ida de cuartos de final",
+                "Octavos de final", "amistoso", "Torneo de verano"), phases);
+    }
+}
@@ -0,0 +1,188 @@
+package model.structures;
+
+import model.structures.CircularDoublyLinkedList.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircularDoublyLinkedListTest {
+
+    /**
+     * Elemento con una clave de ordenamiento modificable y una etiqueta para
+     * comprobar la estabilidad
+     */
+    private static final class Item {
+        int key;
+        final String label;
+
+        Item(int key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return key + label;
+        }
+    }
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(item -> item.key);
+
+    @Test
+    void sortIsStableAndKeepsLinksConsistent() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        List<Item> expected = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            Item item = new Item(random.nextInt(20), "#" + i);
+            list.add(item);
+            expected.add(item);
+        }
+
+        list.sort(BY_KEY);
+        expected.sort(BY_KEY); // List.sort también es estable
+
+        assertEquals(expected, list.toList());
+        assertLinksConsistent(list);
+    }
+
+    @Test
+    void sortHandlesEmptyAndSingleElementLists() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        list.sort(BY_KEY);
+        assertTrue(list.isEmpty());
+
+        Item only = new Item(1, "a");
+        list.add(only);
+        list.sort(BY_KEY);
+        assertEquals(Arrays.asList(only), list.toList());
+        assertLinksConsistent(list);
+    }
+
+    @Test
+    void insertSortedPlacesTiesAfterExistingElements() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        Item a = new Item(1, "a");
+        Item b = new Item(3, "b");
+        Item c = new Item(5, "c");
+        list.add(a);
+        list.add(b);
+        list.add(c);
+
+        Item first = new Item(0, "first");
+        Item tie = new Item(3, "tie");
+        Item last = new Item(9, "last");
+        list.insertSorted(tie, BY_KEY);
+        list.insertSorted(first, BY_KEY);
+        list.insertSorted(last, BY_KEY);
+
+        assertEquals(Arrays.asList(first, a, b, tie, c, last), list.toList());
+        assertEquals(first, list.get(0));
+        assertEquals(tie, list.get(3));
+        assertLinksConsistent(list);
+    }
+
+    @Test
+    void insertSortedMatchesAddThenSort() {
+        CircularDoublyLinkedList<Item> inserted = new CircularDoublyLinkedList<>();
+        List<Item> expected = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            Item item = new Item(random.nextInt(30), "#" + i);
+            inserted.insertSorted(item, BY_KEY);
+            expected.add(item);
+        }
+
+        expected.sort(BY_KEY);
+        assertEquals(expected, inserted.toList());
+        assertLinksConsistent(inserted);
+    }
+
+    @Test
+    void repositionMovesOnlyTheChangedNode() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        List<Node<Item>> nodes = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            nodes.add(list.add(new Item(i * 10, "#" + i)));
+        }
+
+        // Hacia la cabeza
+        Item moved = nodes.get(4).getData();
+        moved.key = 5;
+        list.reposition(nodes.get(4), BY_KEY);
+        assertEquals("[0#0, 5#4, 10#1, 20#2, 30#3, 50#5]", list.toList().toString());
+        assertEquals(moved, list.get(1));
+
+        // Hacia la cola: no adelanta a los iguales, como un ordenamiento estable
+        moved.key = 50;
+        list.reposition(nodes.get(4), BY_KEY);
+        assertEquals("[0#0, 10#1, 20#2, 30#3, 50#4, 50#5]", list.toList().toString());
+
+        moved.key = 60;
+        list.reposition(nodes.get(4), BY_KEY);
+        assertEquals("[0#0, 10#1, 20#2, 30#3, 50#5, 60#4]", list.toList().toString());
+
+        // A la cabeza
+        moved.key = -1;
+        list.reposition(nodes.get(4), BY_KEY);
+        assertEquals(moved, list.get(0));
+        assertLinksConsistent(list);
+    }
+
+    @Test
+    void repositionMatchesStableResort() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        List<Node<Item>> nodes = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            nodes.add(list.add(new Item(random.nextInt(10), "#" + i)));
+        }
+        list.sort(BY_KEY);
+
+        for (int round = 0; round < 500; round++) {
+            Node<Item> node = nodes.get(random.nextInt(nodes.size()));
+            List<Item> before = list.toList();
+            node.getData().key = random.nextInt(10);
+
+            list.reposition(node, BY_KEY);
+
+            // Un ordenamiento estable de la lista anterior da el mismo resultado
+            before.sort(BY_KEY);
+            assertEquals(before, list.toList());
+        }
+        assertLinksConsistent(list);
+    }
+
+    @Test
+    void repositionByValueReportsMissingElements() {
+        CircularDoublyLinkedList<Item> list = new CircularDoublyLinkedList<>();
+        list.add(new Item(1, "a"));
+
+        assertFalse(list.reposition(new Item(1, "otro"), BY_KEY));
+    }
+
+    /**
+     * Comprueba que el recorrido hacia atrás es el inverso del recorrido hacia
+     * delante y que el acceso por posición coincide con ambos
+     */
+    private static void assertLinksConsistent(CircularDoublyLinkedList<Item> list) {
+        List<Item> forward = new ArrayList<>();
+        list.traverseForward(forward::add);
+        List<Item> backward = new ArrayList<>();
+        list.traverseBackward(item -> backward.add(0, item));
+
+        assertEquals(list.size(), forward.size());
+        assertEquals(forward, backward);
+        for (int i = 0; i < forward.size(); i++) {
+            assertEquals(forward.get(i), list.get(i));
+        }
+    }
+}
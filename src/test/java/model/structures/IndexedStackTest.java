@@ -0,0 +1,156 @@
+package model.structures;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedStackTest {
+
+    /**
+     * Elemento con clave modificable en el sitio y un valor que no forma parte de la clave
+     */
+    private static final class Record {
+        String key;
+        final String value;
+
+        Record(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private IndexedStack<String, Record> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new IndexedStack<>(record -> record.key);
+    }
+
+    @Test
+    void pushPopAndPeekFollowStackOrder() {
+        Record a = new Record("a", "1");
+        Record b = new Record("b", "2");
+        stack.push(a);
+        stack.push(b);
+
+        assertEquals(2, stack.size());
+        assertSame(b, stack.peek());
+        assertSame(b, stack.pop());
+        assertSame(a, stack.pop());
+        assertTrue(stack.isEmpty());
+        assertThrows(NoSuchElementException.class, stack::pop);
+        assertThrows(NoSuchElementException.class, stack::peek);
+    }
+
+    @Test
+    void iteratesFromOldestToNewest() {
+        Record a = new Record("a", "1");
+        Record b = new Record("b", "2");
+        Record c = new Record("c", "3");
+        stack.push(a);
+        stack.push(b);
+        stack.push(c);
+
+        List<Record> iterated = new ArrayList<>();
+        stack.forEach(iterated::add);
+
+        assertEquals(Arrays.asList(a, b, c), iterated);
+        assertEquals(Arrays.asList(a, b, c), stack.toList());
+    }
+
+    @Test
+    void removeByKeyTakesTheOldestWithThatKey() {
+        Record first = new Record("x", "1");
+        Record middle = new Record("y", "2");
+        Record second = new Record("x", "3");
+        stack.push(first);
+        stack.push(middle);
+        stack.push(second);
+
+        assertSame(first, stack.remove(new Record("x", "otro")));
+        assertSame(second, stack.remove(new Record("x", "otro")));
+        assertNull(stack.remove(new Record("x", "otro")));
+        assertEquals(Arrays.asList(middle), stack.toList());
+    }
+
+    @Test
+    void removeByInstancePrefersThatInstance() {
+        Record first = new Record("x", "1");
+        Record second = new Record("x", "2");
+        stack.push(first);
+        stack.push(second);
+
+        assertSame(second, stack.remove(second));
+        assertEquals(Arrays.asList(first), stack.toList());
+        assertTrue(stack.contains(new Record("x", "otro")));
+    }
+
+    @Test
+    void updateKeepsThePositionAndReindexesTheKey() {
+        Record a = new Record("a", "1");
+        Record b = new Record("b", "2");
+        Record c = new Record("c", "3");
+        stack.push(a);
+        stack.push(b);
+        stack.push(c);
+
+        Record replacement = new Record("z", "nuevo");
+        assertSame(b, stack.update(new Record("b", "otro"), replacement));
+
+        assertEquals(Arrays.asList(a, replacement, c), stack.toList());
+        assertFalse(stack.contains(new Record("b", "otro")));
+        assertTrue(stack.contains(new Record("z", "otro")));
+        assertNull(stack.update(new Record("b", "otro"), replacement));
+    }
+
+    @Test
+    void keyOfReturnsTheIndexedKeyAfterAnInPlaceChange() {
+        Record a = new Record("a", "1");
+        stack.push(a);
+
+        // Modificado en el sitio: se localiza por instancia con la clave antigua
+        a.key = "b";
+        assertEquals("a", stack.keyOf(a));
+
+        assertSame(a, stack.update(a, a));
+        assertEquals("b", stack.keyOf(a));
+        assertTrue(stack.contains(new Record("b", "otro")));
+        assertFalse(stack.contains(new Record("a", "otro")));
+    }
+
+    @Test
+    void popRemovesTheKeyIndexEntry() {
+        stack.push(new Record("a", "1"));
+        stack.push(new Record("a", "2"));
+
+        stack.pop();
+        assertEquals("1", stack.remove(new Record("a", "otro")).value);
+        assertFalse(stack.contains(new Record("a", "otro")));
+    }
+
+    @Test
+    void clearEmptiesTheStackAndItsIndexes() {
+        stack.push(new Record("a", "1"));
+        stack.clear();
+
+        assertTrue(stack.isEmpty());
+        assertFalse(stack.contains(new Record("a", "1")));
+        assertEquals(0, stack.toList().size());
+    }
+}
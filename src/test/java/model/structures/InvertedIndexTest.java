@@ -0,0 +1,123 @@
+package model.structures;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    /**
+     * Elemento con dos campos de texto modificables
+     */
+    private static final class Match {
+        String season;
+        String opponent;
+
+        Match(String season, String opponent) {
+            this.season = season;
+            this.opponent = opponent;
+        }
+
+        @Override
+        public String toString() {
+            return season + " " + opponent;
+        }
+    }
+
+    private InvertedIndex<Match> index;
+    private Match city;
+    private Match ajax;
+    private Match bayern;
+
+    @BeforeEach
+    void setUp() {
+        LinkedHashMap<String, Function<Match, String>> fields = new LinkedHashMap<>();
+        fields.put("season", match -> match.season);
+        fields.put("opponent", match -> match.opponent);
+        index = new InvertedIndex<>(fields);
+        index.addFieldAlias("rival", "opponent");
+
+        city = new Match("2022-2023", "Manchester City");
+        ajax = new Match("2018-2019", "Ajax de Ámsterdam");
+        bayern = new Match("2011-2012", "Bayern de Múnich");
+        index.add(city);
+        index.add(ajax);
+        index.add(bayern);
+    }
+
+    @Test
+    void matchesWordsContainingTheTerm() {
+        assertEquals(Arrays.asList(city), index.search("022"));
+        assertEquals(Arrays.asList(city), index.search("chester"));
+        assertEquals(Arrays.asList(ajax, bayern), index.search("201"));
+        assertEquals(Arrays.asList(city), index.search("2022-2023"));
+    }
+
+    @Test
+    void ignoresAccentsAndCase() {
+        assertEquals(Arrays.asList(ajax), index.search("AMSTERDAM"));
+        assertEquals(Arrays.asList(bayern), index.search("múnich"));
+        assertEquals(Arrays.asList(bayern), index.search("munich"));
+    }
+
+    @Test
+    void requiresEveryTerm() {
+        assertEquals(Arrays.asList(ajax, bayern), index.search("de"));
+        assertEquals(Arrays.asList(bayern), index.search("de 2011"));
+        assertTrue(index.search("de 2022").isEmpty());
+    }
+
+    @Test
+    void restrictsTermsToAFieldOrAlias() {
+        assertEquals(Arrays.asList(ajax, bayern), index.search("opponent:de"));
+        assertEquals(Arrays.asList(city), index.search("rival:city"));
+        assertTrue(index.search("season:city").isEmpty());
+        // Un prefijo que no es un campo se busca como texto
+        assertTrue(index.search("estadio:city").isEmpty());
+    }
+
+    @Test
+    void updateReindexesAndKeepsThePosition() {
+        ajax.opponent = "Manchester United";
+        index.update(ajax);
+
+        assertEquals(Arrays.asList(city, ajax), index.search("manchester"));
+        assertTrue(index.search("ajax").isEmpty());
+        assertTrue(index.search("amster").isEmpty());
+    }
+
+    @Test
+    void replaceAndRemoveDropTheOldWords() {
+        Match chelsea = new Match("2020-2021", "Chelsea");
+        index.replace(city, chelsea);
+        assertEquals(Arrays.asList(chelsea, ajax, bayern), index.search(""));
+        assertTrue(index.search("city").isEmpty());
+        assertEquals(Arrays.asList(chelsea), index.search("elsea"));
+
+        index.remove(bayern);
+        assertEquals(2, index.size());
+        assertTrue(index.search("bayern").isEmpty());
+        assertEquals(Arrays.asList(ajax), index.search("de"));
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(Collections.emptyList(), index.search("2022"));
+    }
+
+    @Test
+    void rejectsAliasesOfUnknownFields() {
+        assertThrows(IllegalArgumentException.class, () -> index.addFieldAlias("fase", "phase"));
+    }
+}
@@ -0,0 +1,125 @@
+package model.structures;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NGramIndexTest {
+
+    /**
+     * Elemento con nombre modificable; se compara por identidad, igual que en el índice
+     */
+    private static final class Named {
+        String name;
+
+        Named(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private NGramIndex<Named> index;
+    private Named madrid;
+    private Named milan;
+    private Named inter;
+
+    @BeforeEach
+    void setUp() {
+        index = new NGramIndex<>(item -> item.name);
+        madrid = new Named("Real Madrid");
+        milan = new Named("AC Milan");
+        inter = new Named("Inter de Milano");
+        index.add(madrid);
+        index.add(milan);
+        index.add(inter);
+    }
+
+    @Test
+    void findsSubstringsOfAnyLengthIgnoringCase() {
+        assertEquals(Arrays.asList(madrid, milan, inter), index.search("a"));
+        assertEquals(Arrays.asList(milan, inter), index.search("MILAN"));
+        assertEquals(Arrays.asList(milan), index.search("c mil"));
+        assertEquals(Arrays.asList(inter), index.search("de"));
+        assertEquals(Arrays.asList(madrid), index.search("al mad"));
+        assertTrue(index.search("barcelona").isEmpty());
+    }
+
+    @Test
+    void emptyTermReturnsEverythingInInsertionOrder() {
+        assertEquals(Arrays.asList(madrid, milan, inter), index.search(""));
+    }
+
+    @Test
+    void removeUsesTheKeyTheItemWasIndexedWith() {
+        // El nombre cambia después de indexar: se quita con la clave antigua
+        milan.name = "Otro";
+        index.remove(milan);
+
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList(inter), index.search("milan"));
+        assertTrue(index.search("otro").isEmpty());
+    }
+
+    @Test
+    void replaceKeepsThePositionInTheResults() {
+        Named renamed = new Named("Real Madrid CF");
+        index.replace(madrid, renamed);
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(renamed), index.search("madrid"));
+        assertEquals(Arrays.asList(renamed, milan, inter), index.search(""));
+    }
+
+    @Test
+    void matchesALinearScanOnRandomNames() {
+        NGramIndex<Named> random = new NGramIndex<>(item -> item.name);
+        List<Named> items = new ArrayList<>();
+        Random generator = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            Named item = new Named(randomWord(generator, 3 + generator.nextInt(8)));
+            items.add(item);
+            random.add(item);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String term = randomWord(generator, 1 + generator.nextInt(5));
+            List<Named> expected = new ArrayList<>();
+            for (Named item : items) {
+                if (item.name.toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT))) {
+                    expected.add(item);
+                }
+            }
+            assertEquals(expected, random.search(term), term);
+        }
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(Collections.emptyList(), index.search("a"));
+    }
+
+    private static String randomWord(Random generator, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            char letter = (char) ('a' + generator.nextInt(4));
+            word.append(generator.nextBoolean() ? Character.toUpperCase(letter) : letter);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package utils;
+
+import model.data.ChampionsTeam;
+import model.data.Elimination;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinarySnapshotCodecTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<ChampionsTeam> sampleTeams() {
+        ChampionsTeam madrid = new ChampionsTeam("Real Madrid");
+        madrid.addTitle(1956, 5);
+        madrid.addTitle(2024, 8);
+        // Valores fuera de 16 bits, que el formato empaquetado no admitía
+        ChampionsTeam synthetic = new ChampionsTeam("Sintético");
+        synthetic.addTitle(70000, 100000);
+        ChampionsTeam empty = new ChampionsTeam((String) null);
+        return Arrays.asList(madrid, synthetic, empty, new ChampionsTeam("Real Madrid"));
+    }
+
+    @Test
+    void teamsRoundTripThroughAStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinarySnapshotCodec.writeTeams(new DataOutputStream(bytes), sampleTeams(), 42, () -> { });
+
+        List<ChampionsTeam> read = new ArrayList<>();
+        long sequence = BinarySnapshotCodec.readTeams(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), read::add);
+
+        assertEquals(42, sequence);
+        assertTeamsEqual(sampleTeams(), read);
+    }
+
+    @Test
+    void teamsRoundTripThroughAMappedFile() throws Exception {
+        String path = directory.resolve("teams" + BinarySnapshotCodec.EXTENSION).toString();
+        new FileManager().saveTeams(sampleTeams(), path, 7, null);
+
+        List<ChampionsTeam> read = new ArrayList<>();
+        MappedSnapshot<ChampionsTeam> snapshot = MappedSnapshot.openTeams(path);
+        try {
+            assertEquals(7, snapshot.getJournalSequence());
+            assertEquals(7, FileManager.readJournalSequence(path));
+            snapshot.forEachDecoded(read::add, null);
+        } finally {
+            snapshot.close();
+        }
+        assertTeamsEqual(sampleTeams(), read);
+
+        // Cerrado, ya no se lee de la proyección liberada
+        assertThrows(IOException.class, () -> snapshot.forEachDecoded(team -> { }, null));
+    }
+
+    @Test
+    void loadedFileCanBeReplacedRightAway() throws Exception {
+        String path = directory.resolve("teams" + BinarySnapshotCodec.EXTENSION).toString();
+        FileManager fileManager = new FileManager();
+        fileManager.saveTeams(sampleTeams(), path, 1, null);
+        fileManager.loadTeams(path, team -> { }, null);
+
+        fileManager.saveTeams(sampleTeams().subList(0, 1), path, 2, null);
+
+        List<ChampionsTeam> read = new ArrayList<>();
+        assertEquals(2, fileManager.loadTeams(path, read::add, null));
+        assertTeamsEqual(sampleTeams().subList(0, 1), read);
+    }
+
+    @Test
+    void eliminationsRoundTripWithNullFields() throws Exception {
+        List<Elimination> eliminations = Arrays.asList(
+                new Elimination("2022-2023", "Semifinal", "Manchester City", "1-1", "0-4", "Descripción", null),
+                new Elimination("2018-2019", "Octavos de final", "Ajax", null, null, null, "ajax.jpg"));
+        String path = directory.resolve("eliminaciones" + BinarySnapshotCodec.EXTENSION).toString();
+        new FileManager().saveEliminations(eliminations, path, 3, null);
+
+        List<Elimination> read = new ArrayList<>();
+        long sequence = new FileManager().loadEliminations(path, read::add, null);
+
+        assertEquals(3, sequence);
+        assertEquals(eliminations.size(), read.size());
+        for (int i = 0; i < eliminations.size(); i++) {
+            Elimination expected = eliminations.get(i);
+            Elimination actual = read.get(i);
+            assertEquals(expected.getSeason(), actual.getSeason());
+            assertEquals(expected.getPhase(), actual.getPhase());
+            assertEquals(expected.getOpponent(), actual.getOpponent());
+            assertEquals(expected.getResultHome(), actual.getResultHome());
+            assertEquals(expected.getResultAway(), actual.getResultAway());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getImagePath(), actual.getImagePath());
+        }
+        assertNull(read.get(1).getResultHome());
+    }
+
+    @Test
+    void rejectsOtherFormatVersions() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(BinarySnapshotCodec.MAGIC);
+        out.writeShort(BinarySnapshotCodec.VERSION + 1);
+        out.writeByte(BinarySnapshotCodec.KIND_TEAMS);
+        out.writeLong(0);
+
+        assertThrows(IOException.class, () -> BinarySnapshotCodec.readTeams(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), team -> { }));
+    }
+
+    @Test
+    void rejectsAFileOfTheOtherKind() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinarySnapshotCodec.writeEliminations(new DataOutputStream(bytes), new ArrayList<>(), 0, () -> { });
+
+        assertThrows(IOException.class, () -> BinarySnapshotCodec.readTeams(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), team -> { }));
+    }
+
+    private static void assertTeamsEqual(List<ChampionsTeam> expected, List<ChampionsTeam> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ChampionsTeam team = expected.get(i);
+            ChampionsTeam read = actual.get(i);
+            assertEquals(team.getName(), read.getName());
+            assertEquals(team.getTitleCount(), read.getTitleCount());
+            for (int t = 0; t < team.getTitleCount(); t++) {
+                assertEquals(team.getTitleYear(t), read.getTitleYear(t));
+                assertEquals(team.getTitleGoals(t), read.getTitleGoals(t));
+            }
+        }
+    }
+}
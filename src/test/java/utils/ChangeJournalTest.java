@@ -0,0 +1,186 @@
+package utils;
+
+import model.data.ChampionsTeam;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private String dataFile() {
+        return directory.resolve("teams.json").toString();
+    }
+
+    @Test
+    void replayAppliesEntriesInOrder() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "name", "Real Madrid");
+        journal.record("renameTeam", "from", "Real Madrid", "to", "Real Madrid CF");
+        journal.prepareAppend().run(null);
+        journal.record("removeTeam", "name", "Ajax");
+        journal.prepareAppend().run(null);
+
+        List<String> applied = new ArrayList<>();
+        int count = new ChangeJournal(dataFile()).replay(0, entry ->
+                applied.add(entry.getSequence() + " " + entry.getOperation()));
+
+        assertEquals(3, count);
+        assertEquals(Arrays.asList("1 addTeam", "2 renameTeam", "3 removeTeam"), applied);
+        assertFalse(journal.hasPendingChanges());
+    }
+
+    @Test
+    void entryFieldsSurviveTheRoundTrip() throws Exception {
+        ChampionsTeam team = new ChampionsTeam("Ajax");
+        team.addTitle(1995, 6);
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "team", team, "note", null);
+        journal.prepareAppend().run(null);
+
+        new ChangeJournal(dataFile()).replay(0, entry -> {
+            ChampionsTeam read = entry.getTeam("team");
+            assertEquals("Ajax", read.getName());
+            assertEquals(1, read.getTitleCount());
+            assertEquals(1995, read.getTitleYear(0));
+            assertEquals(6, read.getTitleGoals(0));
+            assertEquals(null, entry.getString("note"));
+        });
+    }
+
+    @Test
+    void truncatedLastLineIsIgnored() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "name", "A");
+        journal.record("addTeam", "name", "B");
+        journal.prepareAppend().run(null);
+
+        // Cierre a mitad de escritura de la tercera línea
+        Files.write(Paths.get(journal.getJournalPath()), "{\"seq\":3,\"op\":\"addT".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        List<String> applied = new ArrayList<>();
+        int count = new ChangeJournal(dataFile()).replay(0, entry -> applied.add(entry.getString("name")));
+
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("A", "B"), applied);
+    }
+
+    @Test
+    void replaySkipsEntriesIncludedInTheSnapshot() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTitle", "name", "A");
+        journal.record("addTitle", "name", "A");
+        journal.record("addTitle", "name", "A");
+        journal.prepareAppend().run(null);
+
+        // El archivo completo incluye hasta el segundo cambio (cierre antes de vaciar el diario)
+        List<Long> applied = new ArrayList<>();
+        int count = new ChangeJournal(dataFile()).replay(2, entry -> applied.add(entry.getSequence()));
+
+        assertEquals(1, count);
+        assertEquals(Collections.singletonList(3L), applied);
+    }
+
+    @Test
+    void compactionWritesTheSequenceAndEmptiesTheJournal() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "name", "A");
+        journal.prepareAppend().run(null);
+        journal.record("addTeam", "name", "B");
+
+        long[] snapshotSequence = {-1};
+        journal.prepareCompaction((sequence, progress) -> snapshotSequence[0] = sequence).run(null);
+
+        assertEquals(2, snapshotSequence[0]);
+        assertFalse(journal.hasPendingChanges());
+        assertEquals(0, Files.size(Paths.get(journal.getJournalPath())));
+
+        // Los cambios posteriores continúan la secuencia
+        journal.record("addTeam", "name", "C");
+        journal.prepareAppend().run(null);
+        List<Long> applied = new ArrayList<>();
+        new ChangeJournal(dataFile()).replay(snapshotSequence[0], entry -> applied.add(entry.getSequence()));
+        assertEquals(Collections.singletonList(3L), applied);
+    }
+
+    @Test
+    void newJournalContinuesAfterTheSequenceOfTheDataFile() throws Exception {
+        ChampionsTeam team = new ChampionsTeam("Ajax");
+        new FileManager().saveTeams(Collections.singletonList(team), dataFile(), 5, null);
+        assertEquals(5, FileManager.readJournalSequence(dataFile()));
+
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("removeTeam", "name", "Ajax");
+        journal.prepareAppend().run(null);
+
+        List<Long> applied = new ArrayList<>();
+        new ChangeJournal(dataFile()).replay(5, entry -> applied.add(entry.getSequence()));
+        assertEquals(Collections.singletonList(6L), applied);
+    }
+
+    @Test
+    void changesStayPendingUntilWritten() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "name", "A");
+        journal.prepareAppend().run(null);
+        journal.record("addTeam", "name", "B");
+
+        // Una escritura preparada que no llega a ejecutarse (cancelada) no pierde nada
+        journal.prepareAppend();
+        assertTrue(journal.hasPendingChanges());
+
+        // Una escritura que falla tampoco, y fuerza la compactación
+        Path journalPath = Paths.get(journal.getJournalPath());
+        Files.delete(journalPath);
+        Files.createDirectories(journalPath);
+        assertThrows(IOException.class, () -> journal.prepareAppend().run(null));
+        assertTrue(journal.hasPendingChanges());
+        assertTrue(journal.needsCompaction());
+
+        // Un archivo completo que falla deja los cambios pendientes
+        assertThrows(IOException.class, () -> journal.prepareCompaction((sequence, progress) -> {
+            throw new IOException("disco lleno");
+        }).run(null));
+        assertTrue(journal.hasPendingChanges());
+
+        Files.delete(journalPath);
+        journal.prepareCompaction((sequence, progress) -> { }).run(null);
+        assertFalse(journal.hasPendingChanges());
+        assertFalse(journal.needsCompaction());
+    }
+
+    @Test
+    void compactionKeepsLaterEntriesAlreadyInTheJournal() throws Exception {
+        ChangeJournal journal = new ChangeJournal(dataFile());
+        journal.record("addTeam", "name", "A");
+        ChangeJournal.Flush compaction = journal.prepareCompaction((sequence, progress) -> { });
+
+        // Un cambio posterior se escribe antes de que se ejecute la compactación
+        journal.record("addTeam", "name", "B");
+        journal.prepareAppend().run(null);
+        compaction.run(null);
+
+        List<String> applied = new ArrayList<>();
+        new ChangeJournal(dataFile()).replay(1, entry -> applied.add(entry.getString("name")));
+        assertEquals(Collections.singletonList("B"), applied);
+        assertFalse(journal.hasPendingChanges());
+    }
+}